@@ -1,21 +1,52 @@
 package charge.station.monitor.config;
 
 import charge.station.monitor.config.handler.CustomAsyncExceptionHandler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @EnableAsync
 @Configuration
 public class AsyncConfig implements AsyncConfigurer {
 
+    /**
+     * 이미지 처리 스레드 방식 (rawdata.img.executor)
+     * platform : 고정 스레드 풀 (기본), virtual : 작업마다 가상 스레드 (동시 실행 수만 제한)
+     * 가상 스레드 모드에서는 db/인식서버 동시 접근을 DbWriteLimiter, plate.recognizer.max-in-flight 로 제한.
+     */
     @Bean(name = "ImgData-Task")
-    public Executor serviceTaskExecutor() {
+    public Executor serviceTaskExecutor(MeterRegistry meterRegistry,
+                                        @Value("${rawdata.img.executor:platform}") String mode,
+                                        @Value("${rawdata.img.virtual.max-concurrency:2000}") int maxConcurrency) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            AtomicInteger active = new AtomicInteger();
+            SimpleAsyncTaskExecutor executor = virtualExecutor(maxConcurrency, active);
+            Gauge.builder("img.task.active", active, AtomicInteger::get).register(meterRegistry);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = platformExecutor();
+
+        // 대기열/실행중 작업 수 지표
+        Gauge.builder("img.task.queue", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("img.task.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+        return executor;
+    }
+
+
+    public static ThreadPoolTaskExecutor platformExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(20); // 기본 스레드 수
         executor.setMaxPoolSize(80);  // 최대 스레드 수
@@ -25,6 +56,24 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * 가상 스레드 실행기 : 동시 실행 수가 maxConcurrency 를 넘으면 제출하는 쪽이 대기(backpressure)
+     */
+    public static SimpleAsyncTaskExecutor virtualExecutor(int maxConcurrency, AtomicInteger active) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ImgData-v-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(maxConcurrency);
+        executor.setTaskDecorator(task -> () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+            }
+        });
+        return executor;
+    }
+
 
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
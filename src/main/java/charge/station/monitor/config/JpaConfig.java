@@ -0,0 +1,24 @@
+package charge.station.monitor.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JpaConfig {
+
+    /**
+     * insert/update JDBC batch 설정
+     * 외부 설정(spring.jpa.properties.hibernate.*)이 있으면 그 값을 우선한다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(@Value("${rawdata.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
@@ -5,9 +5,12 @@ package charge.station.monitor.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -38,4 +41,21 @@ public class RedisConfig {
         return template;
     }
 
+    /**
+     * 충전소 상태 hash 전용 (필드/값 모두 문자열, car_transition.lua 에서 그대로 읽고 씀)
+     * 세션/토큰 hash 는 기존 저장 형식을 유지해야 하므로 공용 redisTemplate 과 분리.
+     */
+    @Bean
+    public StringRedisTemplate chargeRedisTemplate(RedisConnectionFactory connectionFactory) {
+        return new StringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * 충전소 차량 상태 전환 스크립트 (비교 + 저장을 원자적으로 1회 왕복)
+     */
+    @Bean
+    public RedisScript<String> carTransitionScript() {
+        return RedisScript.of(new ClassPathResource("scripts/car_transition.lua"), String.class);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package charge.station.monitor.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 주기 작업(@Scheduled) 활성화
+ */
+@EnableScheduling
+@Configuration
+public class SchedulingConfig {
+}
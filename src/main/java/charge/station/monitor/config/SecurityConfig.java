@@ -53,6 +53,7 @@ public class SecurityConfig {
      * 관리자 전용 접근 권하 ㄴ만들기
      */
     private static final String[] ADMIN_WHITELIST = {
+            "/actuator/**" // 운영 지표 (metrics)
     };
 
 
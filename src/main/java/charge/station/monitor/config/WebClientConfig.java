@@ -1,17 +1,50 @@
 package charge.station.monitor.config;
 
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
 
 @Configuration
 public class WebClientConfig {
 
+    @Value("${plate.recognizer.url:http://localhost:5050/????}")
+    private String baseUrl;
+
+    @Value("${plate.recognizer.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${plate.recognizer.connect-timeout-ms:1000}")
+    private int connectTimeoutMillis;
+
+    @Value("${plate.recognizer.timeout-ms:3000}")
+    private long responseTimeoutMillis;
+
+
     @Bean
     public WebClient webClient() {
+        // 커넥션 수 제한 + 커넥션 대기/연결/응답 시간 제한 (인식 서버가 느려져도 무한정 쌓이지 않도록)
+        ConnectionProvider provider = ConnectionProvider.builder("plate-recognizer")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxConnections * 2)
+                .pendingAcquireTimeout(Duration.ofMillis(responseTimeoutMillis))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+
         return WebClient.builder()
-                .baseUrl("http://localhost:5050/????") // Flask 서버의 기본 URL 설정
+                .baseUrl(baseUrl) // Flask 서버의 기본 URL 설정
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
-}
\ No newline at end of file
+}
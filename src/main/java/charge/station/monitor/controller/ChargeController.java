@@ -4,6 +4,8 @@ import charge.station.monitor.domain.Center;
 import charge.station.monitor.domain.Charge;
 import charge.station.monitor.repository.CenterRepository;
 import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.service.monitor.MonitorSnapshot;
+import charge.station.monitor.service.registry.ChargeRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +21,8 @@ public class ChargeController {
 
     private final ChargeRepository chargeRepository;
     private final CenterRepository centerRepository;
+    private final ChargeRegistry chargeRegistry;
+    private final MonitorSnapshot monitorSnapshot;
 
     @PostMapping("create")
     public ResponseEntity<?> createCharge(HttpServletRequest request) {
@@ -39,6 +43,8 @@ public class ChargeController {
                 .build();
 
         chargeRepository.save(charge);
+        chargeRegistry.refresh(charge.getChargeId()); // 충전소 정보 캐시 갱신
+        monitorSnapshot.refresh(charge.getChargeId()); // 메인 모니터링 스냅샷 갱신
 
         return ResponseEntity.ok().build();
     }
@@ -3,22 +3,36 @@ package charge.station.monitor.controller;
 import charge.station.monitor.dto.ApiResponse;
 import charge.station.monitor.dto.cache.ChargeCacheDTO;
 import charge.station.monitor.dto.rawdata.RawDataImgRequestDTO;
+import charge.station.monitor.dto.error.CustomException;
+import charge.station.monitor.dto.rawdata.RawDataPowerBatchResponseDTO;
 import charge.station.monitor.dto.rawdata.RawDataPowerRequestDTO;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
 import charge.station.monitor.service.RawDataService;
+import charge.station.monitor.service.event.ChargeEventExecutor;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("rawData/*")
 public class RawDataController {
 
     private final RawDataService rawDataService;
+    private final ChargeEventExecutor chargeEventExecutor;
+
+    @Value("${image.upload.max-bytes:10485760}")
+    private long maxImageBytes;
 
 
 
@@ -45,15 +59,76 @@ public class RawDataController {
 
 
 
+    /**
+     * 이미지 스트림 컨트롤러
+     * 요청 본문을 메모리에 올리지 않고 저장소로 바로 기록, 비동기 처리에는 저장 위치만 전달.
+     * Content-Length 필수 (없으면 411)
+     */
+    @PostMapping("imgConnection/stream")
+    public ResponseEntity<?> rawDataSaveImgStream(HttpServletRequest request) throws IOException {
+        Long chargeId = Long.parseLong(request.getHeader("Charge-ID"));
+
+        long length = request.getContentLengthLong();
+        if (length <= 0) {
+            throw new CustomException("이미지 크기(Content-Length)가 필요합니다.", HttpStatus.LENGTH_REQUIRED, 411);
+        }
+        if (length > maxImageBytes) {
+            throw new CustomException("이미지 크기가 너무 큽니다 : " + length, HttpStatus.PAYLOAD_TOO_LARGE, 413);
+        }
+
+        StoredImageDTO storedImage = rawDataService.storeImg(chargeId, Channels.newChannel(request.getInputStream()), length);
+        rawDataService.plateForStoredImg(chargeId, storedImage);
+
+        return ResponseEntity.ok(new ApiResponse<>(200, "이미지 처리 완료.", null));
+
+    }
+
+
+
     /**
      * 전력량 컨트롤러
      */
     @PostMapping("powerConnection")
     public ResponseEntity<?> rawDataSavePower(@RequestBody RawDataPowerRequestDTO rawDataPowerRequestDTO){
-        rawDataService.savePower(rawDataPowerRequestDTO);
+        // 같은 충전소 이벤트는 lane 에서 순서대로 처리 (트랜잭션도 lane 안에서 시작)
+        chargeEventExecutor.call(rawDataPowerRequestDTO.getChargeId(), () -> {
+            rawDataService.savePower(rawDataPowerRequestDTO);
+            return null;
+        });
 
         return ResponseEntity.ok(new ApiResponse<>(200, "전력량 처리 완료.", null));
 
     }
 
+
+
+    /**
+     * 전력량 일괄 컨트롤러
+     * 게이트웨이에서 모아둔 여러 충전소의 전력값을 한번에 처리. (처리 건수 + 재전송할 충전소 반환)
+     * 전부 거절되면 503, 거절 외의 오류로 전부 실패하면 500 (둘 다 저장된 값 없음), 일부만 실패하면 200 에 실패한 충전소 목록.
+     */
+    @PostMapping("powerConnection/batch")
+    public ResponseEntity<?> rawDataSavePowerBatch(@RequestBody List<RawDataPowerRequestDTO> readings){
+        if (readings == null || readings.isEmpty()) {
+            return ResponseEntity.ok(new ApiResponse<>(200, "전력량 일괄 처리 완료.", new RawDataPowerBatchResponseDTO(0, List.of())));
+        }
+
+        // lane 별로 나눠 병렬 처리
+        ChargeEventExecutor.LaneResults<RawDataPowerRequestDTO, Integer> results =
+                chargeEventExecutor.callByLane(readings, RawDataPowerRequestDTO::getChargeId, rawDataService::savePowerBatch);
+
+        if (results.isAllRejected()) {
+            throw new CustomException("충전소 이벤트 처리량 초과입니다. 잠시 후 다시 전송해주세요.", HttpStatus.SERVICE_UNAVAILABLE, 503);
+        }
+        if (results.getResults().isEmpty()) {
+            throw new CustomException("전력량 일괄 처리에 실패했습니다.", HttpStatus.INTERNAL_SERVER_ERROR, 500);
+        }
+        int saved = results.getResults().stream().mapToInt(Integer::intValue).sum();
+        List<Long> failedChargeIds = results.getFailed().stream().map(RawDataPowerRequestDTO::getChargeId).distinct().toList();
+        String message = failedChargeIds.isEmpty() ? "전력량 일괄 처리 완료." : "전력량 일괄 처리 일부 실패. 실패한 충전소만 다시 전송해주세요.";
+
+        return ResponseEntity.ok(new ApiResponse<>(200, message, new RawDataPowerBatchResponseDTO(saved, failedChargeIds)));
+
+    }
+
 }
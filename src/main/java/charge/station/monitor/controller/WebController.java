@@ -5,17 +5,23 @@ import charge.station.monitor.dto.ChargeMonitorDTO;
 import charge.station.monitor.dto.ChargeRuntimeDetailDTO;
 import charge.station.monitor.dto.error.CustomException;
 import charge.station.monitor.dto.history.*;
+import charge.station.monitor.dto.power.PowerSeriesResponseDTO;
+import charge.station.monitor.dto.stat.UsageAnalyticsDTO;
 import charge.station.monitor.service.MonitorService;
 import charge.station.monitor.service.history.CarHistoryService;
 import charge.station.monitor.service.history.FaultHistoryService;
 import charge.station.monitor.service.history.FireAlertHistoryService;
 import charge.station.monitor.service.history.IllegalParkingHistoryService;
+import charge.station.monitor.service.power.PowerSeriesService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -29,6 +35,7 @@ public class WebController {
     private final FireAlertHistoryService fireAlertHistoryService;
     private final CarHistoryService carHistoryService;
     private final MonitorService monitorService;
+    private final PowerSeriesService powerSeriesService;
 
 
     /**
@@ -73,6 +80,44 @@ public class WebController {
 
 
 
+    /**
+     * 전력 그래프 조회 (기간, 점 개수)
+     */
+    @GetMapping("{chargeId}/power")
+    public ResponseEntity<?> powerSeries(@RequestHeader("Authorization") String authorizationHeader,
+                                         @PathVariable Long chargeId,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                         @RequestParam(defaultValue = "500") int points) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new CustomException("잘못된 토큰 형식입니다.", HttpStatus.BAD_REQUEST, 400);
+        }
+
+        PowerSeriesResponseDTO powerSeries = powerSeriesService.series(chargeId, from, to, points);
+        return ResponseEntity.ok(new ApiResponse<>(200, "전력 그래프 조회", powerSeries));
+    }
+
+
+    /**
+     * 이용 분석 (센터/지역별 점유율, 충전/단순주차 비율, 시간대 히트맵)
+     */
+    @GetMapping("analytics/usage")
+    public ResponseEntity<?> usageAnalytics(@RequestHeader("Authorization") String authorizationHeader,
+                                            @RequestParam(defaultValue = "center") String groupBy,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            throw new CustomException("잘못된 토큰 형식입니다.", HttpStatus.BAD_REQUEST, 400);
+        }
+
+        String accessToken = authorizationHeader.substring(7).trim(); // ✅ "Bearer " 제거 후 공백 제거
+
+        // 관리 지역(센터 이름) 충전기만 집계
+        List<UsageAnalyticsDTO> usage = monitorService.usageAnalytics(accessToken, groupBy, from, to);
+        return ResponseEntity.ok(new ApiResponse<>(200, "이용 분석 조회", usage));
+    }
+
+
     /**
      * 고장 등록
      */
@@ -110,6 +155,9 @@ public class WebController {
                                                 @RequestParam(value = "page", defaultValue = "1") int page,
                                                 @RequestParam(defaultValue = "recordTime", name = "sortField") String sortField,
                                                 @RequestParam(defaultValue = "asc", name = "sortDirection") String sortDirection,
+                                                @RequestParam(required = false, name = "cursor") String cursor,
+                                                @RequestParam(defaultValue = "next", name = "direction") String direction,
+                                                @RequestParam(defaultValue = "false", name = "exactTotal") boolean exactTotal,
                                                 @Valid @RequestBody HistoryMainRequestDTO historyMainRequestDTO) {
 
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
@@ -118,7 +166,9 @@ public class WebController {
 
         String accessToken = authorizationHeader.substring(7).trim(); // ✅ "Bearer " 제거 후 공백 제거
 
-        HistoryMainResponseDTO<HistoryReadFaultResponseDTO> responseEntity = faultHistoryService.faultSelect(accessToken, historyMainRequestDTO, page, sortField, sortDirection);
+        // 페이지 번호 / 커서 조회 (HistoryQueryEngine.select)
+        HistoryMainResponseDTO<HistoryReadFaultResponseDTO> responseEntity =
+                faultHistoryService.faultSelect(accessToken, historyMainRequestDTO, page, cursor, direction, sortField, sortDirection, exactTotal);
         return ResponseEntity.ok(new ApiResponse<>(200, "고장 이력 조회", responseEntity));
     }
 
@@ -131,6 +181,9 @@ public class WebController {
                                                 @RequestParam(value = "page", defaultValue = "1") int page,
                                                 @RequestParam(defaultValue = "recordTime", name = "sortField") String sortField,
                                                 @RequestParam(defaultValue = "asc", name = "sortDirection") String sortDirection,
+                                                @RequestParam(required = false, name = "cursor") String cursor,
+                                                @RequestParam(defaultValue = "next", name = "direction") String direction,
+                                                @RequestParam(defaultValue = "false", name = "exactTotal") boolean exactTotal,
                                                 @Valid @RequestBody HistoryMainRequestDTO historyMainRequestDTO) {
 
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
@@ -139,7 +192,9 @@ public class WebController {
 
         String accessToken = authorizationHeader.substring(7).trim(); // ✅ "Bearer " 제거 후 공백 제거
 
-        HistoryMainResponseDTO<HistoryReadFireResponseDTO> responseEntity = fireAlertHistoryService.fireSelect(accessToken, historyMainRequestDTO, page, sortField, sortDirection);
+        // 페이지 번호 / 커서 조회 (HistoryQueryEngine.select)
+        HistoryMainResponseDTO<HistoryReadFireResponseDTO> responseEntity =
+                fireAlertHistoryService.fireSelect(accessToken, historyMainRequestDTO, page, cursor, direction, sortField, sortDirection, exactTotal);
         return ResponseEntity.ok(new ApiResponse<>(200, "화재 이력 조회", responseEntity));
 
     }
@@ -153,6 +208,9 @@ public class WebController {
                                                 @RequestParam(value = "page", defaultValue = "1") int page,
                                                 @RequestParam(defaultValue = "recordTime", name = "sortField") String sortField,
                                                 @RequestParam(defaultValue = "asc", name = "sortDirection") String sortDirection,
+                                                @RequestParam(required = false, name = "cursor") String cursor,
+                                                @RequestParam(defaultValue = "next", name = "direction") String direction,
+                                                @RequestParam(defaultValue = "false", name = "exactTotal") boolean exactTotal,
                                                 @Valid @RequestBody HistoryMainRequestDTO historyMainRequestDTO) {
 
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
@@ -161,7 +219,9 @@ public class WebController {
 
         String accessToken = authorizationHeader.substring(7).trim(); // ✅ "Bearer " 제거 후 공백 제거
 
-        HistoryMainResponseDTO<HistoryReadIllegalResponseDTO> responseEntity = illegalParkingHistoryService.illegalParkingSelect(accessToken, historyMainRequestDTO, page, sortField, sortDirection);
+        // 페이지 번호 / 커서 조회 (HistoryQueryEngine.select)
+        HistoryMainResponseDTO<HistoryReadIllegalResponseDTO> responseEntity =
+                illegalParkingHistoryService.illegalParkingSelect(accessToken, historyMainRequestDTO, page, cursor, direction, sortField, sortDirection, exactTotal);
         return ResponseEntity.ok(new ApiResponse<>(200, "불법 주정차 이력 조회", responseEntity));
     }
 
@@ -174,6 +234,9 @@ public class WebController {
                                                   @RequestParam(value = "page", defaultValue = "1") int page,
                                                   @RequestParam(defaultValue = "recordTime", name = "sortField") String sortField,
                                                   @RequestParam(defaultValue = "asc", name = "sortDirection") String sortDirection,
+                                                  @RequestParam(required = false, name = "cursor") String cursor,
+                                                  @RequestParam(defaultValue = "next", name = "direction") String direction,
+                                                  @RequestParam(defaultValue = "false", name = "exactTotal") boolean exactTotal,
                                                   @Valid @RequestBody HistoryMainRequestDTO historyMainRequestDTO) {
 
         if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
@@ -182,7 +245,9 @@ public class WebController {
 
         String accessToken = authorizationHeader.substring(7).trim(); // ✅ "Bearer " 제거 후 공백 제거
 
-        HistoryMainResponseDTO<HistoryReadCarResponseDTO> responseEntity = carHistoryService.carSelect(accessToken, historyMainRequestDTO, page, sortField, sortDirection);
+        // 페이지 번호 / 커서 조회 (HistoryQueryEngine.select)
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> responseEntity =
+                carHistoryService.carSelect(accessToken, historyMainRequestDTO, page, cursor, direction, sortField, sortDirection, exactTotal);
         return ResponseEntity.ok(new ApiResponse<>(200, "자동차 주차 이력 조회", responseEntity));
 
     }
@@ -0,0 +1,39 @@
+package charge.station.monitor.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 충전소 시간대별 이용 통계 (1시간 단위 이용/충전 시간)
+ * ChargeStatAggregator 에서 upsert 로만 저장, 점유율/히트맵 조회용.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "charge_hour_stat",
+        uniqueConstraints = @UniqueConstraint(name = "uk_charge_hour_stat", columnNames = {"charge_id", "hour_time"}),
+        indexes = @Index(name = "idx_charge_hour_stat_time", columnList = "hour_time"))
+public class ChargeHourStat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "charge_hour_stat_id")
+    private Long chargeHourStatId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "charge_id", nullable = false)
+    private Charge charge;  // 충전소 ID (외래키)
+
+    @Column(name = "hour_time", nullable = false)
+    private LocalDateTime hourTime;  // 시간대 시작 시간
+
+    @Column(name = "use_seconds", nullable = false)
+    private long useSeconds;  // 차량 점유 시간 (초)
+
+    @Column(name = "charge_seconds", nullable = false)
+    private long chargeSeconds;  // 충전 시간 (초)
+}
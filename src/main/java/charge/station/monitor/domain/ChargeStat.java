@@ -10,6 +10,8 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(name = "charge_stat",
+        uniqueConstraints = @UniqueConstraint(name = "uk_charge_stat_day", columnNames = {"charge_id", "date"}))
 public class ChargeStat {
 
     @Id
@@ -21,10 +23,19 @@ public class ChargeStat {
     private LocalDateTime date; // 날짜(하루 단위)
 
     @Column(name = "avg_use_time")
-    private Float avgUseTime; // 평균 이용 시간
+    private Float avgUseTime; // 평균 이용 시간 (분)
 
     @Column(name = "use_time_json")
-    private String useTimeJson; // 이용시간 분포 (JSON)
+    private String useTimeJson; // 이용시간 분포 (JSON, 0~23시 시간대별 이용 시간(초))
+
+    @Column(name = "use_count")
+    private Integer useCount = 0; // 이용 건수 (입차일 기준)
+
+    @Column(name = "total_use_time")
+    private Long totalUseTime = 0L; // 총 이용 시간 (초)
+
+    @Column(name = "total_charge_time")
+    private Long totalChargeTime = 0L; // 총 충전 시간 (초)
 
     @ManyToOne
     @JoinColumn(name = "charge_id", nullable = false)
@@ -37,4 +48,46 @@ public class ChargeStat {
         this.useTimeJson = useTimeJson;
         this.charge = charge;
     }
+
+
+    /**
+     * 누적값 더하기 (hourlyUseSeconds : 0~23시 시간대별 이용 시간)
+     */
+    public void accumulate(int useCount, long useSeconds, long chargeSeconds, long[] hourlyUseSeconds) {
+        long[] hourly = parseHourly(this.useTimeJson);
+        for (int hour = 0; hour < hourly.length; hour++) {
+            hourly[hour] += hourlyUseSeconds[hour];
+        }
+        this.useCount = (this.useCount != null ? this.useCount : 0) + useCount;
+        this.totalUseTime = (this.totalUseTime != null ? this.totalUseTime : 0L) + useSeconds;
+        this.totalChargeTime = (this.totalChargeTime != null ? this.totalChargeTime : 0L) + chargeSeconds;
+        this.useTimeJson = formatHourly(hourly);
+        this.avgUseTime = this.useCount > 0 ? (float) (this.totalUseTime / 60.0 / this.useCount) : null;
+    }
+
+
+    private static long[] parseHourly(String json) {
+        long[] hourly = new long[24];
+        if (json == null || json.length() < 2) {
+            return hourly;
+        }
+        String[] values = json.substring(1, json.length() - 1).split(",");
+        for (int hour = 0; hour < values.length && hour < hourly.length; hour++) {
+            if (!values[hour].isBlank()) {
+                hourly[hour] = Long.parseLong(values[hour].trim());
+            }
+        }
+        return hourly;
+    }
+
+    private static String formatHourly(long[] hourly) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int hour = 0; hour < hourly.length; hour++) {
+            if (hour > 0) {
+                sb.append(',');
+            }
+            sb.append(hourly[hour]);
+        }
+        return sb.append(']').toString();
+    }
 }
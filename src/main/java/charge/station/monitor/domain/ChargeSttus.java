@@ -27,6 +27,9 @@ public class ChargeSttus {
     @Column(name = "fault_sttus")
     private Boolean faultSttus = false;  // 고장 유무 (기본값: false)
 
+    @Column(name = "open_car_history_id")
+    private Long openCarHistoryId;  // 출차 전 차량 이력 ID (비어있으면 null)
+
 
     public ChargeSttus(Charge charge) {
         this.charge = charge;
@@ -34,13 +37,20 @@ public class ChargeSttus {
 
 
     // 자리 유무 변경 (입차)
-    public void enter() {
+    public void enter(Long carHistoryId) {
         this.seatSttus = true;
+        this.openCarHistoryId = carHistoryId;
     }
 
     // 자리 유무 변경 (출차)
     public void exit() {
         this.seatSttus = false;
+        this.openCarHistoryId = null;
+    }
+
+    // 출차 전 차량 이력 다시 연결 (기록이 어긋났을때)
+    public void linkCarHistory(Long carHistoryId) {
+        this.openCarHistoryId = carHistoryId;
     }
 
     // 충전 시작
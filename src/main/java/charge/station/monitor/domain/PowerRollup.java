@@ -0,0 +1,59 @@
+package charge.station.monitor.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전력 집계 (충전소별 1분/15분/1시간 구간의 최소/최대/합계/건수/마지막 값)
+ * PowerRollupJob 에서 upsert 로만 저장한다. 평균은 sumPower / sampleCount.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "power_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_power_rollup_bucket", columnNames = {"charge_id", "resolution", "bucket_time"}))
+public class PowerRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "power_rollup_id")
+    private Long powerRollupId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "charge_id", nullable = false)
+    private Charge charge;  // 충전소 ID (외래키)
+
+    @Column(name = "resolution", nullable = false, length = 10)
+    @Enumerated(EnumType.STRING)
+    private PowerRollupResolution resolution;  // 집계 단위
+
+    @Column(name = "bucket_time", nullable = false)
+    private LocalDateTime bucketTime;  // 구간 시작 시간
+
+    @Column(name = "min_power", nullable = false)
+    private double minPower;
+
+    @Column(name = "max_power", nullable = false)
+    private double maxPower;
+
+    @Column(name = "sum_power", nullable = false)
+    private double sumPower;
+
+    @Column(name = "sample_count", nullable = false)
+    private long sampleCount;
+
+    @Column(name = "last_power", nullable = false)
+    private double lastPower;  // 구간 안 마지막 측정값
+
+    @Column(name = "last_time", nullable = false)
+    private LocalDateTime lastTime;  // 구간 안 마지막 측정시간
+
+
+    public double getAvgPower() {
+        return sampleCount > 0 ? sumPower / sampleCount : 0;
+    }
+}
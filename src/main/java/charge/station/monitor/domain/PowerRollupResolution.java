@@ -0,0 +1,33 @@
+package charge.station.monitor.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 전력 집계 단위 (power_rollup.resolution)
+ * 상위 단위는 바로 아래 단위 집계에서 다시 집계한다. (1시간 ← 15분 ← 1분 ← 원시 데이터)
+ */
+public enum PowerRollupResolution {
+    MINUTE(60),
+    QUARTER(15 * 60),
+    HOUR(60 * 60);
+
+    private final int seconds;
+
+    PowerRollupResolution(int seconds) {
+        this.seconds = seconds;
+    }
+
+    public int getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * time 이 속한 구간의 시작 시간
+     * 시간대 변환 없이 날짜/시각 값 그대로 계산 (db 의 TIMESTAMPDIFF(SECOND, '1970-01-01', t) 기준과 같음, JVM/db 세션 시간대 무관)
+     */
+    public LocalDateTime floor(LocalDateTime time) {
+        long epoch = time.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epoch, seconds) * seconds, 0, ZoneOffset.UTC);
+    }
+}
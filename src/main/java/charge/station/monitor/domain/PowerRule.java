@@ -0,0 +1,60 @@
+package charge.station.monitor.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 전력 이상 감지 규칙 (충전기 모델별 설정, 재배포 없이 db 수정으로 반영)
+ * modelNm 이 null 이면 모든 모델 공통, 같은 code 의 모델 전용 규칙이 있으면 모델 전용 규칙 사용.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PowerRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "power_rule_id")
+    private Long powerRuleId;
+
+    @Column(name = "model_nm")
+    private String modelNm;  // 충전기 모델 (null : 공통)
+
+    @Column(name = "code", nullable = false)
+    private String code;  // 이상 종류 (FireAlertHistory.type)
+
+    @Column(name = "rule_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private PowerRuleType ruleType;
+
+    @Column(name = "threshold", nullable = false)
+    private double threshold;  // 기준값
+
+    @Column(name = "low_threshold")
+    private Double lowThreshold;  // HYSTERESIS 하한 (없으면 threshold)
+
+    @Column(name = "samples")
+    private Integer samples;  // ROLLING_*, Z_SCORE 계산 건수
+
+    @Column(name = "alert_count", nullable = false)
+    private int alertCount = 3;  // window 안에서 몇 회 이상이면 화재 이력 기록
+
+    @Column(name = "enabled", nullable = false)
+    private boolean enabled = true;
+
+
+    @Builder
+    public PowerRule(String modelNm, String code, PowerRuleType ruleType, double threshold,
+                     Double lowThreshold, Integer samples, Integer alertCount) {
+        this.modelNm = modelNm;
+        this.code = code;
+        this.ruleType = ruleType;
+        this.threshold = threshold;
+        this.lowThreshold = lowThreshold;
+        this.samples = samples;
+        this.alertCount = alertCount != null ? alertCount : 3;
+    }
+}
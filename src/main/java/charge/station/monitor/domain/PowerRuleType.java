@@ -0,0 +1,13 @@
+package charge.station.monitor.domain;
+
+/**
+ * 전력 이상 감지 규칙 종류
+ */
+public enum PowerRuleType {
+    THRESHOLD,      // 전력값 > threshold
+    RATE,           // 직전 대비 변화율(%) > threshold
+    HYSTERESIS,     // lowThreshold 아래 ↔ threshold 이상 사이를 넘나듦
+    ROLLING_MEAN,   // 최근 samples 건 평균 > threshold
+    ROLLING_STDDEV, // 최근 samples 건 표준편차 > threshold
+    Z_SCORE         // 최근 samples 건 기준 |z| > threshold
+}
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 public class RawDataImg {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_data_img_seq")
+    @SequenceGenerator(name = "raw_data_img_seq", sequenceName = "raw_data_img_seq", allocationSize = 50) // pooled: insert batch 가능
     @Column(name = "raw_data_id")
     private Long rawDataId;  // 현장 데이터 ID
 
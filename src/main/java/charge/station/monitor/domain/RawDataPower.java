@@ -10,10 +10,15 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(name = "raw_data_power", indexes = {
+        @Index(name = "idx_raw_data_power_charge_time", columnList = "charge_id, record_time"), // 충전소별 기간 조회
+        @Index(name = "idx_raw_data_power_time", columnList = "record_time")                    // 집계, 보관기간 정리
+})
 public class RawDataPower {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raw_data_power_seq")
+    @SequenceGenerator(name = "raw_data_power_seq", sequenceName = "raw_data_power_seq", allocationSize = 50) // pooled: insert batch 가능
     @Column(name = "raw_data_id")
     private Long rawDataId;  // 현장 데이터 ID
 
@@ -29,10 +34,10 @@ public class RawDataPower {
 
 
     @Builder
-    public RawDataPower(Charge charge, double power) {
+    public RawDataPower(Charge charge, double power, LocalDateTime recordTime) {
         this.charge = charge;
         this.power = power;
-        this.recordTime = LocalDateTime.now();
+        this.recordTime = recordTime != null ? recordTime : LocalDateTime.now(); // 장비 측정시간이 없으면 수신시간
 
     }
 }
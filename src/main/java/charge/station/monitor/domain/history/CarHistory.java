@@ -11,10 +11,17 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(name = "car_history", indexes = {
+        @Index(name = "idx_car_history_charge_time", columnList = "charge_id, in_time"),    // 충전소별 기간 조회, 정렬
+        @Index(name = "idx_car_history_open", columnList = "charge_id, out_time, in_time"), // 출차 전 차량 조회 (out_time IS NULL, 최근 입차순)
+        @Index(name = "idx_car_history_time", columnList = "in_time"),                      // 전체 기간 조회, 정렬
+        @Index(name = "idx_car_history_out_time", columnList = "out_time")                  // 출차 기준 이용 집계
+})
 public class CarHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "car_history_seq")
+    @SequenceGenerator(name = "car_history_seq", sequenceName = "car_history_seq", allocationSize = 50) // pooled: insert batch 가능
     @Column(name = "car_history_id", nullable = false)
     private Long carHistoryId;
 
@@ -27,7 +34,7 @@ public class CarHistory {
     @Column(name = "out_time", nullable = true)
     private LocalDateTime releaseTime;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "charge_id", nullable = false)
     private Charge charge;  // 충전소 ID (외래키)
 
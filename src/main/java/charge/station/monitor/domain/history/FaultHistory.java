@@ -11,10 +11,15 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(name = "fault_history", indexes = {
+        @Index(name = "idx_fault_history_charge_time", columnList = "charge_id, record_time"), // 충전소별 기간 조회, 정렬
+        @Index(name = "idx_fault_history_time", columnList = "record_time")                    // 전체 기간 조회, 정렬
+})
 public class FaultHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fault_history_seq")
+    @SequenceGenerator(name = "fault_history_seq", sequenceName = "fault_history_seq", allocationSize = 50) // pooled: insert batch 가능
     @Column(name = "fault_history_id")
     private Long faultHistoryId; // 고장 관리 ID
 
@@ -30,7 +35,7 @@ public class FaultHistory {
     @Column(name = "fault_reason")
     private String faultReason; // 고장사유
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "charge_id", nullable = false)
     private Charge charge; // 충전소 ID (외래키)
 
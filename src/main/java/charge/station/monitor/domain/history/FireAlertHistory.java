@@ -11,10 +11,15 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(name = "fire_alert_history", indexes = {
+        @Index(name = "idx_fire_alert_history_charge_time", columnList = "charge_id, record_time"), // 충전소별 기간 조회, 정렬
+        @Index(name = "idx_fire_alert_history_time", columnList = "record_time")                    // 전체 기간 조회, 정렬
+})
 public class FireAlertHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fire_alert_history_seq")
+    @SequenceGenerator(name = "fire_alert_history_seq", sequenceName = "fire_alert_history_seq", allocationSize = 50) // pooled: insert batch 가능
     @Column(name = "fire_alert_history_id")
     private Long fireAlertHistoryId; // 화재 위험 감지 ID
 
@@ -27,7 +32,7 @@ public class FireAlertHistory {
     @Column(name = "type")
     private String type; //이상감지 종류
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "charge_id", nullable = false)
     private Charge charge; // 충전소 ID (외래키)
 
@@ -11,10 +11,15 @@ import java.time.LocalDateTime;
 @Getter
 @NoArgsConstructor
 @Entity
+@Table(name = "illegal_parking_history", indexes = {
+        @Index(name = "idx_illegal_parking_history_charge_time", columnList = "charge_id, record_time"), // 충전소별 기간 조회, 정렬
+        @Index(name = "idx_illegal_parking_history_time", columnList = "record_time")                    // 전체 기간 조회, 정렬
+})
 public class IllegalParkingHistory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "illegal_parking_history_seq")
+    @SequenceGenerator(name = "illegal_parking_history_seq", sequenceName = "illegal_parking_history_seq", allocationSize = 50) // pooled: insert batch 가능
     @Column(name = "illegal_parking_history_id")
     private Long illegalParkingHistoryId; // 불법 주정차 ID
 
@@ -30,7 +35,7 @@ public class IllegalParkingHistory {
     @Column(name = "proc_sttus")
     private Boolean procSttus; // 사후 조치 여부 (처리 유무)
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "charge_id", nullable = false)
     private Charge charge; // 충전소 ID (외래키)
 
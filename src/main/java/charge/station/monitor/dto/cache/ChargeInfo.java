@@ -0,0 +1,33 @@
+package charge.station.monitor.dto.cache;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import lombok.Getter;
+
+/**
+ * 충전소 메타 정보 (센터 정보 포함, 불변)
+ * ChargeRegistry 에 보관하며 핫패스에서 select 없이 조회하기 위한 용도.
+ */
+@Getter
+public class ChargeInfo {
+
+    private final Long chargeId;
+    private final String chargeNum;
+    private final String instlLc;
+    private final String modelNm;
+    private final Long centerId;
+    private final String centerName;
+    private final String centerNum;
+
+
+    public ChargeInfo(Charge charge) {
+        Center center = charge.getCenter();
+        this.chargeId = charge.getChargeId();
+        this.chargeNum = charge.getChargeNum();
+        this.instlLc = charge.getInstlLc();
+        this.modelNm = charge.getModelNm();
+        this.centerId = center.getCenterId();
+        this.centerName = center.getCenterName();
+        this.centerNum = center.getCenterNum();
+    }
+}
@@ -12,4 +12,11 @@ public class HistoryMainResponseDTO<T> {
     private int total;
     private int currentPage;
     private int totalPages;
-}
\ No newline at end of file
+    private String nextCursor;  // 커서 조회시 다음 페이지 커서 (없으면 null)
+    private String prevCursor;  // 커서 조회시 이전 페이지 커서 (없으면 null)
+
+    // 페이지 번호 조회
+    public HistoryMainResponseDTO(List<T> items, int total, int currentPage, int totalPages) {
+        this(items, total, currentPage, totalPages, null, null);
+    }
+}
@@ -0,0 +1,18 @@
+package charge.station.monitor.dto.power;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전력 그래프 한 구간 (구간 안 최소/최대/평균)
+ */
+@Getter
+@AllArgsConstructor
+public class PowerPointDTO {
+    private LocalDateTime time;  // 구간 시작 시간
+    private double min;
+    private double max;
+    private double avg;
+}
@@ -0,0 +1,19 @@
+package charge.station.monitor.dto.power;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 전력 그래프 조회 결과
+ * source : 읽은 데이터 (RAW : 원시 데이터, MINUTE/QUARTER/HOUR : 집계), bucketSeconds : 한 점이 나타내는 구간 길이
+ */
+@Getter
+@AllArgsConstructor
+public class PowerSeriesResponseDTO {
+    private Long chargeId;
+    private String source;
+    private long bucketSeconds;
+    private List<PowerPointDTO> points;
+}
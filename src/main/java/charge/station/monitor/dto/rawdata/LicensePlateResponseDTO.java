@@ -11,4 +11,16 @@ import lombok.Setter;
 public class LicensePlateResponseDTO {
     private boolean carExists;
     private String carNum;
+    private boolean unknown; // 인식 실패(시간초과, 서버 오류 등) : 차량 상태 판단 불가
+
+    public LicensePlateResponseDTO(boolean carExists, String carNum) {
+        this(carExists, carNum, false);
+    }
+
+    /**
+     * 인식 실패 결과 (출차로 처리하지 않도록 구분)
+     */
+    public static LicensePlateResponseDTO unknownResult() {
+        return new LicensePlateResponseDTO(false, null, true);
+    }
 }
@@ -0,0 +1,17 @@
+package charge.station.monitor.dto.rawdata;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 전력량 일괄 처리 결과
+ * 충전소 묶음(lane)마다 따로 커밋되므로, 처리되지 않은 충전소만 failedChargeIds 로 돌려준다. (그 충전소 값만 다시 전송)
+ */
+@Getter
+@AllArgsConstructor
+public class RawDataPowerBatchResponseDTO {
+    private int saved;                  // 저장된 전력값 수
+    private List<Long> failedChargeIds; // 거절/실패한 충전소 (재전송 대상)
+}
@@ -4,13 +4,20 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 public class RawDataPowerRequestDTO {
     private double power; //전력값
     private Long chargeId; //충전소 id번호
+    private LocalDateTime recordTime; //장비 측정시간(일괄 전송시 순서 기준, 없으면 수신시간)
     /**
      * 이 외의 데이터들이 추가로 생성될 수 있음.
      */
+
+    public RawDataPowerRequestDTO(double power, Long chargeId) {
+        this(power, chargeId, null);
+    }
 }
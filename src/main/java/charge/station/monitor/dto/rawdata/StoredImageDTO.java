@@ -0,0 +1,21 @@
+package charge.station.monitor.dto.rawdata;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 이미지 저장 결과
+ * locator : db(RawDataImg.imgPath)에 저장되는 값, path/offset/length : 번호판 인식 서버 전달용
+ */
+@Getter
+@AllArgsConstructor
+public class StoredImageDTO {
+    private String locator;  // 이미지 위치 (파일 경로 or segment 위치)
+    private String path;     // 실제 파일 경로
+    private long offset;     // 파일 내 시작 위치 (파일 단위 저장이면 0)
+    private long length;     // 이미지 크기 (파일 단위 저장이면 -1)
+
+    public boolean isWholeFile() {
+        return length < 0;
+    }
+}
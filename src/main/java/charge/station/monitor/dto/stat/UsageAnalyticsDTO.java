@@ -0,0 +1,21 @@
+package charge.station.monitor.dto.stat;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 센터/지역별 이용 분석 (기간 내)
+ * occupancyRate : 차량 점유 시간 / (충전기 수 * 기간), chargingRatio / idleParkedRatio : 점유 시간 중 충전 / 충전 안하고 주차한 비율
+ * heatmap : [요일(월=0)][시간대] 평균 점유율
+ */
+@Getter
+@AllArgsConstructor
+public class UsageAnalyticsDTO {
+    private String key;          // 센터 id 또는 지역 이름
+    private String name;         // 센터 번호 또는 지역 이름
+    private long chargeCount;    // 충전기 수
+    private double occupancyRate;
+    private double chargingRatio;
+    private double idleParkedRatio;
+    private double[][] heatmap;
+}
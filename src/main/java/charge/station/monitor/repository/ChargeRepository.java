@@ -1,9 +1,31 @@
 package charge.station.monitor.repository;
 
 import charge.station.monitor.domain.Charge;
+import charge.station.monitor.dto.ChargeMonitorDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface ChargeRepository extends JpaRepository<Charge, Long> {
+
+    // 충전소 + 센터 한번에 조회 (충전소 정보 캐시 적재용)
+    @Query("SELECT c FROM Charge c JOIN FETCH c.center")
+    List<Charge> findAllWithCenter();
+
+    @Query("SELECT c FROM Charge c JOIN FETCH c.center WHERE c.chargeId = :chargeId")
+    Optional<Charge> findWithCenterByChargeId(@Param("chargeId") Long chargeId);
+
+    // 메인 모니터링 현황 (충전소 + 센터 + 현황, 스냅샷 적재용)
+    @Query("SELECT new charge.station.monitor.dto.ChargeMonitorDTO(c.chargeId, c.chargeNum, c.instlLc, c.companyNm, c.modelNm, " +
+            "ce.centerName, s.faultSttus, s.seatSttus) FROM Charge c JOIN c.center ce LEFT JOIN c.chargeSttus s")
+    List<ChargeMonitorDTO> findAllMonitor();
+
+    @Query("SELECT new charge.station.monitor.dto.ChargeMonitorDTO(c.chargeId, c.chargeNum, c.instlLc, c.companyNm, c.modelNm, " +
+            "ce.centerName, s.faultSttus, s.seatSttus) FROM Charge c JOIN c.center ce LEFT JOIN c.chargeSttus s WHERE c.chargeId = :chargeId")
+    Optional<ChargeMonitorDTO> findMonitorByChargeId(@Param("chargeId") Long chargeId);
 }
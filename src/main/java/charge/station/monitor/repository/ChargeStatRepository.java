@@ -2,8 +2,19 @@ package charge.station.monitor.repository;
 
 import charge.station.monitor.domain.ChargeStat;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Repository
 public interface ChargeStatRepository extends JpaRepository<ChargeStat, Long> {
+    Optional<ChargeStat> findByChargeChargeIdAndDate(Long chargeId, LocalDateTime date);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ChargeStat cs WHERE cs.date = :date")
+    int deleteByDate(@Param("date") LocalDateTime date);
 }
@@ -0,0 +1,15 @@
+package charge.station.monitor.repository;
+
+import charge.station.monitor.domain.PowerRollup;
+import charge.station.monitor.domain.PowerRollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PowerRollupRepository extends JpaRepository<PowerRollup, Long> {
+    List<PowerRollup> findByChargeChargeIdAndResolutionAndBucketTimeGreaterThanEqualAndBucketTimeLessThanOrderByBucketTime(
+            Long chargeId, PowerRollupResolution resolution, LocalDateTime from, LocalDateTime to);
+}
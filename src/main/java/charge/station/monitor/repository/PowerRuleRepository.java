@@ -0,0 +1,12 @@
+package charge.station.monitor.repository;
+
+import charge.station.monitor.domain.PowerRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PowerRuleRepository extends JpaRepository<PowerRule, Long> {
+    List<PowerRule> findByEnabledTrueOrderByPowerRuleId();
+}
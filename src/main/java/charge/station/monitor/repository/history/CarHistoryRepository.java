@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +19,11 @@ public interface CarHistoryRepository extends JpaRepository<CarHistory, Long> {
             "AND ch.releaseTime IS NULL " +
             "ORDER BY ch.recordTime DESC LIMIT 1")
     Optional<CarHistory> findLatestEntryByCharge(@Param("charge") Charge charge);
+
+    // from ~ to 와 겹치는 출차 완료 기록 (이력 id, 충전소 id, 입차, 출차, 충전 시작, 충전 완료 시간)
+    @Query("SELECT ch.carHistoryId, ch.charge.chargeId, ch.recordTime, ch.releaseTime, ch.chargeStartTime, ch.chargeEndTime FROM CarHistory ch " +
+            "WHERE ch.releaseTime IS NOT NULL " +
+            "AND ch.releaseTime > :from " +
+            "AND ch.recordTime < :to")
+    List<Object[]> findCompletedUsageBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
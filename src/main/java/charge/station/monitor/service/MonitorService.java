@@ -7,18 +7,25 @@ import charge.station.monitor.domain.history.QCarHistory;
 import charge.station.monitor.dto.ChargeMonitorDTO;
 import charge.station.monitor.dto.ChargeRuntimeDetailDTO;
 import charge.station.monitor.dto.error.CustomException;
+import charge.station.monitor.dto.stat.UsageAnalyticsDTO;
 import charge.station.monitor.repository.ChargeRepository;
 import charge.station.monitor.repository.ChargeSttusRepository;
 import charge.station.monitor.repository.UserRepository;
 import charge.station.monitor.repository.history.CarHistoryRepository;
-import com.querydsl.core.types.Projections;
+import charge.station.monitor.service.monitor.MonitorSnapshot;
+import charge.station.monitor.service.stat.UsageAnalyticsService;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Transactional(readOnly = true)
@@ -31,11 +38,20 @@ public class MonitorService {
     private final CarHistoryRepository CarHistoryRepository;
     private final JwtUtil jwtUtil;
     private final JPAQueryFactory queryFactory;
+    private final MonitorSnapshot monitorSnapshot;
+    private final UsageAnalyticsService usageAnalyticsService;
+
+    @Value("${monitor.user-region.cache-ttl-ms:60000}")
+    private long userRegionTtlMillis;
+
+    private final Map<Long, UserRegions> userRegionCache = new ConcurrentHashMap<>(); // userId → 관리 지역 이름
 
 
     /**
      * 메인 페이지 값 출력
+     * 충전소 현황은 MonitorSnapshot 에서 읽으므로 db 조회 없음 (관리 지역 목록도 ttl 동안 재사용).
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<ChargeMonitorDTO> mainMonitor(String accessToken) {
 
         //토큰 유효성 검사
@@ -44,6 +60,34 @@ public class MonitorService {
         }
 
         Long userId = jwtUtil.getUserId(accessToken);
+        return monitorSnapshot.find(regionNames(userId));
+    }
+
+    /**
+     * 이용 분석 (사용자의 관리 지역 센터만, 지역 목록은 메인 페이지와 같이 ttl 동안 재사용)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<UsageAnalyticsDTO> usageAnalytics(String accessToken, String groupBy, LocalDate from, LocalDate to) {
+
+        //토큰 유효성 검사
+        if (!jwtUtil.validateToken(accessToken)) {
+            throw new CustomException("유효하지 않은 토큰입니다.", HttpStatus.UNAUTHORIZED, 401);
+        }
+
+        Long userId = jwtUtil.getUserId(accessToken);
+        return usageAnalyticsService.usage(groupBy, from, to, regionNames(userId));
+    }
+
+    /**
+     * 사용자의 관리 지역 이름 목록 (지역 변경은 ttl 만큼 늦게 반영될 수 있음)
+     */
+    private List<String> regionNames(Long userId) {
+        long now = System.currentTimeMillis();
+        UserRegions cached = userRegionCache.get(userId);
+        if (cached != null && now - cached.time < userRegionTtlMillis) {
+            return cached.names;
+        }
+
         // 1) 사용자 조회
         User user = userRepository.findByUserId(userId)
                 .orElseThrow(() -> new RuntimeException("해당 사용자를 찾을 수 없습니다."));
@@ -52,37 +96,17 @@ public class MonitorService {
         QUserRegion qUserRegion = QUserRegion.userRegion;
         QRegion qRegion = QRegion.region;
 
-        List<String> regionNames = queryFactory
+        List<String> regionNames = List.copyOf(queryFactory
                 .select(qRegion.regionName)
                 .from(qUserRegion)
                 .join(qUserRegion.region, qRegion)
                 .where(qUserRegion.user.eq(user))
-                .fetch();
-
-        // 3) Charge + ChargeSttus + Center 조인하여 DTO로 반환
-        QCharge qCharge = QCharge.charge;
-        QCenter qCenter = QCenter.center;
-        QChargeSttus qChargeSttus = QChargeSttus.chargeSttus;
-
-        List<ChargeMonitorDTO> result = queryFactory
-                .select(Projections.constructor(
-                        ChargeMonitorDTO.class,
-                        qCharge.chargeId,
-                        qCharge.chargeNum,
-                        qCharge.instlLc,
-                        qCharge.companyNm,
-                        qCharge.modelNm,
-                        qCenter.centerName,
-                        qChargeSttus.faultSttus,
-                        qChargeSttus.seatSttus
-                ))
-                .from(qCharge)
-                .join(qCharge.center, qCenter)
-                .leftJoin(qCharge.chargeSttus, qChargeSttus)
-                .where(qCenter.centerName.in(regionNames))
-                .fetch();
-
-        return result;
+                .fetch());
+
+        if (userRegionTtlMillis > 0) {
+            userRegionCache.put(userId, new UserRegions(regionNames, now));
+        }
+        return regionNames;
     }
 
 
@@ -133,4 +157,14 @@ public class MonitorService {
         );
     }
 
+
+    private static final class UserRegions {
+        final List<String> names;
+        final long time;
+
+        UserRegions(List<String> names, long time) {
+            this.names = names;
+            this.time = time;
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package charge.station.monitor.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 충전소 현황의 출차 전 차량 이력 ID(charge_sttus.open_car_history_id) 보정 (MariaDB)
+ * 출차/충전 완료는 이 ID 로 PK 조회하므로, 수동 수정이나 이전 버전 데이터로 어긋난 기록을 주기적으로 다시 맞춘다.
+ * (처리 중에 어긋난 기록을 만나면 RawDataTransaction 에서 바로 다시 연결하므로 여기서는 남은 것만 정리)
+ */
+@Slf4j
+@Component
+public class OpenCarHistoryReconcileJob {
+
+    // 없거나 이미 출차된 이력을 가리키는 기록 해제
+    private static final String CLEAR_STALE_SQL =
+            "UPDATE charge_sttus s LEFT JOIN car_history h ON h.car_history_id = s.open_car_history_id " +
+            "SET s.open_car_history_id = NULL " +
+            "WHERE s.open_car_history_id IS NOT NULL AND (h.car_history_id IS NULL OR h.out_time IS NOT NULL OR h.charge_id <> s.charge_id)";
+
+    // 입차중인데 기록이 없으면 최근 입차 이력으로 연결 (idx_car_history_open 사용)
+    private static final String LINK_MISSING_SQL =
+            "UPDATE charge_sttus s SET s.open_car_history_id = (" +
+            "SELECT h.car_history_id FROM car_history h WHERE h.charge_id = s.charge_id AND h.out_time IS NULL " +
+            "ORDER BY h.in_time DESC LIMIT 1) " +
+            "WHERE s.open_car_history_id IS NULL AND s.seat_sttus = 1";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+
+    public OpenCarHistoryReconcileJob(JdbcTemplate jdbcTemplate,
+                                      @Value("${rawdata.open-car.reconcile-enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+
+    /**
+     * 주기적 보정
+     */
+    @Scheduled(fixedDelayString = "${rawdata.open-car.reconcile-interval-ms:600000}", initialDelayString = "${rawdata.open-car.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            log.error("출차 전 차량 이력 ID 보정 실패 : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 어긋난 기록 보정 (보정한 충전소 수)
+     */
+    public int reconcile() {
+        int cleared = jdbcTemplate.update(CLEAR_STALE_SQL);
+        int linked = jdbcTemplate.update(LINK_MISSING_SQL);
+        if (cleared + linked > 0) {
+            log.warn("출차 전 차량 이력 ID 보정 : 해제 {}건, 연결 {}건", cleared, linked);
+        }
+        return cleared + linked;
+    }
+}
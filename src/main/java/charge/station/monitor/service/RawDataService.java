@@ -3,40 +3,53 @@ package charge.station.monitor.service;
 import charge.station.monitor.domain.Charge;
 import charge.station.monitor.domain.ChargeSttus;
 import charge.station.monitor.domain.RawDataImg;
-import charge.station.monitor.domain.RawDataPower;
 import charge.station.monitor.domain.history.FireAlertHistory;
 import charge.station.monitor.dto.cache.ChargeCacheDTO;
+import charge.station.monitor.dto.cache.ChargeInfo;
 import charge.station.monitor.dto.error.CustomException;
 import charge.station.monitor.dto.rawdata.LicensePlateResponseDTO;
 import charge.station.monitor.dto.rawdata.RawDataImgRequestDTO;
 import charge.station.monitor.dto.rawdata.RawDataPowerRequestDTO;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
 import charge.station.monitor.repository.*;
 import charge.station.monitor.repository.history.FireAlertHistoryRepository;
+import charge.station.monitor.service.event.ChargeEventExecutor;
+import charge.station.monitor.service.event.DbWriteLimiter;
+import charge.station.monitor.service.image.ImageStore;
+import charge.station.monitor.service.plate.PlateRecognizer;
+import charge.station.monitor.service.power.AnomalyDetector;
+import charge.station.monitor.service.power.ChargingStateMachine;
+import charge.station.monitor.service.power.PowerWriteBehindQueue;
+import charge.station.monitor.service.registry.ChargeRegistry;
 import jakarta.annotation.Resource;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -44,15 +57,23 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class RawDataService {
 
-    private static final int ANOMALY_LIMIT = 3;
+    //번호판 변경 확인 주기 : 12분간 2회 이상 찍히는지 확인.(이미지 확인 주기 : 5분)
+    private static final long CAR_CHECK_TTL_SECONDS = 12 * 60;
 
-    private final RawDataPowerRepository rawDataPowerRepository;
+    private final PowerWriteBehindQueue powerWriteBehindQueue;
     private final ChargeRepository chargeRepository;
-    private final WebClient webClient;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate chargeRedisTemplate;  // 충전소 상태 hash (문자열)
+    private final RedisScript<String> carTransitionScript;
     private final ChargeSttusRepository chargeSttusRepository;
     private final FireAlertHistoryRepository fireAlertHistoryRepository;
     private final RawDataTransaction rawDataTransaction;
+    private final ChargeEventExecutor chargeEventExecutor;
+    private final ChargeRegistry chargeRegistry;
+    private final ImageStore imageStore;
+    private final PlateRecognizer plateRecognizer;
+    private final DbWriteLimiter dbWriteLimiter;
+    private final AnomalyDetector anomalyDetector;
+    private final ChargingStateMachine chargingStateMachine;
 
     @Resource(name = "ImgData-Task")
     private Executor taskExecutor;
@@ -60,193 +81,184 @@ public class RawDataService {
 
     /**
      * 이미지 요청값 반환(차량 번호인식)
-     * 멀티스레드를 사용하므로 block()을 사용하여 동기적으로 처리 (더 간결함)
+     * 인식 요청은 PlateRecognizer 에서 모아서(batch) 보낼 수 있음.
      */
-    public CompletableFuture<LicensePlateResponseDTO> chkImg(String filePath) {
-        // Flask 서버에 전송할 데이터 생성 (JSON 요청)
-        Map<String, String> flaskRequest = new HashMap<>();
-        flaskRequest.put("image_path", filePath);
-
-        // Flask 서버에 요청을 보내고 응답을 동기적으로 받음
-        return webClient.post()
-                .uri("/process")
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(flaskRequest)
-                .retrieve()
-                .bodyToMono(LicensePlateResponseDTO.class) // JSON 응답을 DTO로 변환
-                .doOnNext(r -> System.out.println("Flask 응답: 차량존재=" + r.isCarExists() + ", 차량번호=" + r.getCarNum()))
-                .onErrorResume(error -> {
-                    System.err.println("Flask 서버 요청 중 오류 발생: " + error.getMessage());
-                    return Mono.just(new LicensePlateResponseDTO(false, ""));
-                })
-                .defaultIfEmpty(new LicensePlateResponseDTO(false, "")) // Flask 응답이 `null`일 경우 기본값 설정
-                .toFuture(); // 비동기 실행
+    public CompletableFuture<LicensePlateResponseDTO> chkImg(StoredImageDTO storedImage) {
+        return plateRecognizer.recognize(storedImage);
     }
 
 
 
     /**
      * 이미지 처리 : flask(번호판 인식 서버)에 이미지 전송 후 결과값 반환.
+     * 충전소 대기열 순서는 요청 스레드에서 먼저 잡고(도착 순서), 저장/인식은 비동기로 진행.
      */
-    @Async("ImgData-Task")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CompletableFuture<Void> plateForImg(RawDataImgRequestDTO rawDataImgRequestDTO){
+        Long chargeId = rawDataImgRequestDTO.getChargeId();
+        return recognizeInLane(chargeId, () -> {
+            StoredImageDTO storedImage = storeImg(rawDataImgRequestDTO);
+            return storedImage != null ? recognize(chargeId, storedImage) : CompletableFuture.completedFuture(null);
+        });
+    }
+
 
-        Charge charge = chargeRepository.findById(rawDataImgRequestDTO.getChargeId())
+    /**
+     * 이미지 저장 (저장 방식은 image.store.type 설정, 실패시 null)
+     */
+    private StoredImageDTO storeImg(RawDataImgRequestDTO rawDataImgRequestDTO) {
+        ChargeInfo charge = chargeRegistry.find(rawDataImgRequestDTO.getChargeId())
                 .orElseThrow(() -> {
                     // ✅ 로그에 남기기
                     log.error("유효하지 않은 충전소 정보입니다 : {}", rawDataImgRequestDTO.getChargeId());
                     return new EntityNotFoundException("유효하지 않은 충전소 정보입니다 : " + rawDataImgRequestDTO.getChargeId());
                 });
-        LocalDateTime now = LocalDateTime.now();
-        // 파일명 포맷팅 (콜론(:) 제거)
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy_MM_dd_HH_mm_ss");
-        String fileName = now.format(formatter) + ".jpg"; // 파일 확장자는 적절히 설정
-
-        //이미지 경로 : ~~/지역/충전소지역/충전소번호
-        String imgPath = "C://chargeMonitor/";
-        imgPath += charge.getCenter().getCenterName() + "/"
-                + charge.getCenter().getCenterNum() + "/"
-                + charge.getChargeNum() + "/";
-
-        // 디렉토리 생성 (없으면 생성)
-        File dir = new File(imgPath);
-        if (!dir.exists()) {
-            dir.mkdirs(); // 상위 디렉토리까지 생성
+        try {
+            return imageStore.store(charge, LocalDateTime.now(), rawDataImgRequestDTO.getImg());
+        } catch (IOException | UncheckedIOException e) {
+            // 저장 실패한 이미지로 인식하면 '차량 없음'으로 판단되어 출차 처리될 수 있으므로 여기서 중단
+            log.error("이미지 저장 실패 : {} ({})", charge.getChargeId(), e.getMessage());
+            return null;
+        }
+    }
+
+
+    /**
+     * 이미지 스트림 저장 : 요청 본문을 힙에 올리지 않고 저장소로 바로 기록
+     * 업로드 수신 중에 db 커넥션을 잡지 않도록 트랜잭션 없이 실행.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StoredImageDTO storeImg(Long chargeId, ReadableByteChannel source, long length) {
+        ChargeInfo charge = chargeRegistry.find(chargeId)
+                .orElseThrow(() -> new CustomException("유효하지 않은 충전소 정보입니다 : " + chargeId, HttpStatus.NOT_FOUND, 404));
+        try {
+            return imageStore.store(charge, LocalDateTime.now(), source, length);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("이미지 저장 실패 : {} ({})", chargeId, e.getMessage());
+            throw new CustomException("이미지 저장에 실패했습니다.", HttpStatus.INTERNAL_SERVER_ERROR, 500);
         }
+    }
+
+
+    /**
+     * 저장된 이미지 처리 : 위치만 받아서 번호판 인식 + 차량 이력 관리 (대기열 순서는 요청 스레드에서 잡음)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Void> plateForStoredImg(Long chargeId, StoredImageDTO storedImage) {
+        return recognizeInLane(chargeId, () -> recognize(chargeId, storedImage));
+    }
 
-        // 최종 파일 경로
-        String filePath = imgPath + fileName;
-        File imageFile = new File(filePath);
 
+    /**
+     * 충전소 대기열에 먼저 들어가고(도착 순서 유지) 저장/인식은 이미지 스레드에서 실행
+     * 인식이 끝나면 차량 이력 처리만 lane 에 넣으므로, 인식이 늦은 이미지가 뒤 이미지를 앞지르지 않고
+     * 인식을 기다리는 동안 같은 lane 의 다른 충전소(전력값 등)는 막히지 않는다. (ChargeEventExecutor.executeWhenReady)
+     * recognition 결과가 null 이면 처리하지 않음 (저장 실패 등)
+     */
+    private CompletableFuture<Void> recognizeInLane(Long chargeId, Supplier<CompletableFuture<LicensePlateResponseDTO>> recognition) {
+        CompletableFuture<LicensePlateResponseDTO> recognized = new CompletableFuture<>();
+        CompletableFuture<Void> done = chargeEventExecutor.executeWhenReady(chargeId, recognized,
+                licensePlateResponseDTO -> manageRecognized(chargeId, licensePlateResponseDTO));
         try {
-            Files.write(Paths.get(filePath), rawDataImgRequestDTO.getImg(), StandardOpenOption.CREATE);
-            System.out.println("이미지가 저장되었습니다: " + filePath);
-        } catch (IOException e) {
-            System.err.println("이미지 저장 실패: " + e.getMessage());
+            CompletableFuture.supplyAsync(recognition, taskExecutor)
+                    .thenCompose(future -> future)
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            recognized.completeExceptionally(error);
+                        } else {
+                            recognized.complete(result);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            recognized.complete(null); // 대기열의 다음 이미지가 기다리지 않도록
+            throw e;
+        }
+        return done;
+    }
+
+    private void manageRecognized(Long chargeId, LicensePlateResponseDTO licensePlateResponseDTO) {
+        if (licensePlateResponseDTO == null) {
+            return; // 저장 실패 (로그는 저장할때 남김)
+        }
+        if (licensePlateResponseDTO.isUnknown()) {
+            // 인식 실패(시간초과, 차단 등) : 차량 상태를 알 수 없으므로 입/출차 판단하지 않음
+            log.warn("번호판 인식 실패로 차량 상태 판단 생략 : {}", chargeId);
+            return;
         }
+        manageCarHistory(new ChargeCacheDTO(
+                chargeId,
+                licensePlateResponseDTO.isCarExists(),
+                0,
+                licensePlateResponseDTO.getCarNum()
+        ));
+    }
 
+
+    /**
+     * 이미지 db 저장 + 번호판 인식 요청
+     */
+    private CompletableFuture<LicensePlateResponseDTO> recognize(Long chargeId, StoredImageDTO storedImage) {
         //객체 생성
         RawDataImg rawDataImg = RawDataImg.builder()
-                .imgPath(filePath)
-                .charge(charge)
+                .imgPath(storedImage.getLocator())
+                .charge(chargeRepository.getReferenceById(chargeId)) // 프록시만 사용, select 없음
                 .build();
 
 
         //이미지 db에 저장
-        CompletableFuture<Void> saveImgFuture = CompletableFuture.runAsync(() ->
-                rawDataTransaction.saveImg(rawDataImg), taskExecutor);
-        CompletableFuture<LicensePlateResponseDTO> chkImgFuture = chkImg(filePath);
-
-        // Flask 요청이 완료된 후 차량 이력 관리 실행
-        return chkImgFuture.thenAccept(licensePlateResponseDTO -> {
-            ChargeCacheDTO chargeCacheDTO = new ChargeCacheDTO(
-                    charge.getChargeId(),
-                    licensePlateResponseDTO.isCarExists(),
-                    0,
-                    licensePlateResponseDTO.getCarNum()
-            );
-            manageCarHistory(chargeCacheDTO);
-        });
-
+        CompletableFuture.runAsync(() ->
+                dbWriteLimiter.run(() -> rawDataTransaction.saveImg(rawDataImg)), taskExecutor);
+        return chkImg(storedImage);
     }
 
 
     /**
      *  차량 이력 관리
+     *  캐시 비교 + 갱신은 Lua 스크립트 한번으로 처리 (동시 요청시 중복 입/출차 방지)
      */
     public void manageCarHistory(ChargeCacheDTO nowSttus) {
 
         String chargeId = nowSttus.getChargeId().toString();
+        String carNum = nowSttus.getCarNum();
+
+        // 반환값 : "전환종류:이전차량번호"
+        String result = chargeRedisTemplate.execute(
+                carTransitionScript,
+                StringRedisSerializer.UTF_8,
+                StringRedisSerializer.UTF_8,
+                List.of(chargeId, chargeId + "chk"),
+                String.valueOf(nowSttus.isCarExists()),
+                carNum != null ? carNum : "",
+                carNum != null ? "1" : "0",
+                String.valueOf(CAR_CHECK_TTL_SECONDS)
+        );
+
+        if (result == null) {
+            throw new CustomException("차량 상태 캐시 처리에 실패했습니다 : " + chargeId, HttpStatus.INTERNAL_SERVER_ERROR, 500);
+        }
 
-        /**
-         * 캐시 데이터를 통한 현재 충전소 차량과 이미지속 차량정보 비교.
-         */
-        // Redis 캐시 데이터 확인
-        Map<Object, Object> cachedSttus = redisTemplate.opsForHash().entries(chargeId);
-
-
-        if (cachedSttus.isEmpty()) {
-            //캐시가 등록 안되어있으면 현재의 정보를 캐시에 업데이트.
-            // 캐시 저장 방식 일관성 유지 (Hash 사용)
-            redisTemplate.opsForHash().put(chargeId, "carExists", nowSttus.isCarExists());
-            redisTemplate.opsForHash().put(chargeId, "carNum", nowSttus.getCarNum());
-            if(nowSttus.isCarExists()) {
+        String[] parts = result.split(":", 2);
+        // 기존 캐시 정보 (출차 처리용)
+        ChargeCacheDTO previousSttus = new ChargeCacheDTO(nowSttus.getChargeId(), true, 0, parts[1]);
+
+        switch (parts[0]) {
+            //차량 입차 되었을경우
+            case "enter" -> rawDataTransaction.processInCar(nowSttus);
+            //차량 출차 되었을경우
+            case "exit" -> rawDataTransaction.processOutCar(previousSttus);
+            //번호판이 2회 이상 바뀌어 찍힌 경우 : cache 출차처리, now 입차처리.
+            case "swap" -> {
+                rawDataTransaction.processOutCar(previousSttus);
                 rawDataTransaction.processInCar(nowSttus);
-
-            }
-        }else{
-            // 기존 캐시 정보 불러오기
-            ChargeCacheDTO previousSttus = getCachedData(cachedSttus, chargeId);
-
-
-            //현재 상태와 캐시데이터 값 비교
-            //1. 차량 존재의 값 변경
-            if(previousSttus.isCarExists() != nowSttus.isCarExists()) {
-                if(nowSttus.isCarExists()){
-                    //차량 입차 되었을경우
-                    rawDataTransaction.processInCar(nowSttus);
-                }else{
-                    //차량 출차 되었을경우
-                    rawDataTransaction.processOutCar(previousSttus);
-                }
-                redisTemplate.opsForHash().put(chargeId, "carExists", nowSttus.isCarExists());
-                redisTemplate.opsForHash().put(chargeId, "carNum", nowSttus.getCarNum());
             }
-            // 2.차량존재는 안변했는데 번호판만 바뀌었을 경우
-            else if(nowSttus.getCarNum() != null && !previousSttus.getCarNum().equals(nowSttus.getCarNum())){
-                //이미지 전송 텀에 다른 차량(번호판 기준)이 들어왔을경우 2회 이상 검증
-
-                String chkNum = chargeId + "chk";
-                Object chkCache = redisTemplate.opsForValue().get(chkNum);
-
-                //검사 캐시가 널값인지 확인
-                if(chkCache==null){
-                    //12분간 2회 이상 찍히는지 확인.(이미지 확인 주기 : 5분)
-                    redisTemplate.opsForValue().set(chkNum,1,12, TimeUnit.MINUTES);
-                }else{
-                    int num = Integer.parseInt(chkCache.toString())+1;
-                    if(num>=2){
-                        //cache 출차처리, now 입차처리.
-                        rawDataTransaction.processOutCar(previousSttus);
-                        rawDataTransaction.processInCar(nowSttus);
-                        //캐시 삭제
-                        redisTemplate.delete(chkNum);
-                        redisTemplate.opsForHash().put(chargeId, "carExists", nowSttus.isCarExists());
-                        redisTemplate.opsForHash().put(chargeId, "carNum", nowSttus.getCarNum());
-                    }
-                }
+            default -> {
+                // 변화 없음
             }
-
-
         }
     }
 
 
 
-    /**
-     * Redis에서 개별 필드로 저장된 데이터를 ChargeCacheDTO로 변환
-     */
-    public ChargeCacheDTO getCachedData(Map<Object, Object> cachedSttus, String chargeId) {
-        ChargeCacheDTO previousSttus = new ChargeCacheDTO();
-        previousSttus.setChargeId(Long.parseLong(chargeId));
-
-        // carNum이 null이면 빈 문자열("") 처리
-        Object carNumValue = cachedSttus.get("carNum");
-        previousSttus.setCarNum(carNumValue != null ? carNumValue.toString() : "");
-
-        // carExists가 null이면 기본값 false 처리
-        Object carExistsValue = cachedSttus.get("carExists");
-        previousSttus.setCarExists(carExistsValue != null && Boolean.parseBoolean(carExistsValue.toString()));
-
-        // power가 null이면 0.0으로 기본값 설정
-        Object powerValue = cachedSttus.get("power");
-        previousSttus.setPower(powerValue != null ? Double.parseDouble(powerValue.toString()) : 0.0);
-
-        return previousSttus;
-    }
-
-
-
     /**
      * 전력값 처리
      * 전력값을 기준으로 현재 충전소의 충전기가 충전중인지 판별.
@@ -258,50 +270,22 @@ public class RawDataService {
         double currentPower = rawDataPowerRequestDTO.getPower();
 
 
-        Charge charge = chargeRepository.findById(rawDataPowerRequestDTO.getChargeId())
-                .orElseThrow(() -> new CustomException("유효하지 않은 충전소 정보입니다 : " + rawDataPowerRequestDTO.getChargeId(), HttpStatus.NOT_FOUND, 404));
+        if (!chargeRegistry.contains(rawDataPowerRequestDTO.getChargeId())) {
+            throw new CustomException("유효하지 않은 충전소 정보입니다 : " + rawDataPowerRequestDTO.getChargeId(), HttpStatus.NOT_FOUND, 404);
+        }
+        Charge charge = chargeRepository.getReferenceById(rawDataPowerRequestDTO.getChargeId()); // 프록시만 사용, select 없음
         
         // Redis 캐시 데이터 확인
-        Map<Object, Object> cachedSttus = redisTemplate.opsForHash().entries(chargeId);
+        Double cachedPower = parsePower(chargeRedisTemplate.opsForHash().get(chargeId, "power"));
 
 
-        // 3. 원시 데이터는 무조건 저장
-        RawDataPower rawDataPower = RawDataPower.builder()
-                .power(currentPower)
-                .charge(charge)
-                .build();
-        rawDataPowerRepository.save(rawDataPower);
+        // 3. 원시 데이터는 무조건 저장 (write-behind 큐에서 모아서 저장)
+        LocalDateTime recordTime = rawDataPowerRequestDTO.getRecordTime() != null
+                ? rawDataPowerRequestDTO.getRecordTime() : LocalDateTime.now();
+        powerWriteBehindQueue.submit(new RawDataPowerRequestDTO(currentPower, charge.getChargeId(), recordTime));
 
         // 4. 캐시가 비어있으면 전력값 저장 후 종료 (상태 판단은 다음 요청부터)
-        if (cachedSttus.isEmpty()) {
-            redisTemplate.opsForHash().put(chargeId, "power", currentPower);
-        }
-        else{
-
-
-            // 기존 캐시 정보 불러오기
-            double previousPower = Double.parseDouble(cachedSttus.get("power").toString());
-
-            // 6. 이상 감지 로직
-            //과전력?
-            if (currentPower > 40) {
-                increaseAnomalyCount("overcurrent", chargeId, charge);
-            }
-
-            //50퍼이상 급상승했는가
-            if (previousPower > 0) {
-                double rate = Math.abs((currentPower - previousPower) / previousPower) * 100;
-                if (rate > 50.0) {
-                    increaseAnomalyCount("spike", chargeId, charge);
-                }
-            }
-
-            //10전력량을 기준으로 왔다갔다 하는가?(충전중<>충전x)
-            if ((previousPower >= 10 && currentPower < 10) || (previousPower < 10 && currentPower >= 10)) {
-                increaseAnomalyCount("fluctuation", chargeId, charge);
-            }
-
-
+        if (cachedPower != null) {
 
             //충전소 현황 불러오기(충전중인지 판단 위해서.)
             ChargeSttus chargeSttus = chargeSttusRepository.findById(rawDataPowerRequestDTO.getChargeId())
@@ -311,54 +295,139 @@ public class RawDataService {
                         return new EntityNotFoundException("유효하지 않은 충전소 정보입니다 : " + rawDataPowerRequestDTO.getChargeId());
                     });
 
-            //현재 상태와 캐시데이터 값 비교
-            //1. 충전중x + 현재 전력값이 높은경우 -> 충전시작
-            if(!chargeSttus.getPowerSttus() && currentPower>=10) {
-                chargeSttus.startCharging();
+            applyPower(charge, chargeSttus, recordTime, cachedPower, currentPower);
+        }
 
+        //캐시에 전력량 저장
+        chargeRedisTemplate.opsForHash().put(chargeId, "power", String.valueOf(currentPower));
 
-            }
-            //2. 충전중 + 현재 전력값이 낮은경우 -> 충전취소
-            else if(chargeSttus.getPowerSttus() && currentPower<10){
-                chargeSttus.stopCharging();
-            }
+    }
 
 
-            //캐시에 전력량 저장
-            redisTemplate.opsForHash().put(chargeId, "power", currentPower);
+    /**
+     * 전력값 일괄 처리
+     * 여러 충전소의 전력값을 한번에 받아 원시 데이터는 write-behind 큐에 한번에 넣고,
+     * Redis 조회/저장은 pipeline 으로 묶는다. 상태 판단과 이상 감지는 충전소별 측정시간 순서대로 진행.
+     */
+    @Transactional
+    public int savePowerBatch(List<RawDataPowerRequestDTO> readings) {
+        if (readings == null || readings.isEmpty()) {
+            return 0;
+        }
+
+        // 1. 충전소별로 묶고 측정시간 순으로 정렬 (측정시간이 없으면 수신시간)
+        LocalDateTime receivedTime = LocalDateTime.now();
+        Map<Long, List<RawDataPowerRequestDTO>> readingsByCharge = readings.stream()
+                .filter(r -> r.getChargeId() != null)
+                .map(r -> r.getRecordTime() != null ? r : new RawDataPowerRequestDTO(r.getPower(), r.getChargeId(), receivedTime))
+                .sorted(Comparator.comparing(RawDataPowerRequestDTO::getRecordTime))
+                .collect(Collectors.groupingBy(RawDataPowerRequestDTO::getChargeId, LinkedHashMap::new, Collectors.toList()));
+
+        // 2. 충전소는 캐시로 확인, 충전소 현황은 한번에 조회
+        Map<Long, Charge> charges = readingsByCharge.keySet().stream()
+                .filter(chargeRegistry::contains)
+                .collect(Collectors.toMap(chargeId -> chargeId, chargeRepository::getReferenceById));
+        Map<Long, ChargeSttus> sttusMap = chargeSttusRepository.findAllById(charges.keySet()).stream()
+                .collect(Collectors.toMap(ChargeSttus::getChargeId, s -> s));
+
+        List<Long> chargeIds = new ArrayList<>();
+        for (Long chargeId : readingsByCharge.keySet()) {
+            if (charges.containsKey(chargeId)) {
+                chargeIds.add(chargeId);
+            } else {
+                // 한 충전소 오류로 전체 배치를 버리지 않도록 로그만 남기고 제외
+                log.error("유효하지 않은 충전소 정보입니다 : {}", chargeId);
+            }
+        }
 
+        // 3. 이전 전력값 pipeline 조회
+        List<Object> cachedPowers = chargeRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (Long chargeId : chargeIds) {
+                    operations.opsForHash().get(chargeId.toString(), "power");
+                }
+                return null;
+            }
+        }, chargeRedisTemplate.getHashValueSerializer());
+
+        // 4. 원시 데이터 저장 요청 (큐 여유가 없으면 상태 변경 전에 503 거절)
+        List<RawDataPowerRequestDTO> rows = chargeIds.stream()
+                .flatMap(chargeId -> readingsByCharge.get(chargeId).stream())
+                .toList();
+        powerWriteBehindQueue.submitAll(rows);
+
+        // 5. 충전소별 시간순 상태 판단
+        Map<String, Double> lastPowers = new LinkedHashMap<>();
+        for (int i = 0; i < chargeIds.size(); i++) {
+            Long chargeId = chargeIds.get(i);
+            Charge charge = charges.get(chargeId);
+            ChargeSttus chargeSttus = sttusMap.get(chargeId);
+            Double previousPower = parsePower(cachedPowers.get(i));
+
+            for (RawDataPowerRequestDTO reading : readingsByCharge.get(chargeId)) {
+                if (previousPower != null && chargeSttus != null) {
+                    applyPower(charge, chargeSttus, reading.getRecordTime(), previousPower, reading.getPower());
+                }
+                previousPower = reading.getPower();
+            }
+            lastPowers.put(chargeId.toString(), previousPower);
         }
 
+        // 6. 마지막 전력값 pipeline 저장
+        chargeRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                lastPowers.forEach((chargeId, power) -> operations.opsForHash().put(chargeId, "power", String.valueOf(power)));
+                return null;
+            }
+        });
 
+        return rows.size();
     }
-    public void increaseAnomalyCount(String type, String chargeId, Charge charge) {
-        String key = type + ":" + chargeId;
 
-        // Redis에서 해당 키에 대해 숫자 증가 (기존 값 없으면 0 → 1로 초기화됨)
-        Long count = redisTemplate.opsForValue().increment(key);
 
-        // 처음 증가된 경우라면 (값이 없어서 새로 1이 됨), TTL 1분 설정
-        if (count != null && count == 1L) {
-            redisTemplate.expire(key, 2, TimeUnit.MINUTES);
-        }
+    /**
+     * 캐시된 전력값 (없으면 null : 상태 판단은 다음 요청부터)
+     */
+    private Double parsePower(Object cached) {
+        return cached != null ? Double.valueOf(cached.toString()) : null;
+    }
 
-        // 이상 횟수가 기준을 초과한 경우 → 값을 0으로 재설정 (throw 대신)
-        if (count != null && count >= ANOMALY_LIMIT) {
-            // 🚨 이상 감지 횟수 초기화
-            redisTemplate.delete(key); // 🔥 카운터 자체 제거
+    /**
+     * 이전 전력값과 현재 전력값으로 이상 감지 + 충전상태 변경
+     */
+    private void applyPower(Charge charge, ChargeSttus chargeSttus, LocalDateTime recordTime, double previousPower, double currentPower) {
 
+        // 이상 감지 (충전소별 sliding window, 메모리에서 처리, 충전기 모델별 규칙)
+        String modelNm = chargeRegistry.find(charge.getChargeId()).map(ChargeInfo::getModelNm).orElse(null);
+        long timeMillis = recordTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        for (String type : anomalyDetector.detect(charge.getChargeId(), modelNm, timeMillis, previousPower, currentPower)) {
+            saveFireAlert(type, charge);
+        }
 
-            /**
-             *  화재 이상감지 db 이력 추가 부분.
-             */
-            FireAlertHistory fireAlertHistory = FireAlertHistory.builder()
-                                                .recordTime(LocalDateTime.now())
-                                                .type(type)
-                                                .charge(charge)
-                                                .build();
-            fireAlertHistoryRepository.save(fireAlertHistory);
 
+        // 충전 상태 변경 (시작/종료 기준 전력 + 유지시간으로 확정된 경우만 저장)
+        switch (chargingStateMachine.update(charge.getChargeId(), chargeSttus.getPowerSttus(), timeMillis, currentPower)) {
+            case START -> rawDataTransaction.startCharging(charge, chargeSttus, recordTime);
+            case STOP -> rawDataTransaction.completeCharging(charge, chargeSttus, recordTime);
+            case NONE -> { }
         }
     }
 
+
+    /**
+     *  화재 이상감지 db 이력 추가 부분.
+     */
+    private void saveFireAlert(String type, Charge charge) {
+        FireAlertHistory fireAlertHistory = FireAlertHistory.builder()
+                                            .recordTime(LocalDateTime.now())
+                                            .type(type)
+                                            .charge(charge)
+                                            .build();
+        fireAlertHistoryRepository.save(fireAlertHistory);
+    }
+
 }
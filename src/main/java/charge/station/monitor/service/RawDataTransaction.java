@@ -11,14 +11,20 @@ import charge.station.monitor.repository.ChargeRepository;
 import charge.station.monitor.repository.ChargeSttusRepository;
 import charge.station.monitor.repository.RawDataImgRepository;
 import charge.station.monitor.repository.history.IllegalParkingHistoryRepository;
+import charge.station.monitor.service.event.CarHistoryCompletedEvent;
+import charge.station.monitor.service.event.ChargeSttusChangedEvent;
+import charge.station.monitor.service.registry.ChargeRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -31,6 +37,52 @@ public class RawDataTransaction {
     private final CarHistoryRepository carHistoryRepository;
     private final RawDataImgRepository rawDataImgRepository;
     private final IllegalParkingHistoryRepository illegalParkingHistoryRepository;
+    private final ChargeRegistry chargeRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+
+    /**
+     * 충전소 프록시 조회 (없는 충전소면 예외)
+     */
+    private Charge getCharge(Long chargeId) {
+        if (!chargeRegistry.contains(chargeId)) {
+            // ✅ 로그에 남기기
+            log.error("유효하지 않은 충전소 정보입니다 : {}", chargeId);
+            throw new EntityNotFoundException("유효하지 않은 충전소 정보입니다 : " + chargeId);
+        }
+        return chargeRepository.getReferenceById(chargeId);
+    }
+
+
+    /**
+     * 출차 전 차량 이력 조회
+     * 현황에 기록된 ID 로 PK 조회하고, 기록이 없거나 어긋나 있으면(이미 출차된 이력 등) 최근 입차 기록으로 찾아서 다시 기록한다.
+     */
+    private Optional<CarHistory> findOpenCarHistory(Charge charge, ChargeSttus chargeSttus) {
+        Long openId = chargeSttus.getOpenCarHistoryId();
+        if (openId != null) {
+            Optional<CarHistory> open = carHistoryRepository.findById(openId)
+                    .filter(carHistory -> carHistory.getReleaseTime() == null);
+            if (open.isPresent()) {
+                return open;
+            }
+        }
+        Optional<CarHistory> latest = carHistoryRepository.findLatestEntryByCharge(charge);
+        Long latestId = latest.map(CarHistory::getCarHistoryId).orElse(null);
+        if (!Objects.equals(openId, latestId)) {
+            log.warn("출차 전 차량 이력 ID 불일치 : 충전소 {}, 기록 {} -> {}", chargeSttus.getChargeId(), openId, latestId);
+            chargeSttus.linkCarHistory(latestId);
+        }
+        return latest;
+    }
+
+
+    /**
+     * 현황 변경 알림 (커밋 후 메인 모니터링 스냅샷 갱신)
+     */
+    private void publishSttus(ChargeSttus chargeSttus) {
+        eventPublisher.publishEvent(ChargeSttusChangedEvent.of(chargeSttus));
+    }
 
 
     /**
@@ -49,13 +101,8 @@ public class RawDataTransaction {
     @Transactional
     public void processInCar(ChargeCacheDTO chargeCacheDTO) {
 
-        //충전소 정보 id로 가져오기.
-        Charge charge = chargeRepository.findById(chargeCacheDTO.getChargeId())
-                .orElseThrow(() -> {
-                    // ✅ 로그에 남기기
-                    log.error("유효하지 않은 충전소 정보입니다 : {}", chargeCacheDTO.getChargeId());
-                    return new EntityNotFoundException("유효하지 않은 충전소 정보입니다 : " + chargeCacheDTO.getChargeId());
-                });
+        //충전소 정보 id로 가져오기. (캐시로 확인 후 프록시만 사용, select 없음)
+        Charge charge = getCharge(chargeCacheDTO.getChargeId());
         CarHistory carHistory = CarHistory.createEntry(chargeCacheDTO.getCarNum(), charge);
 
         //충전소 현황 가져오기
@@ -75,9 +122,39 @@ public class RawDataTransaction {
             chargeSttus.startCharging();
         }
 
-        //현황에서 충전소 자리 유무 변경(자리 차있으면 true)
-        chargeSttus.enter();
+        //현황에서 충전소 자리 유무 변경(자리 차있으면 true), 출차 전 이력 ID 기록
         carHistoryRepository.save(carHistory);
+        chargeSttus.enter(carHistory.getCarHistoryId());
+        publishSttus(chargeSttus);
+    }
+
+
+    /**
+     * 충전 시작 확정 (전력값 기준, 입차중인 차량이 있으면 충전 시작 시간 기록)
+     */
+    @Transactional
+    public void startCharging(Charge charge, ChargeSttus chargeSttus, LocalDateTime chargeStartTime) {
+        chargeSttus.startCharging();
+        if (chargeSttus.getSeatSttus()) {
+            findOpenCarHistory(charge, chargeSttus)
+                    .filter(carHistory -> carHistory.getChargeStartTime() == null)
+                    .ifPresent(carHistory -> carHistory.startCharging(chargeStartTime));
+        }
+        publishSttus(chargeSttus);
+    }
+
+    /**
+     * 충전 종료 확정 (전력값 기준, 충전중이던 차량이 있으면 충전 완료 시간 기록)
+     */
+    @Transactional
+    public void completeCharging(Charge charge, ChargeSttus chargeSttus, LocalDateTime chargeEndTime) {
+        chargeSttus.stopCharging();
+        if (chargeSttus.getSeatSttus()) {
+            findOpenCarHistory(charge, chargeSttus)
+                    .filter(carHistory -> carHistory.getChargeStartTime() != null && carHistory.getChargeEndTime() == null)
+                    .ifPresent(carHistory -> carHistory.completeCharging(chargeEndTime));
+        }
+        publishSttus(chargeSttus);
     }
 
 
@@ -87,23 +164,19 @@ public class RawDataTransaction {
     @Transactional
     public void processOutCar(ChargeCacheDTO chargeCacheDTO) {
 
-        //충전소 정보 id로 가져오기.
-        Charge charge = chargeRepository.findById(chargeCacheDTO.getChargeId())
-                .orElseThrow(() -> {
-                    // ✅ 로그에 남기기
-                    log.error("유효하지 않은 충전소 정보입니다 : {}", chargeCacheDTO.getChargeId());
-                    return new EntityNotFoundException("유효하지 않은 충전소 정보입니다 : " + chargeCacheDTO.getChargeId());
-                });
-        CarHistory carHistory = carHistoryRepository.findLatestEntryByCharge(charge)
+        //충전소 정보 id로 가져오기. (캐시로 확인 후 프록시만 사용, select 없음)
+        Charge charge = getCharge(chargeCacheDTO.getChargeId());
+
+        //충전소 현황 가져오기
+        ChargeSttus chargeSttus = chargeSttusRepository.findById(chargeCacheDTO.getChargeId())
                 .orElseThrow(() -> {
                     // ✅ 로그에 남기기
                     log.error("유효하지 않은 충전소 정보입니다 : {}", chargeCacheDTO.getChargeId());
                     return new EntityNotFoundException("유효하지 않은 충전소 정보입니다 : " + chargeCacheDTO.getChargeId());
                 });
 
-
-        //충전소 현황 가져오기
-        ChargeSttus chargeSttus = chargeSttusRepository.findById(chargeCacheDTO.getChargeId())
+        //출차 전 차량 이력 (현황에 기록된 ID 로 PK 조회)
+        CarHistory carHistory = findOpenCarHistory(charge, chargeSttus)
                 .orElseThrow(() -> {
                     // ✅ 로그에 남기기
                     log.error("유효하지 않은 충전소 정보입니다 : {}", chargeCacheDTO.getChargeId());
@@ -119,6 +192,11 @@ public class RawDataTransaction {
 
         chargeSttus.exit(); //현황에서 출차처리.
         carHistory.exit(LocalDateTime.now()); // 출차 시간 업데이트
+        publishSttus(chargeSttus);
+
+        // 이용 통계 집계 (커밋 후 반영)
+        eventPublisher.publishEvent(new CarHistoryCompletedEvent(carHistory.getCarHistoryId(), chargeCacheDTO.getChargeId(),
+                carHistory.getRecordTime(), carHistory.getReleaseTime(), carHistory.getChargeStartTime(), carHistory.getChargeEndTime()));
 
         /**
          * 출차시 주차한 기록의 시간을 판별 후 불법 주정차 확인.
@@ -0,0 +1,20 @@
+package charge.station.monitor.service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 출차 완료 이벤트 (출차 트랜잭션 커밋 후 통계 집계용)
+ */
+@Getter
+@AllArgsConstructor
+public class CarHistoryCompletedEvent {
+    private Long carHistoryId;
+    private Long chargeId;
+    private LocalDateTime recordTime;       // 입차 시간
+    private LocalDateTime releaseTime;      // 출차 시간
+    private LocalDateTime chargeStartTime;  // 충전 시작 시간 (충전 안했으면 null)
+    private LocalDateTime chargeEndTime;    // 충전 완료 시간
+}
@@ -0,0 +1,245 @@
+package charge.station.monitor.service.event;
+
+import charge.station.monitor.dto.error.CustomException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 충전소별 이벤트 실행기 (이미지/전력 이벤트 순서 보장)
+ * chargeId 해시로 단일 스레드 lane 을 고정 배정 → 같은 충전소 이벤트는 도착 순서대로 하나씩 처리,
+ * 다른 충전소는 lane 수만큼 병렬 처리. lane 큐가 가득 차면 503으로 거절.
+ * 결과를 기다려야 하는 이벤트(번호판 인식)는 executeWhenReady 로 충전소별 대기열에서 기다리고, lane 스레드는 잡지 않는다.
+ * 종료는 웹서버 다음, 전력 write-behind 큐(phase 0) 보다 먼저 (lane 에 남은 전력값이 큐에 들어간 뒤 큐를 비우도록)
+ */
+@Slf4j
+@Component
+public class ChargeEventExecutor implements SmartLifecycle {
+
+    private final ExecutorService[] lanes;
+    private volatile boolean running;
+    private final Map<Long, CompletableFuture<Void>> mailboxes = new ConcurrentHashMap<>(); // 충전소별 마지막 executeWhenReady 작업
+
+
+    public ChargeEventExecutor(@Value("${rawdata.event.lanes:0}") int laneCount,
+                               @Value("${rawdata.event.lane-capacity:1000}") int laneCapacity) {
+        // 0 이하면 코어 수 * 2 (lane 작업은 DB/Redis 대기가 섞여 있음)
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors() * 2;
+        this.lanes = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            String name = "ChargeLane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(laneCapacity),
+                    r -> new Thread(r, name),
+                    new ThreadPoolExecutor.AbortPolicy());
+        }
+        log.info("충전소 이벤트 lane {}개 (lane 당 대기 {}건)", count, laneCapacity);
+    }
+
+
+    /**
+     * 충전소 lane 에서 실행 (결과는 future 로 반환)
+     */
+    public <T> CompletableFuture<T> submit(Long chargeId, Supplier<T> task) {
+        return submitToLane(laneOf(chargeId), task);
+    }
+
+    public CompletableFuture<Void> execute(Long chargeId, Runnable task) {
+        return submit(chargeId, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * ready 가 끝나면 충전소 lane 에서 task 실행 (같은 충전소의 앞선 executeWhenReady 작업이 끝난 뒤, 도착 순서대로)
+     * 기다리는 동안 lane 스레드를 잡지 않으므로 결과가 늦어도 그 충전소만 기다린다.
+     * ready 가 실패하면 task 는 건너뛰고 다음 작업으로 넘어감. lane 이 가득 차 있으면 도착시 503.
+     */
+    public <T> CompletableFuture<Void> executeWhenReady(Long chargeId, CompletableFuture<T> ready, Consumer<T> task) {
+        int lane = laneOf(chargeId);
+        if (((ThreadPoolExecutor) lanes[lane]).getQueue().remainingCapacity() == 0) {
+            throw overloaded();
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = mailboxes.put(chargeId, done);
+        CompletableFuture<?> before = previous != null ? previous : CompletableFuture.completedFuture(null);
+        before.handle((result, error) -> null)
+                .thenCompose(ignored -> ready)
+                .whenComplete((value, error) -> {
+                    if (error != null) {
+                        done.completeExceptionally(error);
+                        return;
+                    }
+                    try {
+                        submitToLane(lane, () -> {
+                            task.accept(value);
+                            return null;
+                        }).whenComplete((result, taskError) -> {
+                            if (taskError != null) {
+                                done.completeExceptionally(taskError);
+                            } else {
+                                done.complete(null);
+                            }
+                        });
+                    } catch (CustomException e) {
+                        log.warn("충전소 이벤트 처리량 초과로 처리 못함 : {}", chargeId);
+                        done.completeExceptionally(e);
+                    }
+                });
+        done.whenComplete((result, error) -> mailboxes.remove(chargeId, done));
+        return done;
+    }
+
+    /**
+     * 충전소 lane 에서 실행 후 완료까지 대기 (요청 스레드용, 예외는 그대로 전달)
+     */
+    public <T> T call(Long chargeId, Supplier<T> task) {
+        return await(submit(chargeId, task));
+    }
+
+    /**
+     * 여러 충전소 이벤트를 lane 별로 나눠 실행 후 대기
+     * 같은 lane 이벤트는 한 묶음으로 전달되므로 충전소별 순서는 입력 순서 그대로 유지된다.
+     * 묶음마다 따로 커밋되므로, 거절(lane 가득 참)되거나 실패한 묶음의 이벤트는 failed 로 돌려준다. (호출하는 쪽에서 그것만 다시 전송)
+     * 그 중 거절된 묶음의 이벤트는 rejected 에도 담는다.
+     */
+    public <E, T> LaneResults<E, T> callByLane(List<E> events, Function<E, Long> chargeIdOf, Function<List<E>, T> task) {
+        Map<Integer, List<E>> byLane = new LinkedHashMap<>();
+        for (E event : events) {
+            byLane.computeIfAbsent(laneOf(chargeIdOf.apply(event)), lane -> new ArrayList<>()).add(event);
+        }
+
+        // 거절된 lane 이 있어도 이미 넣은 묶음은 끝까지 기다린다
+        LaneResults<E, T> results = new LaneResults<>();
+        List<List<E>> submitted = new ArrayList<>(byLane.size());
+        List<CompletableFuture<T>> futures = new ArrayList<>(byLane.size());
+        byLane.forEach((lane, group) -> {
+            try {
+                futures.add(submitToLane(lane, () -> task.apply(group)));
+                submitted.add(group);
+            } catch (CustomException e) {
+                results.failed.addAll(group);
+                results.rejected.addAll(group);
+            }
+        });
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.results.add(await(futures.get(i)));
+            } catch (RuntimeException e) {
+                log.warn("충전소 이벤트 묶음 처리 실패 ({}건) : {}", submitted.get(i).size(), e.getMessage());
+                results.failed.addAll(submitted.get(i));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * lane 별 처리 결과 (성공한 묶음 결과 + 처리되지 않은 이벤트, 그 중 lane 거절로 처리되지 않은 이벤트)
+     */
+    @Getter
+    public static class LaneResults<E, T> {
+        private final List<T> results = new ArrayList<>();
+        private final List<E> failed = new ArrayList<>();
+        private final List<E> rejected = new ArrayList<>();
+
+        // 처리된 묶음 없이 전부 lane 거절
+        public boolean isAllRejected() {
+            return results.isEmpty() && rejected.size() == failed.size();
+        }
+    }
+
+    public int laneOf(Long chargeId) {
+        if (chargeId == null) {
+            return 0; // 충전소 검증은 각 서비스에서 처리
+        }
+        int h = Long.hashCode(chargeId);
+        return Math.floorMod(h ^ (h >>> 16), lanes.length);
+    }
+
+
+    private <T> CompletableFuture<T> submitToLane(int lane, Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, lanes[lane]);
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+    }
+
+    private static CustomException overloaded() {
+        return new CustomException("충전소 이벤트 처리량 초과입니다. 잠시 후 다시 전송해주세요.", HttpStatus.SERVICE_UNAVAILABLE, 503);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        shutdown();
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 100;
+    }
+
+    /**
+     * 종료시 대기중인 이벤트까지 처리 후 종료
+     */
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        try {
+            for (ExecutorService lane : lanes) {
+                if (!lane.awaitTermination(30, TimeUnit.SECONDS)) {
+                    log.warn("충전소 이벤트 lane 종료 대기 시간 초과");
+                    lane.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
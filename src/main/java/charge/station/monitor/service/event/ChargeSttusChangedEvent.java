@@ -0,0 +1,22 @@
+package charge.station.monitor.service.event;
+
+import charge.station.monitor.domain.ChargeSttus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 충전소 현황 변경 이벤트 (입차/출차/충전/고장, 트랜잭션 커밋 후 메인 모니터링 스냅샷 갱신용)
+ */
+@Getter
+@AllArgsConstructor
+public class ChargeSttusChangedEvent {
+    private Long chargeId;
+    private Boolean seatSttus;   // 자리 유무
+    private Boolean powerSttus;  // 충전 유무
+    private Boolean faultSttus;  // 고장 유무
+
+    public static ChargeSttusChangedEvent of(ChargeSttus chargeSttus) {
+        return new ChargeSttusChangedEvent(chargeSttus.getChargeId(), chargeSttus.getSeatSttus(),
+                chargeSttus.getPowerSttus(), chargeSttus.getFaultSttus());
+    }
+}
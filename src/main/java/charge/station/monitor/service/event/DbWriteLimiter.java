@@ -0,0 +1,48 @@
+package charge.station.monitor.service.event;
+
+import charge.station.monitor.dto.error.CustomException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이미지 처리 중 db 쓰기 동시 실행 수 제한
+ * 가상 스레드 모드에서는 스레드 수 제한이 없어 커넥션 풀 대기가 한꺼번에 몰리므로 풀 크기 이하로 맞춘다.
+ */
+@Component
+public class DbWriteLimiter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+
+    public DbWriteLimiter(MeterRegistry meterRegistry,
+                          @Value("${rawdata.img.db-concurrency:10}") int dbConcurrency,
+                          @Value("${rawdata.img.db-acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        this.permits = new Semaphore(dbConcurrency);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        Gauge.builder("img.db.waiting", permits, Semaphore::getQueueLength).register(meterRegistry);
+    }
+
+
+    public void run(Runnable task) {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new CustomException("db 처리량 초과입니다.", HttpStatus.SERVICE_UNAVAILABLE, 503);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("db 처리 대기 중 중단되었습니다.", HttpStatus.SERVICE_UNAVAILABLE, 503);
+        }
+        try {
+            task.run();
+        } finally {
+            permits.release();
+        }
+    }
+}
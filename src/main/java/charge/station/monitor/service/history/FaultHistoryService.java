@@ -1,6 +1,5 @@
 package charge.station.monitor.service.history;
 
-import charge.station.monitor.config.jwt.JwtUtil;
 import charge.station.monitor.domain.Charge;
 import charge.station.monitor.domain.ChargeSttus;
 import charge.station.monitor.domain.history.FaultHistory;
@@ -9,28 +8,21 @@ import charge.station.monitor.dto.error.CustomException;
 import charge.station.monitor.dto.history.*;
 import charge.station.monitor.repository.ChargeRepository;
 import charge.station.monitor.repository.history.FaultHistoryRepository;
-import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.types.Order;
-import com.querydsl.core.types.OrderSpecifier;
+import charge.station.monitor.service.event.ChargeSttusChangedEvent;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.ComparableExpressionBase;
-import com.querydsl.core.types.dsl.PathBuilder;
-import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -38,10 +30,23 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class FaultHistoryService {
 
+    /**
+     * 조회 정의 (정렬 가능한 필드, 응답 DTO)
+     */
+    private static final HistorySpec<FaultHistory, HistoryReadFaultResponseDTO> SPEC = HistorySpec.<FaultHistory, HistoryReadFaultResponseDTO>builder()
+            .name("fault")
+            .root(QFaultHistory.faultHistory)
+            .id(QFaultHistory.faultHistory.faultHistoryId)
+            .recordTime(QFaultHistory.faultHistory.recordTime)
+            .charge(QFaultHistory.faultHistory.charge)
+            .sortFields(sortFields(QFaultHistory.faultHistory))
+            .projection(projection(QFaultHistory.faultHistory))
+            .build();
+
     private final FaultHistoryRepository faultHistoryRepository;
     private final ChargeRepository chargeRepository;
-    private final JwtUtil jwtUtil;
-    private final JPAQueryFactory queryFactory;
+    private final HistoryQueryEngine historyQueryEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
@@ -59,6 +64,7 @@ public class FaultHistoryService {
 
         ChargeSttus chargeSttus = charge.getChargeSttus();
         chargeSttus.reportFault();
+        eventPublisher.publishEvent(ChargeSttusChangedEvent.of(chargeSttus));
 
         return faultHistory.getFaultHistoryId();
     }
@@ -82,6 +88,7 @@ public class FaultHistoryService {
 
         ChargeSttus chargeSttus = charge.getChargeSttus();
         chargeSttus.recoverFault();
+        eventPublisher.publishEvent(ChargeSttusChangedEvent.of(chargeSttus));
 
         return history.getFaultHistoryId();
     }
@@ -91,128 +98,54 @@ public class FaultHistoryService {
 
 
     /**
-     * 고장 이력 조회(센터, 충전기, 기간설정, {차량번호})
+     * 고장 이력 조회(센터, 충전기, 기간설정)
      */
     public HistoryMainResponseDTO<HistoryReadFaultResponseDTO> faultSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
-                                                            int page, String sortField, String sortDirection) {
-        int pageSize = 10; // 한 페이지당 최대 개수
-        int currentPage = page <= 0 ? 1 : page; // 페이지 번호가 0 이하이면 1로 설정
-        int offset = (currentPage - 1) * pageSize;
-
-        // 1) 센터 ID 목록 생성
-        List<Long> centerIds = new ArrayList<>();
-
-        if(!jwtUtil.validateToken(accessToken)){
-            throw new CustomException("유효하지 않은 토큰입니다.", HttpStatus.UNAUTHORIZED, 401);
-        }
-
-
-        if (historyMainRequestDTO.getCenterId() == null) {
-            List<String> managedRegions = jwtUtil.getManagedRegions(accessToken);
-            centerIds = managedRegions.stream().map(Long::parseLong).collect(Collectors.toList());
-        } else {
-            centerIds.add(historyMainRequestDTO.getCenterId());
-        }
-
-        // 2) 페이징을 포함한 QueryDSL 조회
-        Page<FaultHistory> faultHistories = findByDynamicConditions(historyMainRequestDTO, centerIds, offset,
-                pageSize, sortField, sortDirection);
-
-
-        // 3) 결과를 DTO로 변환
-        List<FaultHistory> faultHistoryList = faultHistories.getContent();
-        List<HistoryReadFaultResponseDTO> items = faultHistoryList.stream()
-                .map(f -> new HistoryReadFaultResponseDTO(
-                        f.getFaultHistoryId(),
-                        f.getRecordTime(),
-                        f.getReleaseTime(),
-                        f.getProcSttus(),
-                        f.getFaultReason(),
-                        f.getCharge().getCenter().getCenterNum() + "-" + f.getCharge().getChargeNum()  // 센터이름(번호)-충전소이름(번호)
-                ))
-                .toList();
-        int total = (int) faultHistories.getTotalElements();
-        int totalPages = faultHistories.getTotalPages();
-
-        return new HistoryMainResponseDTO<>(items, total, currentPage, totalPages);
-
+            int page, String sortField, String sortDirection) {
+        return faultSelect(accessToken, historyMainRequestDTO, page, sortField, sortDirection, true);
     }
 
+    /**
+     * exactTotal=false 면 같은 조건의 전체 건수를 잠시 재사용 (HistoryCountCache)
+     */
+    public HistoryMainResponseDTO<HistoryReadFaultResponseDTO> faultSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
+            int page, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.page(SPEC, accessToken, historyMainRequestDTO, page, sortField, sortDirection, exactTotal);
+    }
 
     /**
-     * QueryDSL을 이용한 동적 조회
+     * 고장 이력 조회 (커서 방식, 다음/이전 페이지는 응답의 nextCursor / prevCursor 로 조회)
      */
-    private Page<FaultHistory> findByDynamicConditions(HistoryMainRequestDTO requestDTO, List<Long> centerIds,
-                                                       int offset, int pageSize, String sortField, String sortDirection) {
-        QFaultHistory faultHistory = QFaultHistory.faultHistory;
-        BooleanBuilder builder = new BooleanBuilder();
-
-        // 1) 센터 목록 IN 조건
-        if (centerIds != null && !centerIds.isEmpty()) {
-            builder.and(faultHistory.charge.center.centerId.in(centerIds));
-        }
-
-        // 2) 충전기 ID
-        if (requestDTO.getChargeId() != null) {
-            builder.and(faultHistory.charge.chargeId.eq(requestDTO.getChargeId()));
-        }
-
-        // 3) 기간 설정
-        if (requestDTO.getStartTime() != null && requestDTO.getEndTime() != null) {
-            builder.and(faultHistory.recordTime.between(requestDTO.getStartTime(), requestDTO.getEndTime()));
-        } else if (requestDTO.getStartTime() != null) {
-            builder.and(faultHistory.recordTime.goe(requestDTO.getStartTime()));
-        } else if (requestDTO.getEndTime() != null) {
-            builder.and(faultHistory.recordTime.loe(requestDTO.getEndTime()));
-        }
-
-        /**
-         * 차량번호 조회는 차량 이력 조회시에만.
-         */
-//        // 4) 차량번호
-//        if (requestDTO.getCarNum() != null) {
-//            builder.and(faultHistory.charge.carNum.eq(requestDTO.getCarNum()));
-//        }
-
-        // 4) 동적 정렬 처리
-        OrderSpecifier<?> orderSpecifier = getOrderSpecifier(sortField, sortDirection);
-
-        // 5) 전체 개수 조회
-        //    - fetchCount()는 deprecated 되었으므로 count() + fetchOne() 사용
-        Long total = Optional.ofNullable(
-                queryFactory.select(faultHistory.count())
-                        .from(faultHistory)
-                        .where(builder)
-                        .fetchOne()    // 결과가 단 하나(집계)니 fetchOne() 사용
-        ).orElse(0L);
-
-
-        // 6) 실제 페이징 데이터 조회
-        List<FaultHistory> resultList = queryFactory.selectFrom(faultHistory)
-                .where(builder)
-                .orderBy(orderSpecifier) // 정렬 적용
-                .offset(offset)
-                .limit(pageSize)
-                .fetch();
-
-        return new PageImpl<>(resultList, PageRequest.of(offset / pageSize, pageSize), total);
+    public HistoryMainResponseDTO<HistoryReadFaultResponseDTO> faultSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
+            String cursor, boolean backward, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.cursor(SPEC, accessToken, historyMainRequestDTO, cursor, backward, sortField, sortDirection, exactTotal);
     }
 
     /**
-     * 동적 정렬
+     * 페이지 번호 / 커서 조회 (분기는 HistoryQueryEngine.select)
      */
-    private OrderSpecifier<?> getOrderSpecifier(String sortField, String sortDirection) {
-        PathBuilder<FaultHistory> pathBuilder = new PathBuilder<>(FaultHistory.class, "faultHistory");
-
-        // 동적 필드 선택
-        ComparableExpressionBase<?> sortedExpression = pathBuilder.getComparable(sortField, Comparable.class);
-
-        // 정렬 방향 적용
-        if ("desc".equalsIgnoreCase(sortDirection)) {
-            return new OrderSpecifier<>(Order.DESC, sortedExpression);
-        } else {
-            return new OrderSpecifier<>(Order.ASC, sortedExpression);
-        }
+    public HistoryMainResponseDTO<HistoryReadFaultResponseDTO> faultSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO, int page,
+            String cursor, String direction, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.select(SPEC, accessToken, historyMainRequestDTO, page, cursor, direction, sortField, sortDirection, exactTotal);
+    }
+
+    private static Map<String, ComparableExpressionBase<?>> sortFields(QFaultHistory faultHistory) {
+        return Map.of(
+                "faultHistoryId", faultHistory.faultHistoryId,
+                "recordTime", faultHistory.recordTime,
+                "releaseTime", faultHistory.releaseTime,
+                "procSttus", faultHistory.procSttus,
+                "faultReason", faultHistory.faultReason);
+    }
+
+    private static Expression<HistoryReadFaultResponseDTO> projection(QFaultHistory faultHistory) {
+        return Projections.constructor(HistoryReadFaultResponseDTO.class,
+                faultHistory.faultHistoryId,
+                faultHistory.recordTime,
+                faultHistory.releaseTime,
+                faultHistory.procSttus,
+                faultHistory.faultReason,
+                HistorySpec.chargeNm());  // 센터이름(번호)-충전소이름(번호)
     }
 
 
@@ -1,30 +1,20 @@
 package charge.station.monitor.service.history;
 
-import charge.station.monitor.config.jwt.JwtUtil;
 import charge.station.monitor.domain.history.FireAlertHistory;
 import charge.station.monitor.domain.history.QFireAlertHistory;
 import charge.station.monitor.dto.error.CustomException;
 import charge.station.monitor.dto.history.*;
 import charge.station.monitor.repository.history.FireAlertHistoryRepository;
-import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.types.Order;
-import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.ComparableExpressionBase;
-import com.querydsl.core.types.dsl.PathBuilder;
-import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -33,131 +23,70 @@ import java.util.stream.Collectors;
 public class FireAlertHistoryService {
 
 
+    /**
+     * 조회 정의 (정렬 가능한 필드, 응답 DTO)
+     */
+    private static final HistorySpec<FireAlertHistory, HistoryReadFireResponseDTO> SPEC = HistorySpec.<FireAlertHistory, HistoryReadFireResponseDTO>builder()
+            .name("fire")
+            .root(QFireAlertHistory.fireAlertHistory)
+            .id(QFireAlertHistory.fireAlertHistory.fireAlertHistoryId)
+            .recordTime(QFireAlertHistory.fireAlertHistory.recordTime)
+            .charge(QFireAlertHistory.fireAlertHistory.charge)
+            .sortFields(sortFields(QFireAlertHistory.fireAlertHistory))
+            .projection(projection(QFireAlertHistory.fireAlertHistory))
+            .build();
+
     private final FireAlertHistoryRepository fireAlertHistoryRepository;
-    private final JwtUtil jwtUtil;
-    private final JPAQueryFactory queryFactory;
+    private final HistoryQueryEngine historyQueryEngine;
 
 
     /**
-     * 고장 이력 조회(센터, 충전기, 기간설정, {차량번호})
+     * 화재위험 이력 조회
      */
     public HistoryMainResponseDTO<HistoryReadFireResponseDTO> fireSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
-                                                                 int page, String sortField, String sortDirection) {
-        int pageSize = 10; // 한 페이지당 최대 개수
-        int currentPage = page <= 0 ? 1 : page; // 페이지 번호가 0 이하이면 1로 설정
-        int offset = (currentPage - 1) * pageSize;
-
-        // 1) 센터 ID 목록 생성
-        List<Long> centerIds = new ArrayList<>();
-
-        if(!jwtUtil.validateToken(accessToken)){
-            throw new CustomException("유효하지 않은 토큰입니다.", HttpStatus.UNAUTHORIZED, 401);
-        }
-
-        if (historyMainRequestDTO.getCenterId() == null) {
-            List<String> managedRegions = jwtUtil.getManagedRegions(accessToken);
-            centerIds = managedRegions.stream().map(Long::parseLong).collect(Collectors.toList());
-        } else {
-            centerIds.add(historyMainRequestDTO.getCenterId());
-        }
-
-        // 2) 페이징을 포함한 QueryDSL 조회
-        Page<FireAlertHistory> fireAlertHistories = findByDynamicConditions(historyMainRequestDTO, centerIds, offset,
-                pageSize, sortField, sortDirection);
-
-
-        // 3) 결과를 DTO로 변환
-        List<FireAlertHistory> fireAlertHistoryList = fireAlertHistories.getContent();
-        List<HistoryReadFireResponseDTO> items = fireAlertHistoryList.stream()
-                .map(f -> new HistoryReadFireResponseDTO(
-                        f.getFireAlertHistoryId(),
-                        f.getRecordTime(),
-                        f.getProcSttus(),
-                        f.getType(),
-                        f.getCharge().getCenter().getCenterNum() + "-" + f.getCharge().getChargeNum()  // 센터이름(번호)-충전소이름(번호)
-                ))
-                .toList();
-
-        int total = (int) fireAlertHistories.getTotalElements();
-        int totalPages = fireAlertHistories.getTotalPages();
-
-        return new HistoryMainResponseDTO<>(items, total, currentPage, totalPages);
-
-        // 4) 최종 응답
+            int page, String sortField, String sortDirection) {
+        return fireSelect(accessToken, historyMainRequestDTO, page, sortField, sortDirection, true);
     }
 
-
     /**
-     * QueryDSL을 이용한 동적 조회
+     * exactTotal=false 면 같은 조건의 전체 건수를 잠시 재사용 (HistoryCountCache)
      */
-    private Page<FireAlertHistory> findByDynamicConditions(HistoryMainRequestDTO requestDTO, List<Long> centerIds,
-                                                           int offset, int pageSize, String sortField, String sortDirection) {
-        QFireAlertHistory fireAlertHistory = QFireAlertHistory.fireAlertHistory;
-        BooleanBuilder builder = new BooleanBuilder();
-
-        // 1) 센터 목록 IN 조건
-        if (centerIds != null && !centerIds.isEmpty()) {
-            builder.and(fireAlertHistory.charge.center.centerId.in(centerIds));
-        }
-
-        // 2) 충전기 ID
-        if (requestDTO.getChargeId() != null) {
-            builder.and(fireAlertHistory.charge.chargeId.eq(requestDTO.getChargeId()));
-        }
-
-        // 3) 기간 설정
-        if (requestDTO.getStartTime() != null && requestDTO.getEndTime() != null) {
-            builder.and(fireAlertHistory.recordTime.between(requestDTO.getStartTime(), requestDTO.getEndTime()));
-        } else if (requestDTO.getStartTime() != null) {
-            builder.and(fireAlertHistory.recordTime.goe(requestDTO.getStartTime()));
-        } else if (requestDTO.getEndTime() != null) {
-            builder.and(fireAlertHistory.recordTime.loe(requestDTO.getEndTime()));
-        }
+    public HistoryMainResponseDTO<HistoryReadFireResponseDTO> fireSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
+            int page, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.page(SPEC, accessToken, historyMainRequestDTO, page, sortField, sortDirection, exactTotal);
+    }
 
-        /**
-         * 차량번호 조회는 차량 이력 조회시에만.
-         */
-//        // 4) 차량번호
-//        if (requestDTO.getCarNum() != null) {
-//            builder.and(fireAlertHistory.charge.carNum.eq(requestDTO.getCarNum()));
-//        }
-
-        // 4) 동적 정렬 처리
-        OrderSpecifier<?> orderSpecifier = getOrderSpecifier(sortField, sortDirection);
-
-        // 5) 전체 개수 조회
-        //    - fetchCount()는 deprecated 되었으므로 count() + fetchOne() 사용
-        Long total = Optional.ofNullable(
-                queryFactory.select(fireAlertHistory.count())
-                        .from(fireAlertHistory)
-                        .where(builder)
-                        .fetchOne()    // 결과가 단 하나(집계)니 fetchOne() 사용
-        ).orElse(0L);
-
-
-        // 6) 실제 페이징 데이터 조회
-        List<FireAlertHistory> resultList = queryFactory.selectFrom(fireAlertHistory)
-                .where(builder)
-                .orderBy(orderSpecifier) // 정렬 적용
-                .offset(offset)
-                .limit(pageSize)
-                .fetch();
-
-        return new PageImpl<>(resultList, PageRequest.of(offset / pageSize, pageSize), total);
+    /**
+     * 화재위험 이력 조회 (커서 방식, 다음/이전 페이지는 응답의 nextCursor / prevCursor 로 조회)
+     */
+    public HistoryMainResponseDTO<HistoryReadFireResponseDTO> fireSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
+            String cursor, boolean backward, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.cursor(SPEC, accessToken, historyMainRequestDTO, cursor, backward, sortField, sortDirection, exactTotal);
     }
 
-    private OrderSpecifier<?> getOrderSpecifier(String sortField, String sortDirection) {
-        PathBuilder<FireAlertHistory> pathBuilder = new PathBuilder<>(FireAlertHistory.class, "fireAlertHistory");
+    /**
+     * 페이지 번호 / 커서 조회 (분기는 HistoryQueryEngine.select)
+     */
+    public HistoryMainResponseDTO<HistoryReadFireResponseDTO> fireSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO, int page,
+            String cursor, String direction, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.select(SPEC, accessToken, historyMainRequestDTO, page, cursor, direction, sortField, sortDirection, exactTotal);
+    }
 
-        // 동적 필드 선택
-        ComparableExpressionBase<?> sortedExpression = pathBuilder.getComparable(sortField, Comparable.class);
+    private static Map<String, ComparableExpressionBase<?>> sortFields(QFireAlertHistory fireAlertHistory) {
+        return Map.of(
+                "fireAlertHistoryId", fireAlertHistory.fireAlertHistoryId,
+                "recordTime", fireAlertHistory.recordTime,
+                "procSttus", fireAlertHistory.procSttus,
+                "type", fireAlertHistory.type);
+    }
 
-        // 정렬 방향 적용
-        if ("desc".equalsIgnoreCase(sortDirection)) {
-            return new OrderSpecifier<>(Order.DESC, sortedExpression);
-        } else {
-            return new OrderSpecifier<>(Order.ASC, sortedExpression);
-        }
+    private static Expression<HistoryReadFireResponseDTO> projection(QFireAlertHistory fireAlertHistory) {
+        return Projections.constructor(HistoryReadFireResponseDTO.class,
+                fireAlertHistory.fireAlertHistoryId,
+                fireAlertHistory.recordTime,
+                fireAlertHistory.procSttus,
+                fireAlertHistory.type,
+                HistorySpec.chargeNm());  // 센터이름(번호)-충전소이름(번호)
     }
 
 
@@ -0,0 +1,153 @@
+package charge.station.monitor.service.history;
+
+import charge.station.monitor.dto.history.HistoryMainRequestDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 이력 목록 전체 건수(count) 처리
+ * 1) 마지막 페이지처럼 pageSize 보다 적게 읽혔으면 count 없이 offset + 읽은 건수로 계산
+ * 2) exactTotal=false 면 같은 검색조건의 건수를 ttl 동안 재사용 (새 이력이 ttl 만큼 늦게 반영될 수 있음)
+ * 3) exactTotal=true 면 항상 count 실행 (결과는 캐시에 갱신)
+ * 캐시 키는 이력 종류 + 검색 조건 값 (센터 목록, 충전기, 기간, 차량번호)
+ */
+@Slf4j
+@Component
+public class HistoryCountCache {
+
+    private final MeterRegistry meterRegistry;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<Key, Entry> counts = new ConcurrentHashMap<>();
+
+
+    public HistoryCountCache(MeterRegistry meterRegistry,
+                             @Value("${history.count.cache-ttl-ms:10000}") long ttlMillis,
+                             @Value("${history.count.cache-size:1000}") int maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+    }
+
+
+    /**
+     * 전체 건수
+     * @param key     이력 종류 + 검색 조건 (Key.of)
+     * @param offset  현재 페이지 시작 위치 (모르면 -1 : 짧은 페이지 계산 안함)
+     * @param fetched 현재 페이지에서 읽은 건수
+     * @param counter 실제 count 쿼리
+     */
+    long total(Key key, long offset, int fetched, int pageSize, boolean exactTotal, LongSupplier counter) {
+        long now = System.currentTimeMillis();
+        String type = key.type;
+
+        // 페이지가 덜 찼으면 이 페이지가 마지막 (결과가 0건인 경우는 offset 이 범위를 넘은 것일수도 있어서 제외)
+        if (offset >= 0 && fetched < pageSize && (fetched > 0 || offset == 0)) {
+            long total = offset + fetched;
+            put(key, total, now);
+            record(type, "skipped");
+            return total;
+        }
+
+        if (!exactTotal && ttlMillis > 0) {
+            Entry cached = counts.get(key);
+            if (cached != null && now - cached.time < ttlMillis) {
+                record(type, "cached");
+                return cached.total;
+            }
+        }
+
+        long total = counter.getAsLong();
+        put(key, total, now);
+        record(type, "counted");
+        return total;
+    }
+
+    private void record(String type, String outcome) {
+        Counter.builder("history.count")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void put(Key key, long total, long now) {
+        if (ttlMillis <= 0) {
+            return;
+        }
+        if (counts.size() >= maxEntries && !counts.containsKey(key)) {
+            counts.values().removeIf(e -> now - e.time >= ttlMillis); // 만료된 것 정리
+            if (counts.size() >= maxEntries) {
+                counts.clear(); // 조건 조합이 너무 많으면 비우고 다시 채움
+                log.debug("이력 count 캐시 초기화 (max={})", maxEntries);
+            }
+        }
+        counts.put(key, new Entry(total, now));
+    }
+
+
+    /**
+     * count 캐시 키 (조건식 문자열 대신 요청 값으로 비교)
+     */
+    static final class Key {
+        final String type;
+        final List<Long> centerIds; // 정렬, 중복 제거
+        final Long chargeId;
+        final LocalDateTime startTime;
+        final LocalDateTime endTime;
+        final String carNum;        // 차량번호 검색이 없는 이력은 null
+
+        private Key(String type, List<Long> centerIds, Long chargeId, LocalDateTime startTime, LocalDateTime endTime, String carNum) {
+            this.type = type;
+            this.centerIds = centerIds;
+            this.chargeId = chargeId;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.carNum = carNum;
+        }
+
+        static Key of(String type, List<Long> centerIds, HistoryMainRequestDTO requestDTO, boolean carNumSearch) {
+            return new Key(type, List.copyOf(new TreeSet<>(centerIds)), requestDTO.getChargeId(),
+                    requestDTO.getStartTime(), requestDTO.getEndTime(), carNumSearch ? requestDTO.getCarNum() : null);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return type.equals(other.type) && centerIds.equals(other.centerIds) && Objects.equals(chargeId, other.chargeId)
+                    && Objects.equals(startTime, other.startTime) && Objects.equals(endTime, other.endTime)
+                    && Objects.equals(carNum, other.carNum);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, centerIds, chargeId, startTime, endTime, carNum);
+        }
+    }
+
+    private static final class Entry {
+        final long total;
+        final long time;
+
+        Entry(long total, long time) {
+            this.total = total;
+            this.time = time;
+        }
+    }
+}
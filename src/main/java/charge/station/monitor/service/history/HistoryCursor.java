@@ -0,0 +1,55 @@
+package charge.station.monitor.service.history;
+
+import charge.station.monitor.dto.error.CustomException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 이력 목록 커서 (정렬 필드, 방향, 정렬값, id 를 base64 로 묶은 값, 클라이언트는 내용을 해석하지 않고 그대로 전달)
+ * 같은 정렬값이 여러건이면 id 로 순서를 정하므로 페이지 경계에서 누락/중복이 없다.
+ */
+public final class HistoryCursor {
+
+    private static final char SEPARATOR = '|';
+
+    final String sortField;
+    final boolean desc;
+    final String value;
+    final long id;
+
+
+    HistoryCursor(String sortField, boolean desc, String value, long id) {
+        this.sortField = sortField;
+        this.desc = desc;
+        this.value = value;
+        this.id = id;
+    }
+
+
+    String encode() {
+        String raw = sortField + SEPARATOR + (desc ? "d" : "a") + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 해석 (빈 값이면 null : 첫 페이지)
+     */
+    static HistoryCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            return new HistoryCursor(parts[0], "d".equals(parts[1]), parts[3], Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw invalid();
+        }
+    }
+
+    static CustomException invalid() {
+        return new CustomException("유효하지 않은 커서입니다.", HttpStatus.BAD_REQUEST, 400);
+    }
+}
@@ -0,0 +1,128 @@
+package charge.station.monitor.service.history;
+
+import charge.station.monitor.dto.error.CustomException;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 이력 목록 keyset(seek) 페이징
+ * offset 대신 "마지막으로 본 (정렬값, id) 다음" 조건으로 읽으므로 뒤쪽 페이지도 첫 페이지와 같은 비용으로 조회된다.
+ * 정렬값이 null 이 없는 필드만 가능 (recordTime, id).
+ */
+final class HistoryKeyset {
+
+    private HistoryKeyset() {
+    }
+
+
+    /**
+     * 한 페이지 조회 결과 (이전/다음 페이지가 없으면 커서는 null)
+     */
+    static final class Page<D> {
+        final List<D> items;
+        final String nextCursor;
+        final String prevCursor;
+
+        Page(List<D> items, String nextCursor, String prevCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+            this.prevCursor = prevCursor;
+        }
+    }
+
+
+    /**
+     * cursor 다음(backward 면 이전) pageSize 건 조회
+     */
+    static <D> Page<D> fetch(JPAQueryFactory queryFactory, HistorySpec<?, D> spec, Predicate where,
+                             String sortField, String sortDirection, String cursorToken, boolean backward, int pageSize) {
+        boolean desc = "desc".equalsIgnoreCase(sortDirection);
+        if (!spec.seekable(sortField)) {
+            throw new CustomException("커서 조회는 recordTime, " + spec.id.getMetadata().getName() + " 정렬만 가능합니다.", HttpStatus.BAD_REQUEST, 400);
+        }
+        boolean byId = spec.sortPath(sortField) == spec.id;
+        HistoryCursor cursor = HistoryCursor.decode(cursorToken);
+        if (cursor != null && (!cursor.sortField.equals(sortField) || cursor.desc != desc)) {
+            throw HistoryCursor.invalid(); // 정렬 조건이 바뀌면 커서를 다시 받아야 함
+        }
+
+        DateTimePath<LocalDateTime> timePath = spec.recordTime;
+        NumberPath<Long> idPath = spec.id;
+
+        // 뒤로 갈때는 정렬을 뒤집어서 읽고 결과를 다시 뒤집는다
+        boolean readDesc = desc != backward;
+        Order order = readDesc ? Order.DESC : Order.ASC;
+        List<OrderSpecifier<?>> orders = new ArrayList<>();
+        if (!byId) {
+            orders.add(new OrderSpecifier<>(order, timePath));
+        }
+        orders.add(new OrderSpecifier<>(order, idPath)); // 같은 정렬값이면 id 순
+
+        JPAQuery<Tuple> query = HistoryQueryEngine.from(queryFactory.select(spec.projection, timePath, idPath), spec)
+                .where(where);
+        if (cursor != null) {
+            query.where(after(timePath, idPath, cursor, byId, readDesc));
+        }
+        List<Tuple> rows = query.orderBy(orders.toArray(new OrderSpecifier<?>[0]))
+                .limit(pageSize + 1L) // 1건 더 읽어서 다음 페이지 유무 확인
+                .fetch();
+
+        boolean more = rows.size() > pageSize;
+        if (more) {
+            rows = rows.subList(0, pageSize);
+        }
+        if (backward) {
+            rows = new ArrayList<>(rows);
+            Collections.reverse(rows);
+        }
+
+        List<D> items = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            items.add(row.get(spec.projection));
+        }
+        if (rows.isEmpty()) {
+            return new Page<>(items, null, null);
+        }
+        boolean hasNext = backward ? cursor != null : more;
+        boolean hasPrev = backward ? more : cursor != null;
+        return new Page<>(items,
+                hasNext ? encode(rows.get(rows.size() - 1), timePath, idPath, sortField, desc, byId) : null,
+                hasPrev ? encode(rows.get(0), timePath, idPath, sortField, desc, byId) : null);
+    }
+
+    // (정렬값, id) 가 커서보다 뒤인 행
+    private static Predicate after(DateTimePath<LocalDateTime> timePath, NumberPath<Long> idPath,
+                                   HistoryCursor cursor, boolean byId, boolean readDesc) {
+        Predicate idAfter = readDesc ? idPath.lt(cursor.id) : idPath.gt(cursor.id);
+        if (byId) {
+            return idAfter;
+        }
+        LocalDateTime value;
+        try {
+            value = LocalDateTime.parse(cursor.value);
+        } catch (RuntimeException e) {
+            throw HistoryCursor.invalid();
+        }
+        Predicate timeAfter = readDesc ? timePath.lt(value) : timePath.gt(value);
+        return timePath.eq(value).and(idAfter).or(timeAfter);
+    }
+
+    private static String encode(Tuple row, DateTimePath<LocalDateTime> timePath, NumberPath<Long> idPath,
+                                 String sortField, boolean desc, boolean byId) {
+        Long id = row.get(idPath);
+        String value = byId ? "" : String.valueOf(row.get(timePath));
+        return new HistoryCursor(sortField, desc, value, id).encode();
+    }
+}
@@ -0,0 +1,204 @@
+package charge.station.monitor.service.history;
+
+import charge.station.monitor.config.jwt.JwtUtil;
+import charge.station.monitor.dto.error.CustomException;
+import charge.station.monitor.dto.history.HistoryMainRequestDTO;
+import charge.station.monitor.dto.history.HistoryMainResponseDTO;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 이력 목록 공통 조회 (고장, 화재, 불법주정차, 차량)
+ * 토큰 확인 -> 센터 목록 -> 검색 조건 -> DTO projection 조회 -> 전체 건수 순서는 모든 이력이 같고,
+ * 이력별로 다른 부분(경로, 정렬 필드, 응답 DTO)은 HistorySpec 으로 받는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class HistoryQueryEngine {
+
+    static final int PAGE_SIZE = 10; // 한 페이지당 최대 개수
+
+    private final JwtUtil jwtUtil;
+    private final JPAQueryFactory queryFactory;
+    private final HistoryCountCache countCache;
+    private final MeterRegistry meterRegistry;
+
+
+    /**
+     * 목록 조회 (WebController 이력 조회 공통)
+     * cursor 가 있으면 커서 조회 (direction=prev 면 이전 페이지), 없으면 페이지 번호 조회.
+     * exactTotal=false 면 전체 건수는 짧은 시간 캐시된 값일 수 있음 (HistoryCountCache)
+     */
+    public <D> HistoryMainResponseDTO<D> select(HistorySpec<?, D> spec, String accessToken, HistoryMainRequestDTO requestDTO,
+                                                int page, String cursor, String direction, String sortField, String sortDirection,
+                                                boolean exactTotal) {
+        return cursor != null
+                ? cursor(spec, accessToken, requestDTO, cursor, "prev".equalsIgnoreCase(direction), sortField, sortDirection, exactTotal)
+                : page(spec, accessToken, requestDTO, page, sortField, sortDirection, exactTotal);
+    }
+
+    /**
+     * 페이지 번호 조회
+     */
+    public <D> HistoryMainResponseDTO<D> page(HistorySpec<?, D> spec, String accessToken, HistoryMainRequestDTO requestDTO,
+                                              int page, String sortField, String sortDirection, boolean exactTotal) {
+        long start = System.nanoTime();
+        int currentPage = page <= 0 ? 1 : page; // 페이지 번호가 0 이하이면 1로 설정
+        int offset = (currentPage - 1) * PAGE_SIZE;
+
+        List<Long> centerIds = resolveCenterIds(accessToken, requestDTO);
+        BooleanBuilder builder = conditions(spec, requestDTO, centerIds);
+        OrderSpecifier<?>[] orders = orders(spec, sortField, sortDirection);
+
+        List<D> items = from(queryFactory.select(spec.projection), spec)
+                .where(builder)
+                .orderBy(orders)
+                .offset(offset)
+                .limit(PAGE_SIZE)
+                .fetch();
+
+        // 마지막 페이지면 count 생략, exactTotal=false 면 캐시 사용
+        long total = countCache.total(countKey(spec, requestDTO, centerIds), offset, items.size(), PAGE_SIZE, exactTotal,
+                () -> count(spec, builder));
+
+        record(spec, "page", start);
+        return new HistoryMainResponseDTO<>(items, (int) total, currentPage, totalPages(total));
+    }
+
+    /**
+     * 커서 조회 (다음/이전 페이지는 응답의 nextCursor / prevCursor 로 조회)
+     */
+    public <D> HistoryMainResponseDTO<D> cursor(HistorySpec<?, D> spec, String accessToken, HistoryMainRequestDTO requestDTO,
+                                                String cursor, boolean backward, String sortField, String sortDirection,
+                                                boolean exactTotal) {
+        long start = System.nanoTime();
+        List<Long> centerIds = resolveCenterIds(accessToken, requestDTO);
+        BooleanBuilder builder = conditions(spec, requestDTO, centerIds);
+        HistoryKeyset.Page<D> result = HistoryKeyset.fetch(queryFactory, spec, builder,
+                sortField, sortDirection, cursor, backward, PAGE_SIZE);
+
+        // 첫 페이지가 덜 찼으면 count 생략
+        long offset = !backward && (cursor == null || cursor.isBlank()) ? 0 : -1;
+        long total = countCache.total(countKey(spec, requestDTO, centerIds), offset, result.items.size(), PAGE_SIZE, exactTotal,
+                () -> count(spec, builder));
+
+        record(spec, "cursor", start);
+        return new HistoryMainResponseDTO<>(result.items, (int) total, 0, totalPages(total),
+                result.nextCursor, result.prevCursor);
+    }
+
+
+    /**
+     * 토큰 확인 후 조회할 센터 목록 (요청에 센터가 없으면 관리 지역 전체)
+     */
+    private List<Long> resolveCenterIds(String accessToken, HistoryMainRequestDTO requestDTO) {
+        if (!jwtUtil.validateToken(accessToken)) {
+            throw new CustomException("유효하지 않은 토큰입니다.", HttpStatus.UNAUTHORIZED, 401);
+        }
+
+        List<Long> centerIds = new ArrayList<>();
+        if (requestDTO.getCenterId() == null) {
+            List<String> managedRegions = jwtUtil.getManagedRegions(accessToken);
+            centerIds = managedRegions.stream().map(Long::parseLong).collect(Collectors.toList());
+        } else {
+            centerIds.add(requestDTO.getCenterId());
+        }
+        return centerIds;
+    }
+
+    /**
+     * 검색 조건 (센터, 충전기, 기간, 차량번호는 차량번호가 있는 이력만)
+     */
+    private BooleanBuilder conditions(HistorySpec<?, ?> spec, HistoryMainRequestDTO requestDTO, List<Long> centerIds) {
+        BooleanBuilder builder = new BooleanBuilder();
+
+        // 1) 센터 목록 IN 조건
+        if (centerIds != null && !centerIds.isEmpty()) {
+            builder.and(HistorySpec.CENTER.centerId.in(centerIds));
+        }
+
+        // 2) 충전기 ID
+        if (requestDTO.getChargeId() != null) {
+            builder.and(HistorySpec.CHARGE.chargeId.eq(requestDTO.getChargeId()));
+        }
+
+        // 3) 기간 설정
+        if (requestDTO.getStartTime() != null && requestDTO.getEndTime() != null) {
+            builder.and(spec.recordTime.between(requestDTO.getStartTime(), requestDTO.getEndTime()));
+        } else if (requestDTO.getStartTime() != null) {
+            builder.and(spec.recordTime.goe(requestDTO.getStartTime()));
+        } else if (requestDTO.getEndTime() != null) {
+            builder.and(spec.recordTime.loe(requestDTO.getEndTime()));
+        }
+
+        // 4) 차량번호
+        if (spec.carNum != null && requestDTO.getCarNum() != null) {
+            builder.and(spec.carNum.contains(requestDTO.getCarNum()));
+        }
+
+        return builder;
+    }
+
+    /**
+     * 정렬 (허용된 필드만, 같은 값이면 id 순으로 고정해서 페이지 경계가 흔들리지 않게)
+     */
+    private OrderSpecifier<?>[] orders(HistorySpec<?, ?> spec, String sortField, String sortDirection) {
+        Order order = "desc".equalsIgnoreCase(sortDirection) ? Order.DESC : Order.ASC;
+        ComparableExpressionBase<?> sortPath = spec.sortPath(sortField);
+        if (sortPath == spec.id) {
+            return new OrderSpecifier<?>[]{new OrderSpecifier<>(order, spec.id)};
+        }
+        return new OrderSpecifier<?>[]{new OrderSpecifier<>(order, sortPath), new OrderSpecifier<>(order, spec.id)};
+    }
+
+    // conditions 와 같은 값으로 만든 count 캐시 키
+    private static HistoryCountCache.Key countKey(HistorySpec<?, ?> spec, HistoryMainRequestDTO requestDTO, List<Long> centerIds) {
+        return HistoryCountCache.Key.of(spec.name, centerIds, requestDTO, spec.carNum != null);
+    }
+
+    private long count(HistorySpec<?, ?> spec, BooleanBuilder builder) {
+        return Optional.ofNullable(
+                from(queryFactory.select(spec.id.count()), spec)
+                        .where(builder)
+                        .fetchOne()    // 결과가 단 하나(집계)니 fetchOne() 사용
+        ).orElse(0L);
+    }
+
+    /**
+     * 이력 + 충전소 + 센터 inner join (충전소, 센터는 필수 연관관계라 결과 건수는 그대로)
+     * 연관관계가 LAZY 라서 projection 으로 한번에 읽지 않으면 행마다 충전소/센터 조회가 따로 나간다.
+     */
+    static <T> JPAQuery<T> from(JPAQuery<T> query, HistorySpec<?, ?> spec) {
+        return query.from(spec.root)
+                .join(spec.charge, HistorySpec.CHARGE)
+                .join(HistorySpec.CHARGE.center, HistorySpec.CENTER);
+    }
+
+    private static int totalPages(long total) {
+        return (int) ((total + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    private void record(HistorySpec<?, ?> spec, String mode, long start) {
+        Timer.builder("history.query")
+                .tag("type", spec.name)
+                .tag("mode", mode)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
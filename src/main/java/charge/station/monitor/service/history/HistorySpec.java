@@ -0,0 +1,78 @@
+package charge.station.monitor.service.history;
+
+import charge.station.monitor.domain.QCenter;
+import charge.station.monitor.domain.QCharge;
+import charge.station.monitor.dto.error.CustomException;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringExpression;
+import com.querydsl.core.types.dsl.StringPath;
+import lombok.Builder;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 이력 종류별 조회 정의 (HistoryQueryEngine 에서 사용)
+ * 검색 조건에 쓰는 경로, 정렬 가능한 필드 목록, 응답 DTO projection 을 가진다.
+ * 충전소/센터는 조회마다 CHARGE, CENTER 별칭으로 한번만 join 하므로 조건과 projection 에서도 이 별칭을 쓴다.
+ */
+public final class HistorySpec<E, D> {
+
+    static final QCharge CHARGE = new QCharge("historyCharge");
+    static final QCenter CENTER = new QCenter("historyCenter");
+
+    final String name;                                         // 메트릭 태그, count 캐시 키
+    final EntityPathBase<E> root;
+    final NumberPath<Long> id;
+    final DateTimePath<LocalDateTime> recordTime;
+    final QCharge charge;                                      // join 할 연관관계 경로 (root.charge)
+    final StringPath carNum;                                   // 차량번호 검색 (없으면 null)
+    final Map<String, ComparableExpressionBase<?>> sortFields; // 정렬 허용 필드 (요청값 -> 경로)
+    final Expression<D> projection;
+
+
+    @Builder
+    private HistorySpec(String name, EntityPathBase<E> root, NumberPath<Long> id, DateTimePath<LocalDateTime> recordTime,
+                        QCharge charge, StringPath carNum, Map<String, ComparableExpressionBase<?>> sortFields,
+                        Expression<D> projection) {
+        this.name = name;
+        this.root = root;
+        this.id = id;
+        this.recordTime = recordTime;
+        this.charge = charge;
+        this.carNum = carNum;
+        this.sortFields = Map.copyOf(sortFields);
+        this.projection = projection;
+    }
+
+
+    /**
+     * 응답의 충전소 이름 : 센터이름(번호)-충전소이름(번호)
+     */
+    static StringExpression chargeNm() {
+        return CENTER.centerNum.concat("-").concat(CHARGE.chargeNum);
+    }
+
+    /**
+     * 정렬 필드 확인 (목록에 없는 필드면 400)
+     */
+    ComparableExpressionBase<?> sortPath(String sortField) {
+        ComparableExpressionBase<?> path = sortField == null ? null : sortFields.get(sortField);
+        if (path == null) {
+            throw new CustomException("정렬할 수 없는 필드입니다 : " + sortField, HttpStatus.BAD_REQUEST, 400);
+        }
+        return path;
+    }
+
+    /**
+     * keyset(커서) 조회가 가능한 정렬 필드 (null 이 없는 recordTime, id)
+     */
+    boolean seekable(String sortField) {
+        return sortPath(sortField) == recordTime || sortPath(sortField) == id;
+    }
+}
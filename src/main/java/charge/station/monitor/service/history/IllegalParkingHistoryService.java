@@ -1,32 +1,22 @@
 package charge.station.monitor.service.history;
 
-import charge.station.monitor.config.jwt.JwtUtil;
 import charge.station.monitor.domain.history.IllegalParkingHistory;
 import charge.station.monitor.domain.history.QIllegalParkingHistory;
 import charge.station.monitor.dto.error.CustomException;
 import charge.station.monitor.dto.history.*;
 import charge.station.monitor.repository.history.IllegalParkingHistoryRepository;
-import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.types.Order;
-import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.ComparableExpressionBase;
-import com.querydsl.core.types.dsl.PathBuilder;
-import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -35,133 +25,73 @@ import java.util.stream.Collectors;
 public class IllegalParkingHistoryService {
 
 
+    /**
+     * 조회 정의 (정렬 가능한 필드, 응답 DTO)
+     */
+    private static final HistorySpec<IllegalParkingHistory, HistoryReadIllegalResponseDTO> SPEC = HistorySpec.<IllegalParkingHistory, HistoryReadIllegalResponseDTO>builder()
+            .name("illegal")
+            .root(QIllegalParkingHistory.illegalParkingHistory)
+            .id(QIllegalParkingHistory.illegalParkingHistory.illegalParkingHistoryId)
+            .recordTime(QIllegalParkingHistory.illegalParkingHistory.recordTime)
+            .charge(QIllegalParkingHistory.illegalParkingHistory.charge)
+            .carNum(QIllegalParkingHistory.illegalParkingHistory.carNum)
+            .sortFields(sortFields(QIllegalParkingHistory.illegalParkingHistory))
+            .projection(projection(QIllegalParkingHistory.illegalParkingHistory))
+            .build();
+
     private final IllegalParkingHistoryRepository illegalParkingHistoryRepository;
-    private final JwtUtil jwtUtil;
-    private final JPAQueryFactory queryFactory;
+    private final HistoryQueryEngine historyQueryEngine;
 
 
     /**
-     * 고장 이력 조회(센터, 충전기, 기간설정, {차량번호})
+     * 불법 주정차 이력 조회(센터, 충전기, 기간설정, 차량번호)
      */
     public HistoryMainResponseDTO<HistoryReadIllegalResponseDTO> illegalParkingSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
-                                         int page, String sortField, String sortDirection) {
-        int pageSize = 10; // 한 페이지당 최대 개수
-        int currentPage = page <= 0 ? 1 : page; // 페이지 번호가 0 이하이면 1로 설정
-        int offset = (currentPage - 1) * pageSize;
-
-        // 1) 센터 ID 목록 생성
-        List<Long> centerIds = new ArrayList<>();
-
-
-        if(!jwtUtil.validateToken(accessToken)){
-            throw new CustomException("유효하지 않은 토큰입니다.", HttpStatus.UNAUTHORIZED, 401);
-        }
-
-
-        if (historyMainRequestDTO.getCenterId() == null) {
-            List<String> managedRegions = jwtUtil.getManagedRegions(accessToken);
-            centerIds = managedRegions.stream().map(Long::parseLong).collect(Collectors.toList());
-        } else {
-            centerIds.add(historyMainRequestDTO.getCenterId());
-        }
-
-        // 2) 페이징을 포함한 QueryDSL 조회
-        Page<IllegalParkingHistory> illegalParkingHistories = findByDynamicConditions(historyMainRequestDTO, centerIds, offset,
-                pageSize, sortField, sortDirection);
-
-
-        // 3) 결과를 DTO로 변환
-        List<IllegalParkingHistory> illegalParkingHistoryList = illegalParkingHistories.getContent();
-        List<HistoryReadIllegalResponseDTO> items = illegalParkingHistoryList.stream()
-                .map(f -> new HistoryReadIllegalResponseDTO(
-                        f.getIllegalParkingHistoryId(),
-                        f.getCarNum(),
-                        f.getRecordTime(),
-                        f.getProcSttus(),
-                        f.getType(),
-                        f.getCharge().getCenter().getCenterNum() + "-" + f.getCharge().getChargeNum()  // 센터이름(번호)-충전소이름(번호)
-                ))
-                .toList();
-
-        int total = (int) illegalParkingHistories.getTotalElements();
-        int totalPages = illegalParkingHistories.getTotalPages();
-
-        return new HistoryMainResponseDTO<>(items, total, currentPage, totalPages);
-
+            int page, String sortField, String sortDirection) {
+        return illegalParkingSelect(accessToken, historyMainRequestDTO, page, sortField, sortDirection, true);
     }
 
-
     /**
-     * QueryDSL을 이용한 동적 조회
+     * exactTotal=false 면 같은 조건의 전체 건수를 잠시 재사용 (HistoryCountCache)
      */
-    private Page<IllegalParkingHistory> findByDynamicConditions(HistoryMainRequestDTO requestDTO, List<Long> centerIds,
-                                                                int offset, int pageSize, String sortField, String sortDirection) {
-        QIllegalParkingHistory illegalParkingHistory = QIllegalParkingHistory.illegalParkingHistory;
-        BooleanBuilder builder = new BooleanBuilder();
-
-        // 1) 센터 목록 IN 조건
-        if (centerIds != null && !centerIds.isEmpty()) {
-            builder.and(illegalParkingHistory.charge.center.centerId.in(centerIds));
-        }
-
-        // 2) 충전기 ID
-        if (requestDTO.getChargeId() != null) {
-            builder.and(illegalParkingHistory.charge.chargeId.eq(requestDTO.getChargeId()));
-        }
-
-        // 3) 기간 설정
-        if (requestDTO.getStartTime() != null && requestDTO.getEndTime() != null) {
-            builder.and(illegalParkingHistory.recordTime.between(requestDTO.getStartTime(), requestDTO.getEndTime()));
-        } else if (requestDTO.getStartTime() != null) {
-            builder.and(illegalParkingHistory.recordTime.goe(requestDTO.getStartTime()));
-        } else if (requestDTO.getEndTime() != null) {
-            builder.and(illegalParkingHistory.recordTime.loe(requestDTO.getEndTime()));
-        }
-
-        /**
-         * 차량번호 조회는 차량 이력 조회시에만.
-         */
-        // 4) 차량번호
-        if (requestDTO.getCarNum() != null) {
-            builder.and(illegalParkingHistory.carNum.contains(requestDTO.getCarNum()));
-        }
-
-        // 4) 동적 정렬 처리
-        OrderSpecifier<?> orderSpecifier = getOrderSpecifier(sortField, sortDirection);
-
-        // 5) 전체 개수 조회
-        //    - fetchCount()는 deprecated 되었으므로 count() + fetchOne() 사용
-        Long total = Optional.ofNullable(
-                queryFactory.select(illegalParkingHistory.count())
-                        .from(illegalParkingHistory)
-                        .where(builder)
-                        .fetchOne()    // 결과가 단 하나(집계)니 fetchOne() 사용
-        ).orElse(0L);
-
-
-        // 6) 실제 페이징 데이터 조회
-        List<IllegalParkingHistory> resultList = queryFactory.selectFrom(illegalParkingHistory)
-                .where(builder)
-                .orderBy(orderSpecifier) // 정렬 적용
-                .offset(offset)
-                .limit(pageSize)
-                .fetch();
+    public HistoryMainResponseDTO<HistoryReadIllegalResponseDTO> illegalParkingSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
+            int page, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.page(SPEC, accessToken, historyMainRequestDTO, page, sortField, sortDirection, exactTotal);
+    }
 
-        return new PageImpl<>(resultList, PageRequest.of(offset / pageSize, pageSize), total);
+    /**
+     * 불법 주정차 이력 조회 (커서 방식, 다음/이전 페이지는 응답의 nextCursor / prevCursor 로 조회)
+     */
+    public HistoryMainResponseDTO<HistoryReadIllegalResponseDTO> illegalParkingSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO,
+            String cursor, boolean backward, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.cursor(SPEC, accessToken, historyMainRequestDTO, cursor, backward, sortField, sortDirection, exactTotal);
     }
 
-    private OrderSpecifier<?> getOrderSpecifier(String sortField, String sortDirection) {
-        PathBuilder<IllegalParkingHistory> pathBuilder = new PathBuilder<>(IllegalParkingHistory.class, "illegalParkingHistory");
+    /**
+     * 페이지 번호 / 커서 조회 (분기는 HistoryQueryEngine.select)
+     */
+    public HistoryMainResponseDTO<HistoryReadIllegalResponseDTO> illegalParkingSelect(String accessToken, HistoryMainRequestDTO historyMainRequestDTO, int page,
+            String cursor, String direction, String sortField, String sortDirection, boolean exactTotal) {
+        return historyQueryEngine.select(SPEC, accessToken, historyMainRequestDTO, page, cursor, direction, sortField, sortDirection, exactTotal);
+    }
 
-        // 동적 필드 선택
-        ComparableExpressionBase<?> sortedExpression = pathBuilder.getComparable(sortField, Comparable.class);
+    private static Map<String, ComparableExpressionBase<?>> sortFields(QIllegalParkingHistory illegalParkingHistory) {
+        return Map.of(
+                "illegalParkingHistoryId", illegalParkingHistory.illegalParkingHistoryId,
+                "carNum", illegalParkingHistory.carNum,
+                "recordTime", illegalParkingHistory.recordTime,
+                "procSttus", illegalParkingHistory.procSttus,
+                "type", illegalParkingHistory.type);
+    }
 
-        // 정렬 방향 적용
-        if ("desc".equalsIgnoreCase(sortDirection)) {
-            return new OrderSpecifier<>(Order.DESC, sortedExpression);
-        } else {
-            return new OrderSpecifier<>(Order.ASC, sortedExpression);
-        }
+    private static Expression<HistoryReadIllegalResponseDTO> projection(QIllegalParkingHistory illegalParkingHistory) {
+        return Projections.constructor(HistoryReadIllegalResponseDTO.class,
+                illegalParkingHistory.illegalParkingHistoryId,
+                illegalParkingHistory.carNum,
+                illegalParkingHistory.recordTime,
+                illegalParkingHistory.procSttus,
+                illegalParkingHistory.type,
+                HistorySpec.chargeNm());  // 센터이름(번호)-충전소이름(번호)
     }
 
 
@@ -0,0 +1,106 @@
+package charge.station.monitor.service.image;
+
+import charge.station.monitor.dto.cache.ChargeInfo;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 이미지 1장당 파일 1개 저장 (기존 방식)
+ * 경로 : root/지역/충전소지역/충전소번호/yyyy_MM_dd_HH_mm_ss.jpg, locator 는 파일 경로 그대로.
+ */
+@Component
+@ConditionalOnProperty(name = "image.store.type", havingValue = "file", matchIfMissing = true)
+public class FileImageStore implements ImageStore {
+
+    // 파일명 포맷팅 (콜론(:) 제거)
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyy_MM_dd_HH_mm_ss");
+
+    private final String root;
+
+
+    public FileImageStore(@Value("${image.store.root:C://chargeMonitor/}") String root) {
+        this.root = root.endsWith("/") ? root : root + "/";
+    }
+
+
+    @Override
+    public StoredImageDTO store(ChargeInfo charge, LocalDateTime recordTime, byte[] image) throws IOException {
+        Path file = target(charge, recordTime);
+        Files.write(file, image, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new StoredImageDTO(file.toString(), file.toString(), 0, -1);
+    }
+
+    @Override
+    public StoredImageDTO store(ChargeInfo charge, LocalDateTime recordTime, ReadableByteChannel source, long length) throws IOException {
+        Path file = target(charge, recordTime);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (ImageChannels.transfer(source, channel, length) < length) {
+                channel.close();
+                Files.deleteIfExists(file);
+                throw new IOException("이미지 수신이 중단되었습니다 : " + file);
+            }
+        }
+        return new StoredImageDTO(file.toString(), file.toString(), 0, -1);
+    }
+
+    @Override
+    public byte[] read(String locator) throws IOException {
+        return Files.readAllBytes(Paths.get(locator));
+    }
+
+    @Override
+    public int purgeBefore(LocalDate cutoff) throws IOException {
+        Path rootPath = Paths.get(root);
+        if (!Files.isDirectory(rootPath)) {
+            return 0;
+        }
+        FileTime limit = FileTime.from(cutoff.atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+        List<Path> expired;
+        try (Stream<Path> files = Files.walk(rootPath)) {
+            expired = files.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".jpg"))
+                    .filter(file -> isBefore(file, limit))
+                    .toList();
+        }
+        for (Path file : expired) {
+            Files.deleteIfExists(file);
+        }
+        return expired.size();
+    }
+
+
+    /**
+     * 이미지 경로 : root/지역/충전소지역/충전소번호/ (디렉토리 없으면 생성)
+     */
+    Path target(ChargeInfo charge, LocalDateTime recordTime) throws IOException {
+        Path dir = Paths.get(root, charge.getCenterName(), charge.getCenterNum(), charge.getChargeNum());
+        Files.createDirectories(dir);
+        return dir.resolve(recordTime.format(FILE_NAME) + ".jpg");
+    }
+
+    private boolean isBefore(Path file, FileTime limit) {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(limit) < 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package charge.station.monitor.service.image;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * 이미지 스트림 전송 유틸
+ */
+final class ImageChannels {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 스레드별 direct buffer 재사용 (업로드 크기와 상관없이 스레드당 64KB)
+    private static final ThreadLocal<ByteBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    private ImageChannels() {
+    }
+
+    /**
+     * source → 새 파일(처음부터) length 만큼 전송, 실제 전송한 크기 반환
+     * transferFrom 은 소켓 스트림에서 한번에 다 못 읽을 수 있으므로 끝까지 반복 (0 이면 스트림 종료로 판단)
+     */
+    static long transfer(ReadableByteChannel source, FileChannel target, long length) throws IOException {
+        long transferred = 0;
+        while (transferred < length) {
+            long n = target.transferFrom(source, transferred, length - transferred);
+            if (n <= 0) {
+                break;
+            }
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    /**
+     * source → target 의 position 위치에 length 만큼 positional write, 실제 기록한 크기 반환
+     * 다른 스레드가 앞 구간을 아직 쓰는 중이면 position 이 파일 끝보다 뒤일 수 있어 transferFrom 대신 사용.
+     */
+    static long copy(ReadableByteChannel source, FileChannel target, long position, long length) throws IOException {
+        ByteBuffer buffer = BUFFERS.get();
+        long copied = 0;
+        while (copied < length) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), length - copied));
+            if (source.read(buffer) < 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                copied += target.write(buffer, position + copied);
+            }
+        }
+        return copied;
+    }
+}
@@ -0,0 +1,66 @@
+package charge.station.monitor.service.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 이미지 보관기간 관리 (매일 새벽 보관기간 지난 이미지 삭제)
+ * image.store.retention-days 가 0 이하면 삭제하지 않음. (기본 0 : 필요한 곳만 설정해서 사용)
+ * 이미지 기록(raw_data_img)을 먼저 지우고 파일을 지운다. (없는 파일 경로가 조회되지 않도록)
+ */
+@Slf4j
+@Component
+public class ImageRetentionJob {
+
+    private static final int DELETE_CHUNK = 5000;
+
+    private final ImageStore imageStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+
+
+    public ImageRetentionJob(ImageStore imageStore,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${image.store.retention-days:0}") int retentionDays) {
+        this.imageStore = imageStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+
+    @Scheduled(cron = "${image.store.retention-cron:0 30 3 * * *}")
+    public void purge() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        try {
+            int rows = deleteRowsBefore(cutoff.atStartOfDay());
+            int deleted = imageStore.purgeBefore(cutoff);
+            log.info("보관기간 지난 이미지 삭제 : 파일 {}건, 기록 {}건 ({} 이전)", deleted, rows, cutoff);
+        } catch (DataAccessException e) {
+            log.error("이미지 기록 보관기간 정리 실패, 파일은 삭제하지 않음 : {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("이미지 보관기간 정리 실패 : {}", e.getMessage());
+        }
+    }
+
+    // 한번에 지우면 락/undo 가 커지므로 나눠서 삭제 (PowerRollupJob 과 같은 방식)
+    private int deleteRowsBefore(LocalDateTime cutoff) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update("DELETE FROM raw_data_img WHERE record_time < ? LIMIT " + DELETE_CHUNK, cutoff);
+            total += deleted;
+        } while (deleted == DELETE_CHUNK);
+        return total;
+    }
+}
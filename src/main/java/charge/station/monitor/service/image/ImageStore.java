@@ -0,0 +1,36 @@
+package charge.station.monitor.service.image;
+
+import charge.station.monitor.dto.cache.ChargeInfo;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 현장 이미지 저장소
+ * image.store.type = file(기본, 이미지 1장당 파일 1개) / segment(일자별 append-only 파일)
+ */
+public interface ImageStore {
+
+    /**
+     * 이미지 저장 후 위치 반환
+     */
+    StoredImageDTO store(ChargeInfo charge, LocalDateTime recordTime, byte[] image) throws IOException;
+
+    /**
+     * 요청 본문(channel)을 힙에 올리지 않고 바로 저장 (length 만큼 못 읽으면 IOException)
+     */
+    StoredImageDTO store(ChargeInfo charge, LocalDateTime recordTime, ReadableByteChannel source, long length) throws IOException;
+
+    /**
+     * 저장 위치(locator)로 이미지 읽기
+     */
+    byte[] read(String locator) throws IOException;
+
+    /**
+     * 보관기간 지난 이미지 삭제 (cutoff 이전 날짜), 삭제 건수 반환
+     */
+    int purgeBefore(LocalDate cutoff) throws IOException;
+}
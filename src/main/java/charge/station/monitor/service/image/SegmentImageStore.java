@@ -0,0 +1,269 @@
+package charge.station.monitor.service.image;
+
+import charge.station.monitor.dto.cache.ChargeInfo;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 일자별 segment 파일에 이미지를 이어 붙여 저장 (파일 수 = 하루 1개)
+ * root/segments/yyyyMMdd.seg : 이미지 데이터, yyyyMMdd.idx : 인덱스(충전소 id, 위치, 크기, 촬영시간)
+ * 쓰기는 위치를 먼저 예약(AtomicLong)한 뒤 positional write → 여러 스레드가 락 없이 동시에 저장.
+ * locator = seg:yyyyMMdd:offset:length, 보관기간 삭제는 segment 단위.
+ * 저장/읽기는 일자별 읽기 락, segment 닫기/삭제는 쓰기 락 → 처리 중인 저장/읽기가 끝난 뒤에 닫는다. (다른 날짜는 막지 않음)
+ * segment 안의 빈 구간(수신 중단된 이미지)은 정리하지 않음 : 옮기면 db 에 저장된 locator 가 깨지므로 일자 단위 삭제만 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "image.store.type", havingValue = "segment")
+public class SegmentImageStore implements ImageStore {
+
+    private static final String PREFIX = "seg";
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE; // yyyyMMdd
+    private static final int INDEX_RECORD_BYTES = Long.BYTES * 3 + Integer.BYTES;  // chargeId, offset, recordTime, length
+
+    private final Path dir;
+    private final Map<LocalDate, Segment> segments = new ConcurrentHashMap<>();
+    private final Map<LocalDate, ReadWriteLock> dayLocks = new ConcurrentHashMap<>();
+
+
+    public SegmentImageStore(@Value("${image.store.root:C://chargeMonitor/}") String root) throws IOException {
+        this.dir = Paths.get(root, "segments");
+        Files.createDirectories(dir);
+    }
+
+
+    @Override
+    public StoredImageDTO store(ChargeInfo charge, LocalDateTime recordTime, byte[] image) throws IOException {
+        LocalDate day = recordTime.toLocalDate();
+        Lock lock = lockOf(day).readLock();
+        lock.lock();
+        try {
+            Segment segment = segment(day);
+
+            ByteBuffer src = ByteBuffer.wrap(image);
+            long offset = segment.reserve(image.length);
+            long position = offset;
+            while (src.hasRemaining()) {
+                position += segment.data.write(src, position);
+            }
+            segment.index(charge.getChargeId(), offset, image.length, recordTime);
+
+            return new StoredImageDTO(locator(day, offset, image.length), segment.path.toString(), offset, image.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public StoredImageDTO store(ChargeInfo charge, LocalDateTime recordTime, ReadableByteChannel source, long length) throws IOException {
+        LocalDate day = recordTime.toLocalDate();
+        Lock lock = lockOf(day).readLock();
+        lock.lock();
+        try {
+            Segment segment = segment(day);
+
+            // 위치 예약 후 요청 본문을 segment 로 바로 기록 (중간에 끊기면 예약 구간은 빈칸으로 남고 인덱스에 등록 안됨)
+            long offset = segment.reserve(Math.toIntExact(length));
+            if (ImageChannels.copy(source, segment.data, offset, length) < length) {
+                throw new IOException("이미지 수신이 중단되었습니다 : " + locator(day, offset, (int) length));
+            }
+            segment.index(charge.getChargeId(), offset, (int) length, recordTime);
+
+            return new StoredImageDTO(locator(day, offset, (int) length), segment.path.toString(), offset, length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] read(String locator) throws IOException {
+        String[] parts = locator.split(":");
+        if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+            throw new IOException("잘못된 이미지 위치입니다 : " + locator);
+        }
+        LocalDate day = LocalDate.parse(parts[1], DAY);
+        long offset = Long.parseLong(parts[2]);
+        int length = Integer.parseInt(parts[3]);
+
+        Lock lock = lockOf(day).readLock();
+        lock.lock();
+        try (FileChannel channel = FileChannel.open(dataPath(day), StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            byte[] image = new byte[length];
+            mapped.get(image);
+            return image;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * cutoff 이전 segment 삭제 + 지난 날짜 segment 닫기(전날까지는 늦게 도착하는 이미지 때문에 유지)
+     */
+    @Override
+    public int purgeBefore(LocalDate cutoff) throws IOException {
+        LocalDate yesterday = LocalDate.now(ZoneId.systemDefault()).minusDays(1);
+        segments.keySet().stream()
+                .filter(day -> day.isBefore(yesterday))
+                .forEach(this::close);
+
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.seg")) {
+            for (Path file : files) {
+                LocalDate day = dayOf(file);
+                if (day != null && day.isBefore(cutoff)) {
+                    delete(day, file);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+
+    private Segment segment(LocalDate day) {
+        return segments.computeIfAbsent(day, d -> {
+            try {
+                return new Segment(dataPath(d), indexPath(d));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private ReadWriteLock lockOf(LocalDate day) {
+        return dayLocks.computeIfAbsent(day, d -> new ReentrantReadWriteLock());
+    }
+
+    // 처리 중인 저장/읽기가 끝난 뒤 닫음
+    private void close(LocalDate day) {
+        Lock lock = lockOf(day).writeLock();
+        lock.lock();
+        try {
+            Segment segment = segments.remove(day);
+            if (segment != null) {
+                segment.close();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void delete(LocalDate day, Path file) throws IOException {
+        Lock lock = lockOf(day).writeLock();
+        lock.lock();
+        try {
+            close(day); // 같은 쓰기 락 (재진입)
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(indexPath(day));
+        } finally {
+            lock.unlock();
+            dayLocks.remove(day);
+        }
+    }
+
+    private Path dataPath(LocalDate day) {
+        return dir.resolve(day.format(DAY) + ".seg");
+    }
+
+    private Path indexPath(LocalDate day) {
+        return dir.resolve(day.format(DAY) + ".idx");
+    }
+
+    private LocalDate dayOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return LocalDate.parse(name.substring(0, name.indexOf('.')), DAY);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String locator(LocalDate day, long offset, int length) {
+        return PREFIX + ":" + day.format(DAY) + ":" + offset + ":" + length;
+    }
+
+
+    @PreDestroy
+    public void closeAll() {
+        segments.keySet().forEach(this::close);
+    }
+
+
+    /**
+     * 하루치 segment (데이터 + 인덱스 채널)
+     */
+    private static final class Segment {
+
+        private final Path path;
+        private final FileChannel data;
+        private final FileChannel index;
+        private final AtomicLong end;
+        private final ReentrantLock indexLock = new ReentrantLock(); // synchronized 는 blocking IO 중에 가상 스레드를 carrier 에 고정시킴
+
+        Segment(Path path, Path indexPath) throws IOException {
+            this.path = path;
+            this.data = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.index = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            this.end = new AtomicLong(data.size()); // 재시작시 기존 파일 끝부터 이어서 저장
+        }
+
+        long reserve(int length) {
+            return end.getAndAdd(length);
+        }
+
+        void index(Long chargeId, long offset, int length, LocalDateTime recordTime) throws IOException {
+            ByteBuffer record = ByteBuffer.allocate(INDEX_RECORD_BYTES)
+                    .putLong(chargeId)
+                    .putLong(offset)
+                    .putLong(recordTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                    .putInt(length)
+                    .flip();
+            indexLock.lock();
+            try {
+                while (record.hasRemaining()) {
+                    index.write(record);
+                }
+            } finally {
+                indexLock.unlock();
+            }
+        }
+
+        void close() {
+            try {
+                data.close();
+                index.close();
+            } catch (IOException e) {
+                log.warn("이미지 segment 닫기 실패 : {} ({})", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package charge.station.monitor.service.monitor;
+
+import charge.station.monitor.dto.ChargeMonitorDTO;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.service.event.ChargeSttusChangedEvent;
+import charge.station.monitor.service.registry.LongObjectMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 메인 모니터링 화면 스냅샷 (지역(센터이름) → 충전소 현황 배열, chargeId 순)
+ * 시작시 전체 적재하고, 충전소 현황이 바뀌면(ChargeSttusChangedEvent, 커밋 후) 해당 충전소만 교체한다.
+ * 조회는 락 없이 volatile 상태를 읽고, 변경은 바뀐 지역 배열만 복사해서 상태를 통째로 교체 (ChargeRegistry 와 같은 방식).
+ * 이벤트 없이 바뀐 값(직접 DB 수정 등)은 reload-interval-ms 마다 전체 다시 적재할때 반영.
+ * 전체 적재 중에 반영된 변경은 적재 결과로 덮어쓰지 않고 다시 적용한다. (ChargeRegistry.reload 와 같은 방식)
+ * 배열 안의 DTO 는 여러 요청이 같이 쓰므로 수정하지 말 것.
+ */
+@Slf4j
+@Component
+public class MonitorSnapshot {
+
+    private final ChargeRepository chargeRepository;
+
+    private volatile State state = State.EMPTY;
+    private volatile boolean loaded;
+    private final Object reloadLock = new Object(); // 전체 적재는 한번에 하나만
+    private Set<Long> changedDuringReload; // 전체 적재 중에 바뀐 충전소 (this 로 보호, 적재중이 아니면 null)
+    private long version; // 현황 변경 이벤트 번호 (this 로 보호)
+    private final Map<Long, Long> sttusVersion = new HashMap<>(); // 충전소별 마지막 현황 변경 번호 (this 로 보호)
+
+
+    public MonitorSnapshot(ChargeRepository chargeRepository, MeterRegistry meterRegistry) {
+        this.chargeRepository = chargeRepository;
+        Gauge.builder("monitor.snapshot.size", this, snapshot -> snapshot.state.regionOf.size()).register(meterRegistry);
+    }
+
+
+    /**
+     * 지역 목록의 충전소 현황 (지역 배열을 이어 붙이기만 함)
+     */
+    public List<ChargeMonitorDTO> find(Collection<String> regionNames) {
+        if (!loaded) {
+            synchronized (reloadLock) {
+                if (!loaded) {
+                    reload(); // 시작 적재 전에 들어온 요청 (동시에 들어와도 한번만 적재)
+                }
+            }
+        }
+        State current = state;
+        List<ChargeMonitorDTO[]> parts = new ArrayList<>(regionNames.size());
+        int size = 0;
+        for (String regionName : new LinkedHashSet<>(regionNames)) {
+            ChargeMonitorDTO[] charges = current.regions.get(regionName);
+            if (charges != null) {
+                parts.add(charges);
+                size += charges.length;
+            }
+        }
+        List<ChargeMonitorDTO> result = new ArrayList<>(size);
+        for (ChargeMonitorDTO[] charges : parts) {
+            Collections.addAll(result, charges);
+        }
+        return result;
+    }
+
+
+    /**
+     * 전체 적재 (시작시)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                changedDuringReload = new HashSet<>();
+            }
+            List<Long> unknown = new ArrayList<>();
+            int size;
+            try {
+                State next = State.of(chargeRepository.findAllMonitor());
+                synchronized (this) {
+                    // 조회 후에 바뀐 충전소는 지금 상태 값으로 (첫 적재라 지금 상태에 없으면 적재 후 다시 읽기)
+                    State current = state;
+                    for (Long chargeId : changedDuringReload) {
+                        ChargeMonitorDTO charge = current.get(chargeId);
+                        if (charge != null) {
+                            next = next.without(chargeId).with(charge);
+                        } else if (loaded) {
+                            next = next.without(chargeId);
+                        } else {
+                            unknown.add(chargeId);
+                        }
+                    }
+                    state = next;
+                    loaded = true;
+                    size = next.regionOf.size();
+                }
+            } finally {
+                synchronized (this) {
+                    changedDuringReload = null;
+                }
+            }
+            unknown.forEach(this::refresh);
+            log.debug("메인 모니터링 스냅샷 적재 : {}건", size);
+        }
+    }
+
+    /**
+     * 주기적 전체 적재 (이벤트로 반영되지 않은 변경 보정)
+     */
+    @Scheduled(fixedDelayString = "${monitor.snapshot.reload-interval-ms:300000}", initialDelayString = "${monitor.snapshot.reload-interval-ms:300000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (DataAccessException e) {
+            log.error("메인 모니터링 스냅샷 적재 실패 : {}", e.getMessage());
+        }
+    }
+
+
+    /**
+     * 충전소 현황 변경 반영 (트랜잭션 커밋 후)
+     */
+    @TransactionalEventListener
+    public void onChanged(ChargeSttusChangedEvent event) {
+        synchronized (this) {
+            markChanged(event.getChargeId());
+            sttusVersion.put(event.getChargeId(), ++version);
+            if (!loaded) {
+                return; // 적재할때 같이 읽힘 (적재 중이면 적재 후 다시 읽음)
+            }
+            State current = state;
+            String regionName = current.regionOf.get(event.getChargeId());
+            if (regionName != null) {
+                state = current.withSttus(regionName, event);
+                return;
+            }
+        }
+        refresh(event.getChargeId()); // 스냅샷에 없는 충전소 (새로 등록됨)
+    }
+
+    /**
+     * 충전소 한건 다시 읽기 (충전소 생성/수정/삭제 후 호출)
+     * 조회 중에 현황 변경이 반영됐으면 조회한 자리/고장 값은 버리고 지금 값을 유지한다.
+     */
+    public void refresh(Long chargeId) {
+        long readVersion;
+        synchronized (this) {
+            readVersion = version;
+        }
+        Optional<ChargeMonitorDTO> charge = chargeRepository.findMonitorByChargeId(chargeId);
+        synchronized (this) {
+            markChanged(chargeId);
+            State current = state;
+            ChargeMonitorDTO live = current.get(chargeId);
+            if (live != null && sttusVersion.getOrDefault(chargeId, 0L) > readVersion) {
+                charge = charge.map(row -> new ChargeMonitorDTO(row.getChargeId(), row.getChargeNum(), row.getInstlLc(),
+                        row.getCompanyNm(), row.getModelNm(), row.getCenterName(), live.getFaultSttus(), live.getSeatSttus()));
+            }
+            State without = current.without(chargeId);
+            state = charge.map(without::with).orElse(without);
+        }
+    }
+
+    // this 로 잠근 상태에서 호출
+    private void markChanged(Long chargeId) {
+        if (changedDuringReload != null) {
+            changedDuringReload.add(chargeId);
+        }
+    }
+
+
+    /**
+     * 불변 상태 (지역별 배열 + 충전소 → 지역 색인)
+     */
+    private static final class State {
+
+        static final State EMPTY = new State(Collections.emptyMap(), LongObjectMap.empty());
+        private static final Comparator<ChargeMonitorDTO> BY_ID = Comparator.comparing(ChargeMonitorDTO::getChargeId);
+
+        final Map<String, ChargeMonitorDTO[]> regions;
+        final LongObjectMap<String> regionOf;
+
+        State(Map<String, ChargeMonitorDTO[]> regions, LongObjectMap<String> regionOf) {
+            this.regions = regions;
+            this.regionOf = regionOf;
+        }
+
+        // 센터가 없거나 이름이 없는 충전소는 어느 지역에도 안 보이므로 제외
+        static State of(List<ChargeMonitorDTO> rows) {
+            Map<String, List<ChargeMonitorDTO>> grouped = new HashMap<>();
+            LongObjectMap.Builder<String> index = new LongObjectMap.Builder<>(rows.size());
+            for (ChargeMonitorDTO row : rows) {
+                if (row.getCenterName() == null) {
+                    continue;
+                }
+                grouped.computeIfAbsent(row.getCenterName(), name -> new ArrayList<>()).add(row);
+                index.put(row.getChargeId(), row.getCenterName());
+            }
+            Map<String, ChargeMonitorDTO[]> regions = new HashMap<>(grouped.size() * 2);
+            grouped.forEach((name, charges) -> {
+                ChargeMonitorDTO[] array = charges.toArray(new ChargeMonitorDTO[0]);
+                Arrays.sort(array, BY_ID);
+                regions.put(name, array);
+            });
+            return new State(Collections.unmodifiableMap(regions), index.build());
+        }
+
+        // 자리/고장 값이 같으면 그대로
+        State withSttus(String regionName, ChargeSttusChangedEvent event) {
+            ChargeMonitorDTO[] charges = regions.get(regionName);
+            int i = indexOf(charges, event.getChargeId());
+            ChargeMonitorDTO old = charges[i];
+            if (Objects.equals(old.getFaultSttus(), event.getFaultSttus()) && Objects.equals(old.getSeatSttus(), event.getSeatSttus())) {
+                return this;
+            }
+            ChargeMonitorDTO[] copy = charges.clone();
+            copy[i] = new ChargeMonitorDTO(old.getChargeId(), old.getChargeNum(), old.getInstlLc(), old.getCompanyNm(),
+                    old.getModelNm(), old.getCenterName(), event.getFaultSttus(), event.getSeatSttus());
+            return withRegion(regionName, copy, regionOf);
+        }
+
+        // 없으면 null
+        ChargeMonitorDTO get(Long chargeId) {
+            String regionName = regionOf.get(chargeId);
+            if (regionName == null) {
+                return null;
+            }
+            ChargeMonitorDTO[] charges = regions.get(regionName);
+            return charges[indexOf(charges, chargeId)];
+        }
+
+        State with(ChargeMonitorDTO row) {
+            if (row.getCenterName() == null) {
+                return this;
+            }
+            ChargeMonitorDTO[] charges = regions.getOrDefault(row.getCenterName(), new ChargeMonitorDTO[0]);
+            ChargeMonitorDTO[] copy = Arrays.copyOf(charges, charges.length + 1);
+            copy[charges.length] = row;
+            Arrays.sort(copy, BY_ID);
+            return withRegion(row.getCenterName(), copy, regionOf.with(row.getChargeId(), row.getCenterName()));
+        }
+
+        State without(Long chargeId) {
+            String regionName = regionOf.get(chargeId);
+            if (regionName == null) {
+                return this;
+            }
+            ChargeMonitorDTO[] charges = regions.get(regionName);
+            int i = indexOf(charges, chargeId);
+            ChargeMonitorDTO[] copy = new ChargeMonitorDTO[charges.length - 1];
+            System.arraycopy(charges, 0, copy, 0, i);
+            System.arraycopy(charges, i + 1, copy, i, charges.length - i - 1);
+            return withRegion(regionName, copy.length == 0 ? null : copy, regionOf.without(chargeId));
+        }
+
+        // 한 지역 배열만 바꾼 새 상태 (charges 가 null 이면 지역 제거)
+        private State withRegion(String regionName, ChargeMonitorDTO[] charges, LongObjectMap<String> index) {
+            Map<String, ChargeMonitorDTO[]> copy = new HashMap<>(regions);
+            if (charges == null) {
+                copy.remove(regionName);
+            } else {
+                copy.put(regionName, charges);
+            }
+            return new State(Collections.unmodifiableMap(copy), index);
+        }
+
+        private static int indexOf(ChargeMonitorDTO[] charges, Long chargeId) {
+            for (int i = 0; i < charges.length; i++) {
+                if (charges[i].getChargeId().equals(chargeId)) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("스냅샷 색인 불일치 : " + chargeId);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package charge.station.monitor.service.plate;
+
+import charge.station.monitor.dto.rawdata.LicensePlateResponseDTO;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 번호판 인식 micro-batching
+ * 요청을 최대 batch-size 건 또는 linger-ms 동안 모아서 한번에 인식 요청 후 결과를 각 future 로 돌려준다.
+ * batch-size 가 1 이하면 모으지 않고 바로 단건 요청 (Flask 에 /process/batch 가 없으면 1로 유지).
+ */
+@Slf4j
+@Primary
+@Component
+public class BatchingPlateRecognizer implements PlateRecognizer, SmartLifecycle {
+
+    private final PlateRecognizer delegate;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread dispatcher;
+
+
+    public BatchingPlateRecognizer(@Qualifier("flaskPlateRecognizer") PlateRecognizer delegate,
+                                   @Value("${plate.recognizer.batch-size:1}") int batchSize,
+                                   @Value("${plate.recognizer.linger-ms:20}") long lingerMillis,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        Gauge.builder("plate.recognizer.queue", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+
+    @Override
+    public CompletableFuture<LicensePlateResponseDTO> recognize(StoredImageDTO image) {
+        if (batchSize <= 1 || !running) {
+            return delegate.recognize(image);
+        }
+        Pending pending = new Pending(image);
+        queue.add(pending);
+        return pending.result;
+    }
+
+    @Override
+    public CompletableFuture<List<LicensePlateResponseDTO>> recognizeAll(List<StoredImageDTO> images) {
+        return delegate.recognizeAll(images);
+    }
+
+
+    /**
+     * dispatcher 스레드 : 첫 요청이 들어온 시점부터 linger 동안 batch-size 까지 모은다
+     */
+    private void dispatchLoop() {
+        while (running || !queue.isEmpty()) {
+            List<Pending> batch = new ArrayList<>(batchSize);
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // 종료 신호 : 모아둔 요청은 보내고 남은 요청은 루프 조건에 따라 계속 비운다
+                running = false;
+            }
+            send(batch);
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (batch.size() == 1) {
+            Pending only = batch.get(0);
+            delegate.recognize(only.image).whenComplete((result, error) ->
+                    only.result.complete(error == null && result != null ? result : LicensePlateResponseDTO.unknownResult()));
+            return;
+        }
+
+        List<StoredImageDTO> images = batch.stream().map(p -> p.image).toList();
+        delegate.recognizeAll(images).whenComplete((results, error) -> {
+            if (error != null || results == null || results.size() != batch.size()) {
+                log.error("번호판 일괄 인식 결과 오류 : 요청 {}건, 응답 {}건", batch.size(), results == null ? 0 : results.size());
+            }
+            // 요청 순서대로 결과 분배 (응답이 모자라면 나머지는 unknown 처리)
+            for (int i = 0; i < batch.size(); i++) {
+                LicensePlateResponseDTO result = error == null && results != null && i < results.size() ? results.get(i) : null;
+                batch.get(i).result.complete(result != null ? result : LicensePlateResponseDTO.unknownResult());
+            }
+        });
+    }
+
+
+    @Override
+    public void start() {
+        if (batchSize <= 1 || running) {
+            return;
+        }
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "Plate-Batcher");
+        dispatcher.start();
+    }
+
+    @Override
+    public void stop() {
+        if (dispatcher == null) {
+            return;
+        }
+        running = false;
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dispatcher = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return dispatcher != null;
+    }
+
+    // 웹서버가 먼저 멈춘 뒤 남은 요청까지 보내고 종료
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+
+    private static final class Pending {
+        private final StoredImageDTO image;
+        private final CompletableFuture<LicensePlateResponseDTO> result = new CompletableFuture<>();
+
+        Pending(StoredImageDTO image) {
+            this.image = image;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package charge.station.monitor.service.plate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 간단한 circuit breaker
+ * 연속 실패가 failureThreshold 이상이면 openMillis 동안 요청 차단(OPEN),
+ * 이후 1건만 시험 요청(HALF_OPEN) → 성공하면 정상(CLOSED), 실패하면 다시 차단.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final long CLOSED_MARK = Long.MIN_VALUE;
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(CLOSED_MARK);
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+    }
+
+
+    /**
+     * 요청 가능 여부 (HALF_OPEN 에서는 시험 요청 1건만 통과)
+     */
+    public boolean tryAcquire() {
+        long opened = openedAt.get();
+        if (opened == CLOSED_MARK) {
+            return true;
+        }
+        if (System.nanoTime() - opened < openNanos) {
+            return false;
+        }
+        return trialInFlight.compareAndSet(false, true);
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(CLOSED_MARK);
+        trialInFlight.set(false);
+    }
+
+    public void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || trialInFlight.get()) {
+            openedAt.set(System.nanoTime());
+        }
+        trialInFlight.set(false);
+    }
+
+    public State getState() {
+        long opened = openedAt.get();
+        if (opened == CLOSED_MARK) {
+            return State.CLOSED;
+        }
+        return System.nanoTime() - opened < openNanos ? State.OPEN : State.HALF_OPEN;
+    }
+}
@@ -0,0 +1,170 @@
+package charge.station.monitor.service.plate;
+
+import charge.station.monitor.dto.rawdata.LicensePlateResponseDTO;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Flask 번호판 인식 서버 호출
+ * 단건 : POST /process {image_path(, offset, length)}
+ * 일괄 : POST /process/batch {images: [...]} → 요청 순서대로 결과 배열
+ *
+ * 동시 요청 수 제한(max-in-flight), 호출 시간 제한(timeout-ms), 연속 실패시 circuit breaker 로 차단.
+ * 실패/거절/차단은 모두 unknown 결과로 반환 (차량 없음으로 처리하지 않음).
+ */
+@Slf4j
+@Component
+public class FlaskPlateRecognizer implements PlateRecognizer {
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final long acquireTimeoutMillis;
+    private final Duration callTimeout;
+    private final CircuitBreaker circuitBreaker;
+
+
+    public FlaskPlateRecognizer(WebClient webClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${plate.recognizer.max-in-flight:32}") int maxInFlight,
+                                @Value("${plate.recognizer.acquire-timeout-ms:200}") long acquireTimeoutMillis,
+                                @Value("${plate.recognizer.timeout-ms:3000}") long timeoutMillis,
+                                @Value("${plate.recognizer.circuit.failure-threshold:5}") int failureThreshold,
+                                @Value("${plate.recognizer.circuit.open-ms:30000}") long openMillis) {
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.callTimeout = Duration.ofMillis(timeoutMillis);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMillis);
+
+        Gauge.builder("plate.recognizer.in-flight", inFlight, s -> maxInFlight - s.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("plate.recognizer.circuit.open", circuitBreaker,
+                        cb -> cb.getState() == CircuitBreaker.State.OPEN ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+
+    @Override
+    public CompletableFuture<LicensePlateResponseDTO> recognize(StoredImageDTO image) {
+        Mono<LicensePlateResponseDTO> request = webClient.post()
+                .uri("/process")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(toRequest(image))
+                .retrieve()
+                .bodyToMono(LicensePlateResponseDTO.class); // JSON 응답을 DTO로 변환
+
+        return call("single", request, LicensePlateResponseDTO.unknownResult());
+    }
+
+    @Override
+    public CompletableFuture<List<LicensePlateResponseDTO>> recognizeAll(List<StoredImageDTO> images) {
+        Map<String, Object> body = Map.of("images", images.stream().map(this::toRequest).toList());
+
+        Mono<List<LicensePlateResponseDTO>> request = webClient.post()
+                .uri("/process/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<List<LicensePlateResponseDTO>>() {});
+
+        // 빈 목록 → BatchingPlateRecognizer 에서 전부 unknown 처리
+        return call("batch", request, List.of());
+    }
+
+
+    /**
+     * 동시 요청 제한 → circuit breaker 확인 → 시간 제한 걸고 호출 (결과/지연시간 기록)
+     */
+    private <T> CompletableFuture<T> call(String type, Mono<T> request, T fallback) {
+        if (!acquirePermit()) {
+            rejected(type, "busy");
+            return CompletableFuture.completedFuture(fallback);
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            inFlight.release();
+            rejected(type, "open");
+            return CompletableFuture.completedFuture(fallback);
+        }
+
+        long start = System.nanoTime();
+        return request.timeout(callTimeout)
+                .toFuture()
+                .handle((result, error) -> {
+                    inFlight.release();
+                    String outcome;
+                    if (error == null && result != null) {
+                        circuitBreaker.onSuccess();
+                        outcome = "success";
+                    } else {
+                        circuitBreaker.onFailure();
+                        outcome = isTimeout(error) ? "timeout" : "error";
+                        log.error("Flask 서버 요청 실패 ({}, {}): {}", type, outcome, error == null ? "빈 응답" : error.getMessage());
+                    }
+                    Timer.builder("plate.recognizer.latency")
+                            .tag("type", type)
+                            .tag("outcome", outcome)
+                            .publishPercentiles(0.5, 0.95, 0.99)
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return "success".equals(outcome) ? result : fallback;
+                });
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return inFlight.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void rejected(String type, String reason) {
+        Counter.builder("plate.recognizer.rejected")
+                .tag("type", type)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private boolean isTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Map<String, Object> toRequest(StoredImageDTO image) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("image_path", image.getPath());
+        if (!image.isWholeFile()) {
+            // segment 저장시 파일 내 위치 전달
+            request.put("offset", image.getOffset());
+            request.put("length", image.getLength());
+        }
+        return request;
+    }
+}
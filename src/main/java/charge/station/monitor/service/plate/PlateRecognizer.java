@@ -0,0 +1,23 @@
+package charge.station.monitor.service.plate;
+
+import charge.station.monitor.dto.rawdata.LicensePlateResponseDTO;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 번호판 인식기
+ */
+public interface PlateRecognizer {
+
+    /**
+     * 이미지 1장 인식
+     */
+    CompletableFuture<LicensePlateResponseDTO> recognize(StoredImageDTO image);
+
+    /**
+     * 이미지 여러장 한번에 인식 (결과는 요청 순서대로)
+     */
+    CompletableFuture<List<LicensePlateResponseDTO>> recognizeAll(List<StoredImageDTO> images);
+}
@@ -0,0 +1,159 @@
+package charge.station.monitor.service.power;
+
+import charge.station.monitor.service.registry.LongObjectMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 전력 이상 감지 (충전소별 sliding window, 네트워크 호출 없음)
+ * 판정 규칙은 충전기 모델별로 PowerRuleEngine 에서 가져오고,
+ * 최근 window-ms 안에서 같은 규칙에 걸린 건수가 규칙의 alertCount 이상이면 감지 → 해당 규칙 기록은 초기화.
+ *
+ * 여러 서버로 운영시 snapshot.enabled=true : 주기적으로 변경된 window 를 Redis 에 저장하고
+ * 시작시 불러와서 재시작/서버 교체 후에도 window 가 이어지도록 한다.
+ */
+@Slf4j
+@Component
+public class AnomalyDetector {
+
+    private static final byte[] SNAPSHOT_KEY = "anomaly:window".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final PowerRuleEngine powerRuleEngine;
+    private final long windowMillis;
+    private final int capacity;
+    private final boolean snapshotEnabled;
+
+    private volatile LongObjectMap<PowerWindow> windows = LongObjectMap.empty();
+
+
+    public AnomalyDetector(RedisTemplate<String, Object> redisTemplate,
+                           PowerRuleEngine powerRuleEngine,
+                           @Value("${rawdata.anomaly.window-ms:120000}") long windowMillis,
+                           @Value("${rawdata.anomaly.capacity:64}") int capacity,
+                           @Value("${rawdata.anomaly.snapshot.enabled:false}") boolean snapshotEnabled) {
+        this.redisTemplate = redisTemplate;
+        this.powerRuleEngine = powerRuleEngine;
+        this.windowMillis = windowMillis;
+        this.capacity = capacity;
+        this.snapshotEnabled = snapshotEnabled;
+    }
+
+
+    /**
+     * 전력값 1건 반영 후 감지된 이상 종류(FireAlertHistory.type) 반환, 없으면 빈 목록
+     */
+    public List<String> detect(long chargeId, String modelNm, long timeMillis, double previousPower, double currentPower) {
+        RuleChain chain = powerRuleEngine.chain(modelNm);
+        PowerWindow window = window(chargeId);
+        synchronized (window) {
+            if (window.chain != chain) {
+                if (window.chain != null) {
+                    window.clear(-1); // 규칙이 바뀌면 bit 의미가 달라지므로 기존 flag 초기화
+                }
+                window.chain = chain;
+            }
+            int flag = chain.evaluate(window, previousPower, currentPower);
+            window.add(timeMillis, currentPower, flag);
+            if (flag == 0) {
+                return List.of();
+            }
+
+            List<String> detected = null;
+            long from = timeMillis - windowMillis;
+            for (CompiledRule rule : chain.rules) {
+                if ((flag & rule.bit) != 0 && window.count(from, rule.bit) >= rule.alertCount) {
+                    window.clear(rule.bit); // 감지 후 초기화
+                    if (detected == null) {
+                        detected = new ArrayList<>(1);
+                    }
+                    detected.add(rule.code);
+                }
+            }
+            return detected == null ? List.of() : detected;
+        }
+    }
+
+
+    private PowerWindow window(long chargeId) {
+        PowerWindow window = windows.get(chargeId);
+        if (window != null) {
+            return window;
+        }
+        synchronized (this) {
+            window = windows.get(chargeId);
+            if (window == null) {
+                window = new PowerWindow(capacity);
+                windows = windows.with(chargeId, window);
+            }
+            return window;
+        }
+    }
+
+
+    /**
+     * snapshot 저장 : 변경된 window 만 Redis hash(anomaly:window) 에 raw bytes 로 저장
+     */
+    @Scheduled(fixedDelayString = "${rawdata.anomaly.snapshot.interval-ms:5000}")
+    public void snapshot() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        Map<byte[], byte[]> changed = new HashMap<>();
+        windows.forEach((chargeId, window) -> {
+            synchronized (window) {
+                if (window.isDirty()) {
+                    changed.put(Long.toString(chargeId).getBytes(StandardCharsets.UTF_8), window.toBytes());
+                    window.markClean();
+                }
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        redisTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.hashCommands().hMSet(SNAPSHOT_KEY, changed);
+            return null;
+        });
+    }
+
+    /**
+     * 시작시 snapshot 불러오기 (이미 만들어진 window 와 합침)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        if (!snapshotEnabled) {
+            return;
+        }
+        Map<byte[], byte[]> saved = redisTemplate.execute(
+                (RedisCallback<Map<byte[], byte[]>>) connection -> connection.hashCommands().hGetAll(SNAPSHOT_KEY));
+        if (saved == null || saved.isEmpty()) {
+            return;
+        }
+        LongObjectMap.Builder<PowerWindow> restored = new LongObjectMap.Builder<>(saved.size());
+        saved.forEach((field, bytes) ->
+                restored.put(Long.parseLong(new String(field, StandardCharsets.UTF_8)), PowerWindow.fromBytes(bytes, capacity)));
+        LongObjectMap<PowerWindow> snapshot = restored.build();
+        synchronized (this) {
+            // 불러오는 동안 이미 전력값을 받은 충전소는 지금 window 유지 (뒤에 넣은 값이 우선)
+            LongObjectMap<PowerWindow> current = windows;
+            LongObjectMap.Builder<PowerWindow> builder = new LongObjectMap.Builder<>(snapshot.size() + current.size());
+            snapshot.forEach(builder::put);
+            current.forEach(builder::put);
+            windows = builder.build();
+        }
+        log.info("전력 이상 감지 window 복원 : {}건", saved.size());
+    }
+}
@@ -0,0 +1,88 @@
+package charge.station.monitor.service.power;
+
+import charge.station.monitor.service.registry.LongObjectMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 충전중 판단 (충전소별 상태, 메모리에서 처리)
+ * 시작/종료 기준 전력을 따로 두고(on-power 이상 → 충전, off-power 미만 → 종료),
+ * 바뀐 상태가 dwell-ms 이상(측정시간 기준) 유지되어야 확정 → 기준값 부근에서 오르내려도 상태가 계속 바뀌지 않는다.
+ */
+@Component
+public class ChargingStateMachine {
+
+    public enum Transition {
+        NONE, START, STOP
+    }
+
+    private static final long NO_CANDIDATE = Long.MIN_VALUE;
+
+    private final double onPower;
+    private final double offPower;
+    private final long dwellMillis;
+
+    private volatile LongObjectMap<State> states = LongObjectMap.empty();
+
+
+    public ChargingStateMachine(@Value("${rawdata.charging.on-power:10}") double onPower,
+                                @Value("${rawdata.charging.off-power:8}") double offPower,
+                                @Value("${rawdata.charging.dwell-ms:30000}") long dwellMillis) {
+        this.onPower = onPower;
+        this.offPower = Math.min(offPower, onPower);
+        this.dwellMillis = dwellMillis;
+    }
+
+
+    /**
+     * 전력값 1건 반영 후 확정된 상태 변화 반환
+     * charging : db 에 저장된 현재 충전 상태 (입/출차 처리에서 바뀐 경우 맞춰줌)
+     */
+    public Transition update(long chargeId, boolean charging, long timeMillis, double power) {
+        State state = state(chargeId);
+        synchronized (state) {
+            if (state.charging != charging) {
+                state.charging = charging;
+                state.candidateSince = NO_CANDIDATE;
+            }
+
+            boolean next = charging ? power >= offPower : power >= onPower;
+            if (next == charging) {
+                state.candidateSince = NO_CANDIDATE;
+                return Transition.NONE;
+            }
+            if (state.candidateSince == NO_CANDIDATE) {
+                state.candidateSince = timeMillis;
+            }
+            if (timeMillis - state.candidateSince < dwellMillis) {
+                return Transition.NONE; // 아직 확정 전
+            }
+
+            state.charging = next;
+            state.candidateSince = NO_CANDIDATE;
+            return next ? Transition.START : Transition.STOP;
+        }
+    }
+
+
+    private State state(long chargeId) {
+        State state = states.get(chargeId);
+        if (state != null) {
+            return state;
+        }
+        synchronized (this) {
+            state = states.get(chargeId);
+            if (state == null) {
+                state = new State();
+                states = states.with(chargeId, state);
+            }
+            return state;
+        }
+    }
+
+
+    private static final class State {
+        boolean charging;
+        long candidateSince = NO_CANDIDATE;  // 바뀐 상태가 처음 측정된 시간
+    }
+}
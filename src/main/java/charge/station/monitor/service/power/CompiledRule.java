@@ -0,0 +1,167 @@
+package charge.station.monitor.service.power;
+
+import charge.station.monitor.domain.PowerRule;
+
+/**
+ * 판정용으로 변환된 이상 감지 규칙 (전력값 1건마다 호출, 객체 생성 없음)
+ * window 에는 아직 현재 전력값이 들어가기 전 상태로 전달된다.
+ */
+abstract class CompiledRule {
+
+    final String code;
+    final int bit;
+    final int alertCount;
+
+
+    CompiledRule(String code, int bit, int alertCount) {
+        this.code = code;
+        this.bit = bit;
+        this.alertCount = alertCount;
+    }
+
+    abstract boolean test(PowerWindow window, double previousPower, double currentPower);
+
+
+    static CompiledRule compile(PowerRule rule, int bit) {
+        double threshold = rule.getThreshold();
+        int samples = rule.getSamples() != null ? rule.getSamples() : 10;
+        return switch (rule.getRuleType()) {
+            case THRESHOLD -> new Threshold(rule.getCode(), bit, rule.getAlertCount(), threshold);
+            case RATE -> new Rate(rule.getCode(), bit, rule.getAlertCount(), threshold);
+            case HYSTERESIS -> new Hysteresis(rule.getCode(), bit, rule.getAlertCount(),
+                    rule.getLowThreshold() != null ? rule.getLowThreshold() : threshold, threshold);
+            case ROLLING_MEAN -> new RollingMean(rule.getCode(), bit, rule.getAlertCount(), threshold, samples);
+            case ROLLING_STDDEV -> new RollingStddev(rule.getCode(), bit, rule.getAlertCount(), threshold, samples);
+            case Z_SCORE -> new ZScore(rule.getCode(), bit, rule.getAlertCount(), threshold, samples);
+        };
+    }
+
+
+    // 전력값 > threshold
+    static final class Threshold extends CompiledRule {
+        private final double threshold;
+
+        Threshold(String code, int bit, int alertCount, double threshold) {
+            super(code, bit, alertCount);
+            this.threshold = threshold;
+        }
+
+        @Override
+        boolean test(PowerWindow window, double previousPower, double currentPower) {
+            return currentPower > threshold;
+        }
+    }
+
+    // 직전 대비 변화율(%) > threshold
+    static final class Rate extends CompiledRule {
+        private final double percent;
+
+        Rate(String code, int bit, int alertCount, double percent) {
+            super(code, bit, alertCount);
+            this.percent = percent;
+        }
+
+        @Override
+        boolean test(PowerWindow window, double previousPower, double currentPower) {
+            return previousPower > 0 && Math.abs((currentPower - previousPower) / previousPower) * 100 > percent;
+        }
+    }
+
+    // low 아래에서 high 이상으로, 또는 high 이상에서 low 아래로 넘어감 (사이 구간은 무시)
+    static final class Hysteresis extends CompiledRule {
+        private final double low;
+        private final double high;
+
+        Hysteresis(String code, int bit, int alertCount, double low, double high) {
+            super(code, bit, alertCount);
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        boolean test(PowerWindow window, double previousPower, double currentPower) {
+            return (previousPower < low && currentPower >= high) || (previousPower >= high && currentPower < low);
+        }
+    }
+
+    // 최근 samples 건(현재 포함) 평균 > threshold
+    static final class RollingMean extends CompiledRule {
+        private final double threshold;
+        private final int samples;
+
+        RollingMean(String code, int bit, int alertCount, double threshold, int samples) {
+            super(code, bit, alertCount);
+            this.threshold = threshold;
+            this.samples = samples;
+        }
+
+        @Override
+        boolean test(PowerWindow window, double previousPower, double currentPower) {
+            int n = Math.min(samples - 1, window.size());
+            double sum = currentPower;
+            for (int i = 0; i < n; i++) {
+                sum += window.power(i);
+            }
+            return sum / (n + 1) > threshold;
+        }
+    }
+
+    // 최근 samples 건(현재 포함) 표준편차 > threshold
+    static final class RollingStddev extends CompiledRule {
+        private final double threshold;
+        private final int samples;
+
+        RollingStddev(String code, int bit, int alertCount, double threshold, int samples) {
+            super(code, bit, alertCount);
+            this.threshold = threshold;
+            this.samples = samples;
+        }
+
+        @Override
+        boolean test(PowerWindow window, double previousPower, double currentPower) {
+            int n = Math.min(samples - 1, window.size());
+            if (n < 1) {
+                return false;
+            }
+            double sum = currentPower;
+            double sumSq = currentPower * currentPower;
+            for (int i = 0; i < n; i++) {
+                double p = window.power(i);
+                sum += p;
+                sumSq += p * p;
+            }
+            double mean = sum / (n + 1);
+            return Math.sqrt(Math.max(0, sumSq / (n + 1) - mean * mean)) > threshold;
+        }
+    }
+
+    // 직전 samples 건 평균/표준편차 기준 현재값의 |z| > threshold
+    static final class ZScore extends CompiledRule {
+        private final double threshold;
+        private final int samples;
+
+        ZScore(String code, int bit, int alertCount, double threshold, int samples) {
+            super(code, bit, alertCount);
+            this.threshold = threshold;
+            this.samples = samples;
+        }
+
+        @Override
+        boolean test(PowerWindow window, double previousPower, double currentPower) {
+            int n = Math.min(samples, window.size());
+            if (n < 2) {
+                return false;
+            }
+            double sum = 0;
+            double sumSq = 0;
+            for (int i = 0; i < n; i++) {
+                double p = window.power(i);
+                sum += p;
+                sumSq += p * p;
+            }
+            double mean = sum / n;
+            double std = Math.sqrt(Math.max(0, sumSq / n - mean * mean));
+            return std > 0 && Math.abs(currentPower - mean) / std > threshold;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package charge.station.monitor.service.power;
+
+import charge.station.monitor.domain.PowerRollupResolution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 전력 집계 (raw_data_power → power_rollup 1분 → 15분 → 1시간, MariaDB)
+ * 주기적으로 마지막 집계 이후 구간을 다시 집계해서 upsert 한다. 구간 전체를 다시 계산하므로 여러번 실행해도 같은 결과이고,
+ * 늦게 들어온 측정값(late-ms 이내)도 다음 실행때 반영된다.
+ * 그보다 늦게 저장된 측정값(일괄 전송의 예전 측정시간, 큐에서 늦게 저장된 값)은 markWritten 으로 해당 1시간 구간을 기록해두고 다음 실행때 다시 집계.
+ * (기록은 메모리, 재시작하면 catch-up 구간만 다시 집계)
+ * 구간 계산은 시간대 변환 없이 DATETIME 값 그대로 (PowerRollupResolution.floor 와 같은 기준).
+ * 보관기간이 지난 원시 데이터와 1분 집계는 매일 새벽 나눠서 삭제.
+ */
+@Slf4j
+@Component
+public class PowerRollupJob {
+
+    private static final Duration CHUNK = Duration.ofHours(1);  // 한번에 집계하는 원시 데이터 구간
+    private static final int DELETE_CHUNK = 10000;
+
+    // 원시 데이터 → 1분 (마지막 값은 측정시간 역순 첫번째 값)
+    private static final String ROLLUP_RAW_SQL =
+            "INSERT INTO power_rollup (charge_id, resolution, bucket_time, min_power, max_power, sum_power, sample_count, last_power, last_time) " +
+            "SELECT charge_id, ?, " + bucket("record_time") + " AS bucket, " +
+            "MIN(power), MAX(power), SUM(power), COUNT(*), " +
+            "SUBSTRING_INDEX(GROUP_CONCAT(power ORDER BY record_time DESC), ',', 1) + 0, MAX(record_time) " +
+            "FROM raw_data_power WHERE record_time >= ? AND record_time < ? " +
+            "GROUP BY charge_id, bucket " +
+            "ON DUPLICATE KEY UPDATE min_power = VALUES(min_power), max_power = VALUES(max_power), sum_power = VALUES(sum_power), " +
+            "sample_count = VALUES(sample_count), last_power = VALUES(last_power), last_time = VALUES(last_time)";
+
+    // 하위 집계 → 상위 집계
+    private static final String ROLLUP_TIER_SQL =
+            "INSERT INTO power_rollup (charge_id, resolution, bucket_time, min_power, max_power, sum_power, sample_count, last_power, last_time) " +
+            "SELECT charge_id, ?, " + bucket("bucket_time") + " AS bucket, " +
+            "MIN(min_power), MAX(max_power), SUM(sum_power), SUM(sample_count), " +
+            "SUBSTRING_INDEX(GROUP_CONCAT(last_power ORDER BY last_time DESC), ',', 1) + 0, MAX(last_time) " +
+            "FROM power_rollup WHERE resolution = ? AND bucket_time >= ? AND bucket_time < ? " +
+            "GROUP BY charge_id, bucket " +
+            "ON DUPLICATE KEY UPDATE min_power = VALUES(min_power), max_power = VALUES(max_power), sum_power = VALUES(sum_power), " +
+            "sample_count = VALUES(sample_count), last_power = VALUES(last_power), last_time = VALUES(last_time)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Duration lateness;
+    private final int rawRetentionDays;
+    private final int minuteRetentionDays;
+
+    private LocalDateTime rolledUpTo;  // 여기까지 집계 완료 (메모리, 재시작시 catch-up 구간부터)
+    private volatile LocalDateTime lateBefore;  // 이보다 이전 측정값은 다음 주기 집계 범위 밖 → 구간 따로 기록
+    private final Set<LocalDateTime> dirtyHours = ConcurrentHashMap.newKeySet();
+
+
+    public PowerRollupJob(JdbcTemplate jdbcTemplate,
+                          @Value("${rawdata.rollup.enabled:true}") boolean enabled,
+                          @Value("${rawdata.rollup.late-ms:600000}") long lateMillis,
+                          @Value("${rawdata.rollup.catch-up-hours:24}") int catchUpHours,
+                          @Value("${rawdata.power.retention-days:30}") int rawRetentionDays,
+                          @Value("${rawdata.rollup.minute-retention-days:180}") int minuteRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.lateness = Duration.ofMillis(lateMillis);
+        this.rawRetentionDays = rawRetentionDays;
+        this.minuteRetentionDays = minuteRetentionDays;
+        this.rolledUpTo = LocalDateTime.now().minusHours(catchUpHours);
+        this.lateBefore = rolledUpTo.minus(lateness);
+    }
+
+
+    /**
+     * 원시 데이터 저장 후 호출 (커밋 후) : 다음 주기 집계 범위보다 이전 측정값이면 그 1시간 구간을 다시 집계 대상으로
+     */
+    public void markWritten(LocalDateTime recordTime) {
+        if (recordTime.isBefore(lateBefore)) {
+            dirtyHours.add(PowerRollupResolution.HOUR.floor(recordTime));
+        }
+    }
+
+
+    /**
+     * 주기적 집계 : (마지막 집계 - late-ms) ~ 현재 1분 구간 시작 전까지 + 늦게 저장된 구간
+     */
+    @Scheduled(fixedDelayString = "${rawdata.rollup.interval-ms:60000}", initialDelayString = "${rawdata.rollup.interval-ms:60000}")
+    public synchronized void rollup() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime to = PowerRollupResolution.MINUTE.floor(LocalDateTime.now());
+        LocalDateTime from = rolledUpTo.minus(lateness);
+        // 조회 전에 기준을 옮겨둠 : 이후 커밋된 값 중 다음 주기 범위(to - late-ms) 밖인 것은 markWritten 에서 기록됨
+        lateBefore = to.minus(lateness);
+        try {
+            rollup(from, to);
+            rolledUpTo = to;
+        } catch (DataAccessException e) {
+            log.error("전력 집계 실패 : {} ~ {} ({})", from, to, e.getMessage());
+        }
+        rollupDirty();
+    }
+
+    // 늦게 저장된 1시간 구간 다시 집계 (실패하면 다음 주기에 다시)
+    private void rollupDirty() {
+        for (LocalDateTime hour : List.copyOf(dirtyHours)) {
+            dirtyHours.remove(hour);
+            try {
+                rollup(hour, hour.plusHours(1));
+                log.debug("늦게 저장된 전력 데이터 재집계 : {}", hour);
+            } catch (DataAccessException e) {
+                dirtyHours.add(hour);
+                log.error("늦게 저장된 전력 데이터 재집계 실패 : {} ({})", hour, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * from ~ to 구간 집계 (from 이 걸친 구간은 처음부터 다시 계산)
+     */
+    public void rollup(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime minuteFrom = PowerRollupResolution.MINUTE.floor(from);
+        for (LocalDateTime start = minuteFrom; start.isBefore(to); start = start.plus(CHUNK)) {
+            LocalDateTime end = start.plus(CHUNK).isBefore(to) ? start.plus(CHUNK) : to;
+            int seconds = PowerRollupResolution.MINUTE.getSeconds();
+            jdbcTemplate.update(ROLLUP_RAW_SQL, PowerRollupResolution.MINUTE.name(), seconds, seconds, start, end);
+        }
+        rollupTier(PowerRollupResolution.QUARTER, PowerRollupResolution.MINUTE, minuteFrom, to);
+        rollupTier(PowerRollupResolution.HOUR, PowerRollupResolution.QUARTER, PowerRollupResolution.QUARTER.floor(minuteFrom), to);
+    }
+
+    private void rollupTier(PowerRollupResolution target, PowerRollupResolution source, LocalDateTime from, LocalDateTime to) {
+        int seconds = target.getSeconds();
+        jdbcTemplate.update(ROLLUP_TIER_SQL, target.name(), seconds, seconds, source.name(), target.floor(from), to);
+    }
+
+
+    // column 이 속한 구간 시작 (DATETIME 그대로 계산, 파라미터 : 구간 초 2개)
+    private static String bucket(String column) {
+        return "DATE_ADD(TIMESTAMP'1970-01-01 00:00:00', INTERVAL FLOOR(TIMESTAMPDIFF(SECOND, TIMESTAMP'1970-01-01 00:00:00', " + column + ") / ?) * ? SECOND)";
+    }
+
+
+    /**
+     * 보관기간 정리 (0 이하면 삭제하지 않음, 15분/1시간 집계는 계속 보관)
+     */
+    @Scheduled(cron = "${rawdata.rollup.retention-cron:0 0 4 * * *}")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (rawRetentionDays > 0) {
+                LocalDateTime cutoff = LocalDateTime.now().minusDays(rawRetentionDays);
+                int deleted = deleteInChunks("DELETE FROM raw_data_power WHERE record_time < ? LIMIT " + DELETE_CHUNK, cutoff);
+                log.info("보관기간 지난 전력 원시 데이터 삭제 : {}건 ({} 이전)", deleted, cutoff);
+            }
+            if (minuteRetentionDays > 0) {
+                LocalDateTime cutoff = LocalDateTime.now().minusDays(minuteRetentionDays);
+                int deleted = deleteInChunks("DELETE FROM power_rollup WHERE resolution = 'MINUTE' AND bucket_time < ? LIMIT " + DELETE_CHUNK, cutoff);
+                log.info("보관기간 지난 1분 전력 집계 삭제 : {}건 ({} 이전)", deleted, cutoff);
+            }
+        } catch (DataAccessException e) {
+            log.error("전력 데이터 보관기간 정리 실패 : {}", e.getMessage());
+        }
+    }
+
+    // 한번에 지우면 락/undo 가 커지므로 나눠서 삭제
+    private int deleteInChunks(String sql, LocalDateTime cutoff) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(sql, cutoff);
+            total += deleted;
+        } while (deleted == DELETE_CHUNK);
+        return total;
+    }
+}
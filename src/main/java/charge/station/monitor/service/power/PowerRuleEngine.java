@@ -0,0 +1,127 @@
+package charge.station.monitor.service.power;
+
+import charge.station.monitor.domain.PowerRule;
+import charge.station.monitor.domain.PowerRuleType;
+import charge.station.monitor.repository.PowerRuleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 충전기 모델별 이상 감지 규칙 (power_rule 테이블)
+ * 주기적으로 다시 읽어서 판정용 RuleChain 으로 변환 → 규칙 추가/수정시 재배포 불필요.
+ * 등록된 규칙이 없으면 기본 규칙(과전력/급변/충전 시작·종료 반복) 사용.
+ * 기본 fluctuation 은 ChargingStateMachine 과 같은 구간(off-power 아래 ↔ on-power 이상)이라 기준 전력 부근에서 흔들리는 값은 감지하지 않음.
+ */
+@Slf4j
+@Component
+public class PowerRuleEngine {
+
+    private final PowerRuleRepository powerRuleRepository;
+    private final RuleChain defaultChain;
+
+    private volatile RuleChain commonChain;
+    private volatile Map<String, RuleChain> modelChains = Map.of();
+    private String loadedSignature = "";
+
+
+    public PowerRuleEngine(PowerRuleRepository powerRuleRepository,
+                           @Value("${rawdata.charging.on-power:10}") double onPower,
+                           @Value("${rawdata.charging.off-power:8}") double offPower) {
+        this.powerRuleRepository = powerRuleRepository;
+        this.defaultChain = compile(List.of(
+                PowerRule.builder().code("overcurrent").ruleType(PowerRuleType.THRESHOLD).threshold(40).build(),  // 과전력
+                PowerRule.builder().code("spike").ruleType(PowerRuleType.RATE).threshold(50).build(),             // 급변 비율(%)
+                PowerRule.builder().code("fluctuation").ruleType(PowerRuleType.HYSTERESIS).threshold(onPower).lowThreshold(offPower).build()  // 충전 시작/종료 반복
+        ));
+        this.commonChain = defaultChain;
+    }
+
+
+    /**
+     * 모델에 해당하는 규칙 묶음 (모델 전용 규칙이 없으면 공통)
+     */
+    RuleChain chain(String modelNm) {
+        if (modelNm == null) {
+            return commonChain;
+        }
+        return modelChains.getOrDefault(modelNm, commonChain);
+    }
+
+
+    /**
+     * 규칙 다시 읽기 (시작시 + 주기적)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${rawdata.rule.reload-interval-ms:60000}", initialDelayString = "${rawdata.rule.reload-interval-ms:60000}")
+    public synchronized void reload() {
+        List<PowerRule> rules = powerRuleRepository.findByEnabledTrueOrderByPowerRuleId();
+
+        // 바뀐 게 없으면 그대로 (RuleChain 이 바뀌면 감지중이던 window 기록이 초기화됨)
+        String signature = signature(rules);
+        if (signature.equals(loadedSignature)) {
+            return;
+        }
+        loadedSignature = signature;
+        if (rules.isEmpty()) {
+            commonChain = defaultChain;
+            modelChains = Map.of();
+            return;
+        }
+
+        // 공통 규칙, 모델별 규칙 (같은 code 는 모델 전용 규칙이 덮어씀)
+        Map<String, PowerRule> common = new LinkedHashMap<>();
+        Map<String, Map<String, PowerRule>> byModel = new HashMap<>();
+        for (PowerRule rule : rules) {
+            if (rule.getModelNm() == null) {
+                common.put(rule.getCode(), rule);
+            } else {
+                byModel.computeIfAbsent(rule.getModelNm(), m -> new LinkedHashMap<>()).put(rule.getCode(), rule);
+            }
+        }
+
+        Map<String, RuleChain> chains = new HashMap<>();
+        byModel.forEach((modelNm, modelRules) -> {
+            Map<String, PowerRule> merged = new LinkedHashMap<>(common);
+            merged.putAll(modelRules);
+            chains.put(modelNm, compile(new ArrayList<>(merged.values())));
+        });
+
+        commonChain = common.isEmpty() ? defaultChain : compile(new ArrayList<>(common.values()));
+        modelChains = chains;
+        log.info("전력 이상 감지 규칙 적재 : {}건 (모델별 {}종)", rules.size(), chains.size());
+    }
+
+
+    private static String signature(List<PowerRule> rules) {
+        StringBuilder sb = new StringBuilder();
+        for (PowerRule rule : rules) {
+            sb.append(rule.getPowerRuleId()).append(',').append(rule.getModelNm()).append(',')
+                    .append(rule.getCode()).append(',').append(rule.getRuleType()).append(',')
+                    .append(rule.getThreshold()).append(',').append(rule.getLowThreshold()).append(',')
+                    .append(rule.getSamples()).append(',').append(rule.getAlertCount()).append(';');
+        }
+        return sb.toString();
+    }
+
+    private static RuleChain compile(List<PowerRule> rules) {
+        if (rules.size() > RuleChain.MAX_RULES) {
+            log.warn("전력 이상 감지 규칙은 모델당 최대 {}개, 초과분 무시", RuleChain.MAX_RULES);
+            rules = rules.subList(0, RuleChain.MAX_RULES);
+        }
+        CompiledRule[] compiled = new CompiledRule[rules.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = CompiledRule.compile(rules.get(i), 1 << i);
+        }
+        return new RuleChain(compiled);
+    }
+}
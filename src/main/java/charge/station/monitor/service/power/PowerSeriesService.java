@@ -0,0 +1,155 @@
+package charge.station.monitor.service.power;
+
+import charge.station.monitor.domain.PowerRollupResolution;
+import charge.station.monitor.dto.error.CustomException;
+import charge.station.monitor.dto.power.PowerPointDTO;
+import charge.station.monitor.dto.power.PowerSeriesResponseDTO;
+import charge.station.monitor.service.registry.ChargeRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 전력 그래프 조회 (서버에서 min/max 구간으로 줄여서 반환)
+ * 요청 기간 / 점 개수로 구간 길이를 정하고, 구간보다 작은 집계 단위 중 가장 큰 것(없으면 원시 데이터)을 읽는다.
+ * 엔티티로 읽지 않고 정렬된 행을 앞에서부터 한번만 읽으면서 구간별로 합친다. (메모리는 결과 점 개수만큼)
+ */
+@Service
+public class PowerSeriesService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final PowerRollupResolution[] TIERS_DESC = {
+            PowerRollupResolution.HOUR, PowerRollupResolution.QUARTER, PowerRollupResolution.MINUTE
+    };
+
+    private static final String RAW_SQL =
+            "SELECT record_time, power, power, power, 1 FROM raw_data_power " +
+            "WHERE charge_id = ? AND record_time >= ? AND record_time < ? ORDER BY record_time";
+    private static final String ROLLUP_SQL =
+            "SELECT bucket_time, min_power, max_power, sum_power, sample_count FROM power_rollup " +
+            "WHERE charge_id = ? AND resolution = ? AND bucket_time >= ? AND bucket_time < ? ORDER BY bucket_time";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChargeRegistry chargeRegistry;
+    private final int maxPoints;
+
+
+    public PowerSeriesService(DataSource dataSource,
+                              ChargeRegistry chargeRegistry,
+                              @Value("${monitor.power.max-points:5000}") int maxPoints) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE); // 결과를 한번에 메모리에 올리지 않고 나눠서 읽기
+        this.chargeRegistry = chargeRegistry;
+        this.maxPoints = maxPoints;
+    }
+
+
+    /**
+     * 충전소 전력 그래프 (from 이상 to 미만, 최대 points 개 구간)
+     * 집계를 읽을 때는 from 을 집계 경계로 내려서 읽으므로 첫 점 시각이 from 보다 앞설 수 있다. (최대 points + 1 개)
+     */
+    public PowerSeriesResponseDTO series(Long chargeId, LocalDateTime from, LocalDateTime to, int points) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new CustomException("조회 기간이 올바르지 않습니다.", HttpStatus.BAD_REQUEST, 400);
+        }
+        if (points < 1 || points > maxPoints) {
+            throw new CustomException("점 개수는 1 ~ " + maxPoints + " 사이여야 합니다.", HttpStatus.BAD_REQUEST, 400);
+        }
+        if (!chargeRegistry.contains(chargeId)) {
+            throw new CustomException("유효하지 않은 충전소 정보입니다 : " + chargeId, HttpStatus.NOT_FOUND, 404);
+        }
+
+        // 구간 길이 (초 단위 올림, 최소 1초)
+        long spanSeconds = Duration.between(from, to).getSeconds();
+        long bucketSeconds = Math.max(1, (spanSeconds + points - 1) / points);
+        PowerRollupResolution tier = tierFor(bucketSeconds);
+        LocalDateTime start = from;
+        if (tier != null) {
+            // 집계 구간 경계에 맞춤 (한 집계가 두 점에 나뉘지 않도록)
+            bucketSeconds = (bucketSeconds + tier.getSeconds() - 1) / tier.getSeconds() * tier.getSeconds();
+            // 시작도 집계 경계로 내림 (from 앞의 집계 행이 첫 점 시각을 from 으로 잘못 달지 않도록)
+            start = tier.floor(from);
+        }
+
+        // 시작을 내린 만큼 앞쪽에 점이 하나 더 생길 수 있음
+        BucketFolder folder = new BucketFolder(start, bucketSeconds, points + 1);
+        if (tier == null) {
+            jdbcTemplate.query(RAW_SQL, folder, chargeId, start, to);
+        } else {
+            jdbcTemplate.query(ROLLUP_SQL, folder, chargeId, tier.name(), start, to);
+        }
+        return new PowerSeriesResponseDTO(chargeId, tier != null ? tier.name() : "RAW", bucketSeconds, folder.finish());
+    }
+
+    private static PowerRollupResolution tierFor(long bucketSeconds) {
+        for (PowerRollupResolution tier : TIERS_DESC) {
+            if (tier.getSeconds() <= bucketSeconds) {
+                return tier;
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * 시간순 행(시간, 최소, 최대, 합계, 건수)을 구간별로 합치기
+     */
+    private static final class BucketFolder implements RowCallbackHandler {
+        private final LocalDateTime from;
+        private final long bucketSeconds;
+        private final List<PowerPointDTO> result;
+
+        private long bucket = -1;
+        private double min;
+        private double max;
+        private double sum;
+        private long count;
+
+        BucketFolder(LocalDateTime from, long bucketSeconds, int points) {
+            this.from = from;
+            this.bucketSeconds = bucketSeconds;
+            this.result = new ArrayList<>(points);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Timestamp time = rs.getTimestamp(1);
+            long index = Duration.between(from, time.toLocalDateTime()).getSeconds() / bucketSeconds;
+            if (index != bucket) {
+                flush();
+                bucket = index;
+                min = Double.MAX_VALUE;
+                max = -Double.MAX_VALUE;
+                sum = 0;
+                count = 0;
+            }
+            min = Math.min(min, rs.getDouble(2));
+            max = Math.max(max, rs.getDouble(3));
+            sum += rs.getDouble(4);
+            count += rs.getLong(5);
+        }
+
+        List<PowerPointDTO> finish() {
+            flush();
+            return result;
+        }
+
+        private void flush() {
+            if (bucket < 0 || count == 0) {
+                return;
+            }
+            result.add(new PowerPointDTO(from.plusSeconds(bucket * bucketSeconds), min, max, sum / count));
+        }
+    }
+}
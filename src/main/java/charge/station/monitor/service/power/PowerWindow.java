@@ -0,0 +1,109 @@
+package charge.station.monitor.service.power;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 충전소 1곳의 최근 전력값 ring buffer (박싱 없는 배열)
+ * 측정시간, 전력값, 이상 감지 flag(bit) 를 최근 capacity 건까지 보관한다.
+ */
+final class PowerWindow {
+
+    private final long[] times;
+    private final double[] powers;
+    private final int[] flags;
+    private int head;  // 다음에 쓸 위치
+    private int size;
+    private volatile boolean dirty;
+    RuleChain chain;  // flag bit 를 매긴 규칙 묶음 (규칙 변경시 flag 초기화)
+
+
+    PowerWindow(int capacity) {
+        this.times = new long[capacity];
+        this.powers = new double[capacity];
+        this.flags = new int[capacity];
+    }
+
+
+    void add(long time, double power, int flag) {
+        times[head] = time;
+        powers[head] = power;
+        flags[head] = flag;
+        head = (head + 1) % times.length;
+        if (size < times.length) {
+            size++;
+        }
+        dirty = true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * back 번째 이전 전력값 (0 : 가장 최근)
+     */
+    double power(int back) {
+        return powers[(head - 1 - back + times.length) % times.length];
+    }
+
+    /**
+     * from 이후(포함) 측정값 중 bit 가 표시된 건수
+     */
+    int count(long from, int bit) {
+        int count = 0;
+        for (int i = 0, idx = head; i < size; i++) {
+            idx = idx == 0 ? times.length - 1 : idx - 1; // 최신부터 역순
+            if (times[idx] < from) {
+                continue; // 시간 역전 데이터가 있을 수 있어 끝까지 확인
+            }
+            if ((flags[idx] & bit) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 감지 후 초기화 : 보관중인 측정값에서 bit 제거
+     */
+    void clear(int bit) {
+        for (int i = 0; i < size; i++) {
+            int idx = (head - 1 - i + times.length) % times.length;
+            flags[idx] &= ~bit;
+        }
+        dirty = true;
+    }
+
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markClean() {
+        dirty = false;
+    }
+
+    /**
+     * snapshot : size, (time, power, flag) * size (오래된 순)
+     */
+    byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + size * (Long.BYTES + Double.BYTES + Integer.BYTES));
+        buffer.putInt(size);
+        for (int i = size; i > 0; i--) {
+            int idx = (head - i + times.length) % times.length;
+            buffer.putLong(times[idx]).putDouble(powers[idx]).putInt(flags[idx]);
+        }
+        return buffer.array();
+    }
+
+    static PowerWindow fromBytes(byte[] bytes, int capacity) {
+        PowerWindow window = new PowerWindow(capacity);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            window.add(buffer.getLong(), buffer.getDouble(), buffer.getInt());
+        }
+        window.dirty = false;
+        return window;
+    }
+}
@@ -0,0 +1,314 @@
+package charge.station.monitor.service.power;
+
+import charge.station.monitor.domain.RawDataPower;
+import charge.station.monitor.dto.error.CustomException;
+import charge.station.monitor.dto.rawdata.RawDataPowerRequestDTO;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.repository.RawDataPowerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전력 원시 데이터 write-behind 큐
+ * 요청 스레드는 큐에 넣기만 하고, 전용 writer 스레드가 개수/시간 기준으로 모아서 batch insert 한다.
+ * 큐 자리는 요청 트랜잭션 안에서 미리 잡고(가득 차면 잠깐 대기 후 503 거절, backpressure) 실제 적재는 커밋 후에 한다.
+ * (롤백된 요청의 전력값은 저장하지 않음)
+ * 저장 실패시 backoff 하며 max-retries 번까지 다시 저장하고, 그래도 실패하면 버리고 rawdata.power.dropped 에 기록한다.
+ * 종료시 남은 데이터는 모두 저장 후 종료. enabled=false 이면 호출한 트랜잭션 안에서 바로 저장한다.
+ * writer 가 멈춘 뒤(시작 전, 종료 후)에는 새 요청을 503 으로 거절하고, 멈추기 전에 받은 요청이 나중에 커밋되면 바로 저장한다.
+ */
+@Slf4j
+@Component
+public class PowerWriteBehindQueue implements SmartLifecycle {
+
+    // 충전소, 측정시간 순으로 저장 (같은 충전소 데이터가 인접하도록)
+    private static final Comparator<RawDataPowerRequestDTO> WRITE_ORDER =
+            Comparator.comparing(RawDataPowerRequestDTO::getChargeId)
+                    .thenComparing(RawDataPowerRequestDTO::getRecordTime);
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final RawDataPowerRepository rawDataPowerRepository;
+    private final ChargeRepository chargeRepository;
+    private final PowerRollupJob powerRollupJob;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter droppedCounter;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final Semaphore slots;  // 큐 자리 (커밋 전 예약분 + 큐 + 저장중인 buffer)
+    private final BlockingQueue<RawDataPowerRequestDTO> queue = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+    private Thread writer;
+
+
+    public PowerWriteBehindQueue(RawDataPowerRepository rawDataPowerRepository,
+                                 ChargeRepository chargeRepository,
+                                 PowerRollupJob powerRollupJob,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${rawdata.power.write-behind.enabled:true}") boolean enabled,
+                                 @Value("${rawdata.power.write-behind.capacity:50000}") int capacity,
+                                 @Value("${rawdata.power.write-behind.batch-size:500}") int batchSize,
+                                 @Value("${rawdata.power.write-behind.flush-interval-ms:1000}") long flushIntervalMillis,
+                                 @Value("${rawdata.power.write-behind.offer-timeout-ms:50}") long offerTimeoutMillis,
+                                 @Value("${rawdata.power.write-behind.max-retries:5}") int maxRetries,
+                                 @Value("${rawdata.power.write-behind.retry-backoff-ms:500}") long retryBackoffMillis) {
+        this.rawDataPowerRepository = rawDataPowerRepository;
+        this.chargeRepository = chargeRepository;
+        this.powerRollupJob = powerRollupJob;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW); // 커밋 후 콜백에서도 저장
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.slots = new Semaphore(capacity);
+        this.droppedCounter = Counter.builder("rawdata.power.dropped").register(meterRegistry);
+    }
+
+
+    /**
+     * 전력값 저장 요청 (recordTime 이 채워진 값만 넣을 것)
+     */
+    public void submit(RawDataPowerRequestDTO reading) {
+        submitAll(List.of(reading));
+    }
+
+    /**
+     * 전력값 일괄 저장 요청. 큐 여유가 부족하면 하나도 넣지 않고 거절.
+     * 트랜잭션 안에서 호출하면 커밋 후에 큐에 넣는다.
+     */
+    public void submitAll(Collection<RawDataPowerRequestDTO> readings) {
+        if (!enabled) {
+            rawDataPowerRepository.saveAll(readings.stream().map(this::toEntity).toList());
+            afterCommit(() -> written(readings));
+            return;
+        }
+        if (readings.isEmpty()) {
+            return;
+        }
+        if (!running) {
+            throw rejected(); // writer 가 없으면 저장되지 않으므로 받지 않음
+        }
+        List<RawDataPowerRequestDTO> batch = List.copyOf(readings);
+        reserve(batch.size());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(batch);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(batch);
+                } else {
+                    slots.release(batch.size());
+                }
+            }
+        });
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+
+    // 큐에 넣기 (writer 가 이미 멈췄으면 여기서 바로 저장)
+    private void enqueue(List<RawDataPowerRequestDTO> batch) {
+        synchronized (this) {
+            if (running) {
+                queue.addAll(batch);
+                return;
+            }
+        }
+        flush(new ArrayList<>(batch));
+    }
+
+    // 새 데이터 받기 중단 (enqueue 와 같은 락 : 멈춘 뒤에 큐에 들어가는 데이터 없음)
+    private synchronized void stopAccepting() {
+        running = false;
+    }
+
+
+    private void reserve(int count) {
+        try {
+            if (!slots.tryAcquire(count) && !slots.tryAcquire(count, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw rejected();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rejected();
+        }
+    }
+
+    private CustomException rejected() {
+        return new CustomException("전력 데이터 처리량 초과입니다. 잠시 후 다시 전송해주세요.", HttpStatus.SERVICE_UNAVAILABLE, 503);
+    }
+
+
+    /**
+     * writer 스레드 : 개수(batchSize) 또는 시간(flushInterval) 기준으로 flush
+     */
+    private void drainLoop() {
+        List<RawDataPowerRequestDTO> buffer = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                RawDataPowerRequestDTO first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    buffer.add(first);
+                    queue.drainTo(buffer, batchSize - buffer.size());
+                }
+            } catch (InterruptedException e) {
+                // 종료 신호 : 남은 데이터는 루프 조건에 따라 계속 비운다
+                stopAccepting();
+            }
+
+            boolean timeUp = System.nanoTime() - lastFlush >= TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+            if (buffer.size() >= batchSize || (timeUp && !buffer.isEmpty())) {
+                flush(buffer);
+                lastFlush = System.nanoTime();
+            }
+        }
+        flush(buffer);
+    }
+
+    private void flush(List<RawDataPowerRequestDTO> buffer) {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        buffer.sort(WRITE_ORDER);
+        boolean saved = false;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        rawDataPowerRepository.saveAll(buffer.stream().map(this::toEntity).toList()));
+                saved = true;
+                break;
+            } catch (RuntimeException e) {
+                if (attempt > maxRetries) {
+                    log.error("전력 원시 데이터 저장 실패, 버림 : {}건 ({})", buffer.size(), e.getMessage());
+                    droppedCounter.increment(buffer.size());
+                    break;
+                }
+                long backoff = Math.min(retryBackoffMillis << Math.min(attempt - 1, 16), MAX_BACKOFF_MS);
+                log.warn("전력 원시 데이터 저장 실패, {}ms 후 재시도 ({}/{}) : {}건 ({})",
+                        backoff, attempt, maxRetries, buffer.size(), e.getMessage());
+                sleep(backoff);
+            }
+        }
+        // 커밋된 뒤 한번만 (여기서 실패해도 다시 저장하지 않음)
+        if (saved) {
+            try {
+                written(buffer);
+            } catch (RuntimeException e) {
+                log.warn("전력 재집계 구간 표시 실패 : {}건 ({})", buffer.size(), e.getMessage());
+            }
+        }
+        slots.release(buffer.size());
+        buffer.clear();
+    }
+
+    // 재시도 대기 (종료 신호가 와도 남은 재시도는 진행)
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            stopAccepting();
+        }
+    }
+
+    // 저장된 측정시간 전달 (늦게 저장된 구간 재집계용)
+    private void written(Collection<RawDataPowerRequestDTO> readings) {
+        for (RawDataPowerRequestDTO reading : readings) {
+            powerRollupJob.markWritten(reading.getRecordTime());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private RawDataPower toEntity(RawDataPowerRequestDTO reading) {
+        return RawDataPower.builder()
+                .charge(chargeRepository.getReferenceById(reading.getChargeId())) // 프록시만 사용, select 없음
+                .power(reading.getPower())
+                .recordTime(reading.getRecordTime())
+                .build();
+    }
+
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "RawPower-Writer");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (writer == null) {
+            return;
+        }
+        stopAccepting();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("전력 원시 데이터 큐 종료 (잔여 {}건)", queue.size());
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // 웹서버, 충전소 이벤트 lane(ChargeEventExecutor) 이 먼저 멈춘 뒤(요청 유입 종료) 마지막으로 비운다
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,29 @@
+package charge.station.monitor.service.power;
+
+/**
+ * 모델 1개의 이상 감지 규칙 묶음 (규칙마다 bit 1개, 최대 32개)
+ */
+final class RuleChain {
+
+    static final int MAX_RULES = Integer.SIZE;
+
+    final CompiledRule[] rules;
+
+
+    RuleChain(CompiledRule[] rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * 현재 전력값이 걸린 규칙 bit mask
+     */
+    int evaluate(PowerWindow window, double previousPower, double currentPower) {
+        int flag = 0;
+        for (CompiledRule rule : rules) {
+            if (rule.test(window, previousPower, currentPower)) {
+                flag |= rule.bit;
+            }
+        }
+        return flag;
+    }
+}
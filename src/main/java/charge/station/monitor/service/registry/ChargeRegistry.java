@@ -0,0 +1,171 @@
+package charge.station.monitor.service.registry;
+
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.dto.cache.ChargeInfo;
+import charge.station.monitor.repository.ChargeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 충전소 메타 정보 메모리 캐시 (chargeId → ChargeInfo)
+ * 시작시 전체 적재, 없는 id 는 1회 조회 후 등록. 충전소 생성/수정시 refresh, 삭제시 evict 호출할 것.
+ * 조회는 락 없이 volatile 맵을 읽고, 변경은 복사본 교체(충전소 정보는 거의 안 바뀜).
+ * DB 에도 없는 id 는 negative-ttl-ms 동안 다시 조회하지 않는다. (잘못된 id 로 반복 요청시 DB 보호, 최대 negative-max-size 건)
+ */
+@Slf4j
+@Component
+public class ChargeRegistry {
+
+    private final ChargeRepository chargeRepository;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter negativeCounter;
+    private final long negativeTtlMillis;
+    private final int negativeMaxSize;
+
+    private volatile LongObjectMap<ChargeInfo> charges = LongObjectMap.empty();
+    private volatile LongObjectMap<Long> missing = LongObjectMap.empty(); // 없는 id → 만료 시각(ms)
+    private final Object reloadLock = new Object(); // 전체 적재는 한번에 하나만
+    private Set<Long> changedDuringReload; // 전체 적재 중에 refresh/evict 된 id (this 로 보호, 적재중이 아니면 null)
+
+
+    public ChargeRegistry(ChargeRepository chargeRepository, MeterRegistry meterRegistry,
+                          @Value("${charge.registry.negative-ttl-ms:30000}") long negativeTtlMillis,
+                          @Value("${charge.registry.negative-max-size:1024}") int negativeMaxSize) {
+        this.chargeRepository = chargeRepository;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.negativeMaxSize = negativeMaxSize;
+        this.hitCounter = Counter.builder("charge.registry.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("charge.registry.requests").tag("result", "miss").register(meterRegistry);
+        this.negativeCounter = Counter.builder("charge.registry.requests").tag("result", "negative").register(meterRegistry);
+        Gauge.builder("charge.registry.size", this, registry -> registry.charges.size()).register(meterRegistry);
+    }
+
+
+    /**
+     * 충전소 정보 조회 (없는 충전소면 empty)
+     */
+    public Optional<ChargeInfo> find(Long chargeId) {
+        if (chargeId == null) {
+            return Optional.empty();
+        }
+        ChargeInfo info = charges.get(chargeId);
+        if (info != null) {
+            hitCounter.increment();
+            return Optional.of(info);
+        }
+        Long expiresAt = missing.get(chargeId);
+        if (expiresAt != null && expiresAt > System.currentTimeMillis()) {
+            negativeCounter.increment();
+            return Optional.empty();
+        }
+        missCounter.increment();
+        return Optional.ofNullable(refresh(chargeId));
+    }
+
+    public boolean contains(Long chargeId) {
+        return find(chargeId).isPresent();
+    }
+
+
+    /**
+     * 시작시 전체 적재
+     * 조회는 락 밖에서 하므로, 조회하는 사이 refresh/evict 된 충전소는 교체할때 그 결과를 그대로 유지한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (this) {
+                changedDuringReload = new HashSet<>();
+            }
+            try {
+                List<Charge> all = chargeRepository.findAllWithCenter();
+                LongObjectMap.Builder<ChargeInfo> builder = new LongObjectMap.Builder<>(all.size());
+                for (Charge charge : all) {
+                    builder.put(charge.getChargeId(), new ChargeInfo(charge));
+                }
+                LongObjectMap<ChargeInfo> next = builder.build();
+                synchronized (this) {
+                    for (Long chargeId : changedDuringReload) {
+                        ChargeInfo info = charges.get(chargeId);
+                        next = info != null ? next.with(chargeId, info) : next.without(chargeId);
+                    }
+                    charges = next;
+                    missing = LongObjectMap.empty();
+                }
+                log.info("충전소 정보 캐시 적재 : {}건", all.size());
+            } finally {
+                synchronized (this) {
+                    changedDuringReload = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * 충전소 한건 다시 읽기 (생성/수정 후 호출)
+     */
+    public ChargeInfo refresh(Long chargeId) {
+        Optional<Charge> charge = chargeRepository.findWithCenterByChargeId(chargeId);
+        synchronized (this) {
+            markChanged(chargeId);
+            if (charge.isEmpty()) {
+                charges = charges.without(chargeId);
+                remember(chargeId);
+                return null;
+            }
+            ChargeInfo info = new ChargeInfo(charge.get());
+            charges = charges.with(chargeId, info);
+            missing = missing.without(chargeId);
+            return info;
+        }
+    }
+
+    public synchronized void evict(Long chargeId) {
+        markChanged(chargeId);
+        charges = charges.without(chargeId);
+        missing = missing.without(chargeId);
+    }
+
+    public int size() {
+        return charges.size();
+    }
+
+
+    private void markChanged(Long chargeId) {
+        if (changedDuringReload != null) {
+            changedDuringReload.add(chargeId);
+        }
+    }
+
+    // 없는 id 기록 (가득 차면 만료된 것만 정리하고, 그래도 가득 차면 기록하지 않음)
+    private void remember(Long chargeId) {
+        long now = System.currentTimeMillis();
+        LongObjectMap<Long> current = missing;
+        if (current.size() >= negativeMaxSize) {
+            LongObjectMap.Builder<Long> alive = new LongObjectMap.Builder<>(current.size());
+            current.forEach((id, expiresAt) -> {
+                if (expiresAt > now) {
+                    alive.put(id, expiresAt);
+                }
+            });
+            current = alive.build();
+            if (current.size() >= negativeMaxSize) {
+                missing = current;
+                return;
+            }
+        }
+        missing = current.with(chargeId, now + negativeTtlMillis);
+    }
+}
@@ -0,0 +1,137 @@
+package charge.station.monitor.service.registry;
+
+/**
+ * long 키 전용 불변 해시맵 (open addressing, 박싱 없음)
+ * 읽기는 락 없이, 쓰기는 복사본을 만들어 교체하는 copy-on-write 용도.
+ */
+public final class LongObjectMap<V> {
+
+    private static final LongObjectMap<?> EMPTY = new LongObjectMap<>(new long[0], new Object[0], 0);
+
+    private final long[] keys;
+    private final Object[] values; // null 이면 빈 칸
+    private final int size;
+
+
+    private LongObjectMap(long[] keys, Object[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> LongObjectMap<V> empty() {
+        return (LongObjectMap<V>) EMPTY;
+    }
+
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (size == 0) {
+            return null;
+        }
+        int mask = keys.length - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            Object value = values[i];
+            if (value == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                return (V) value;
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * key 를 추가/교체한 새 맵 반환
+     */
+    public LongObjectMap<V> with(long key, V value) {
+        return copyExcept(key, size + 1).put(key, value).build();
+    }
+
+    /**
+     * key 를 제외한 새 맵 반환
+     */
+    public LongObjectMap<V> without(long key) {
+        if (get(key) == null) {
+            return this;
+        }
+        return copyExcept(key, size - 1).build();
+    }
+
+
+    /**
+     * 전체 순회 (키 박싱 없음)
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Builder<V> copyExcept(long skipKey, int expectedSize) {
+        Builder<V> builder = new Builder<>(expectedSize);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && keys[i] != skipKey) {
+                builder.put(keys[i], (V) values[i]);
+            }
+        }
+        return builder;
+    }
+
+    private static int index(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L; // 연속된 id 도 고르게 분산
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+
+    /**
+     * 전체 적재용 빌더 (load factor 0.5 이하 유지)
+     */
+    public static final class Builder<V> {
+
+        private final long[] keys;
+        private final Object[] values;
+        private int size;
+
+        public Builder(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(2, expectedSize) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+
+        public Builder<V> put(long key, V value) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); ; i = (i + 1) & mask) {
+                if (values[i] == null) {
+                    keys[i] = key;
+                    values[i] = value;
+                    size++;
+                    return this;
+                }
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return this;
+                }
+            }
+        }
+
+        public LongObjectMap<V> build() {
+            return size == 0 ? empty() : new LongObjectMap<>(keys, values, size);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package charge.station.monitor.service.stat;
+
+import charge.station.monitor.domain.ChargeStat;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.repository.ChargeStatRepository;
+import charge.station.monitor.repository.history.CarHistoryRepository;
+import charge.station.monitor.service.event.CarHistoryCompletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * 충전소 일별 이용 통계 (ChargeStat) 집계
+ * 출차 완료시 이용 기록을 충전소/날짜별 누적값에 더해두고 주기적으로 ChargeStat 에 반영 (전체 이력 조회 없음).
+ * 시간대별 이용/충전 시간은 charge_hour_stat 에 같이 더한다. (점유율/히트맵 조회용)
+ * 매일 새벽 최근 catch-up-days 일은 이력에서 다시 계산해서 교체 (날짜별로 나눠서 병렬 처리) → 반영 전에 잃어버린 누적값(장애/재시작)도 복구.
+ * 재계산 중인 날짜의 출차 기록은 끝날때까지 따로 들고 있다가, 재계산에 포함되지 않은 것만 누적값에 더한다. (중복 집계 방지)
+ */
+@Slf4j
+@Component
+public class ChargeStatAggregator {
+
+    private static final String UPSERT_HOUR_SQL =
+            "INSERT INTO charge_hour_stat (charge_id, hour_time, use_seconds, charge_seconds) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE use_seconds = use_seconds + VALUES(use_seconds), charge_seconds = charge_seconds + VALUES(charge_seconds)";
+    private static final String DELETE_HOUR_SQL = "DELETE FROM charge_hour_stat WHERE hour_time >= ? AND hour_time < ?";
+
+    private final ChargeStatRepository chargeStatRepository;
+    private final ChargeRepository chargeRepository;
+    private final CarHistoryRepository carHistoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int catchUpDays;
+    private final int parallelism;
+
+    private final Object flushLock = new Object();  // 반영 중인 누적값이 있으면 재계산 시작 대기
+    private Map<String, DailyUsage> pending = new HashMap<>();  // "충전소id:날짜" → 반영 전 누적값
+    private final Set<LocalDate> rebuilding = new HashSet<>();   // 재계산 중인 날짜 (this 로 보호)
+    private final List<CarHistoryCompletedEvent> held = new ArrayList<>();  // 재계산 중인 날짜에 걸친 출차 기록
+
+
+    public ChargeStatAggregator(ChargeStatRepository chargeStatRepository,
+                                ChargeRepository chargeRepository,
+                                CarHistoryRepository carHistoryRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${stat.catch-up-days:7}") int catchUpDays,
+                                @Value("${stat.catch-up-parallelism:4}") int parallelism) {
+        this.chargeStatRepository = chargeStatRepository;
+        this.chargeRepository = chargeRepository;
+        this.carHistoryRepository = carHistoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.catchUpDays = catchUpDays;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+
+    /**
+     * 출차 완료 기록 누적 (출차 트랜잭션 커밋 후)
+     */
+    @TransactionalEventListener
+    public void onCompleted(CarHistoryCompletedEvent event) {
+        synchronized (this) {
+            fold(pending, event, day -> !rebuilding.contains(day));
+            if (!rebuilding.isEmpty()) {
+                held.add(event); // 재계산 중인 날짜분은 끝난 뒤에 판단
+            }
+        }
+    }
+
+    /**
+     * 누적값 ChargeStat 반영 (실패시 다음번에 다시 반영)
+     */
+    @Scheduled(fixedDelayString = "${stat.flush-interval-ms:60000}")
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, DailyUsage> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new HashMap<>();
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.values().forEach(this::accumulate));
+            } catch (RuntimeException e) {
+                log.error("이용 통계 반영 실패 : {}건 ({})", batch.size(), e.getMessage());
+                synchronized (this) {
+                    batch.forEach((key, usage) -> pending.merge(key, usage, (a, b) -> {
+                        a.merge(b);
+                        return a;
+                    }));
+                }
+            }
+        }
+    }
+
+    private void accumulate(DailyUsage usage) {
+        LocalDateTime date = usage.date.atStartOfDay();
+        ChargeStat stat = chargeStatRepository.findByChargeChargeIdAndDate(usage.chargeId, date)
+                .orElseGet(() -> chargeStatRepository.save(ChargeStat.builder()
+                        .date(date)
+                        .charge(chargeRepository.getReferenceById(usage.chargeId))
+                        .build()));
+        stat.accumulate(usage.useCount, usage.useSeconds, usage.chargeSeconds, usage.hourlyUseSeconds);
+
+        List<Object[]> hours = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            if (usage.hourlyUseSeconds[hour] > 0 || usage.hourlyChargeSeconds[hour] > 0) {
+                hours.add(new Object[]{usage.chargeId, date.plusHours(hour), usage.hourlyUseSeconds[hour], usage.hourlyChargeSeconds[hour]});
+            }
+        }
+        if (!hours.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_HOUR_SQL, hours);
+        }
+    }
+
+
+    /**
+     * 최근 통계 다시 계산 (어제부터 catch-up-days 일 전까지 전부, 통계가 이미 있어도 교체)
+     */
+    @Scheduled(cron = "${stat.catch-up-cron:0 10 4 * * *}")
+    public void catchUp() {
+        flush();
+        List<LocalDate> days = new ArrayList<>();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (int i = 0; i < catchUpDays; i++) {
+            days.add(yesterday.minusDays(i));
+        }
+        if (days.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, days.size()));
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (LocalDate day : days) {
+                results.add(executor.submit(() -> rebuild(day)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    log.info("이용 통계 재계산 : {} ({}건)", days.get(i), results.get(i).get());
+                } catch (Exception e) {
+                    log.error("이용 통계 재계산 실패 : {} ({})", days.get(i), e.getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 하루치 통계를 이력에서 다시 계산해서 교체, 반영한 충전소 수 반환
+     * 시작 전 누적값(이미 커밋된 이력 → 재계산에 포함)은 버리고, 재계산 중에 들어온 출차 기록은 재계산에 없던 것만 나중에 더한다.
+     */
+    public int rebuild(LocalDate day) {
+        Map<String, DailyUsage> dropped = new HashMap<>();
+        synchronized (flushLock) {
+            synchronized (this) {
+                rebuilding.add(day);
+                pending.entrySet().removeIf(entry -> {
+                    if (entry.getValue().date.equals(day)) {
+                        dropped.put(entry.getKey(), entry.getValue());
+                        return true;
+                    }
+                    return false;
+                });
+            }
+        }
+
+        Set<Long> rebuiltIds = new HashSet<>();
+        boolean replaced = false;
+        try {
+            LocalDateTime from = day.atStartOfDay();
+            LocalDateTime to = from.plusDays(1);
+            Map<String, DailyUsage> usages = new HashMap<>();
+            for (Object[] row : carHistoryRepository.findCompletedUsageBetween(from, to)) {
+                rebuiltIds.add((Long) row[0]);
+                fold(usages, (Long) row[1], (LocalDateTime) row[2], (LocalDateTime) row[3],
+                        (LocalDateTime) row[4], (LocalDateTime) row[5], day::equals);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                chargeStatRepository.deleteByDate(from);
+                jdbcTemplate.update(DELETE_HOUR_SQL, from, to);
+                usages.values().forEach(this::accumulate);
+            });
+            replaced = true;
+            return usages.size();
+        } finally {
+            synchronized (this) {
+                rebuilding.remove(day);
+                if (!replaced) {
+                    // 교체 실패 : 기존 통계가 그대로이므로 버렸던 누적값과 들고 있던 기록을 모두 되돌림
+                    dropped.forEach((key, usage) -> pending.merge(key, usage, (a, b) -> {
+                        a.merge(b);
+                        return a;
+                    }));
+                    rebuiltIds.clear();
+                }
+                for (CarHistoryCompletedEvent event : held) {
+                    if (!rebuiltIds.contains(event.getCarHistoryId())) {
+                        fold(pending, event, day::equals);
+                    }
+                }
+                if (rebuilding.isEmpty()) {
+                    held.clear();
+                }
+            }
+        }
+    }
+
+
+    private static void fold(Map<String, DailyUsage> target, CarHistoryCompletedEvent event, Predicate<LocalDate> includeDay) {
+        fold(target, event.getChargeId(), event.getRecordTime(), event.getReleaseTime(),
+                event.getChargeStartTime(), event.getChargeEndTime(), includeDay);
+    }
+
+    /**
+     * 이용 기록 1건을 날짜별 누적값에 더하기 (includeDay 에 해당하는 날짜만)
+     * 이용 건수는 입차일, 이용/충전 시간은 날짜/시간대별로 나눠서 더한다.
+     */
+    static void fold(Map<String, DailyUsage> target, Long chargeId, LocalDateTime recordTime, LocalDateTime releaseTime,
+                     LocalDateTime chargeStartTime, LocalDateTime chargeEndTime, Predicate<LocalDate> includeDay) {
+        if (chargeId == null || recordTime == null || releaseTime == null) {
+            return;
+        }
+        LocalDate entryDay = recordTime.toLocalDate();
+        if (includeDay.test(entryDay)) {
+            usage(target, chargeId, entryDay).useCount++;
+        }
+        DailyUsage.slice(recordTime, releaseTime, (date, hour, seconds) -> {
+            if (includeDay.test(date)) {
+                DailyUsage usage = usage(target, chargeId, date);
+                usage.useSeconds += seconds;
+                usage.hourlyUseSeconds[hour] += seconds;
+            }
+        });
+        LocalDateTime chargeEnd = chargeEndTime != null ? chargeEndTime : releaseTime;
+        DailyUsage.slice(chargeStartTime, chargeEnd, (date, hour, seconds) -> {
+            if (includeDay.test(date)) {
+                DailyUsage usage = usage(target, chargeId, date);
+                usage.chargeSeconds += seconds;
+                usage.hourlyChargeSeconds[hour] += seconds;
+            }
+        });
+    }
+
+    private static DailyUsage usage(Map<String, DailyUsage> target, Long chargeId, LocalDate date) {
+        return target.computeIfAbsent(chargeId + ":" + date, key -> new DailyUsage(chargeId, date));
+    }
+}
@@ -0,0 +1,56 @@
+package charge.station.monitor.service.stat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 충전소 하루 이용 누적값 (이용 건수, 이용/충전 시간, 시간대별 이용/충전 시간(초))
+ */
+final class DailyUsage {
+
+    final Long chargeId;
+    final LocalDate date;
+    int useCount;
+    long useSeconds;
+    long chargeSeconds;
+    final long[] hourlyUseSeconds = new long[24];
+    final long[] hourlyChargeSeconds = new long[24];
+
+
+    DailyUsage(Long chargeId, LocalDate date) {
+        this.chargeId = chargeId;
+        this.date = date;
+    }
+
+    void merge(DailyUsage other) {
+        useCount += other.useCount;
+        useSeconds += other.useSeconds;
+        chargeSeconds += other.chargeSeconds;
+        for (int hour = 0; hour < 24; hour++) {
+            hourlyUseSeconds[hour] += other.hourlyUseSeconds[hour];
+            hourlyChargeSeconds[hour] += other.hourlyChargeSeconds[hour];
+        }
+    }
+
+
+    interface SliceConsumer {
+        void accept(LocalDate date, int hour, long seconds);
+    }
+
+    /**
+     * start ~ end 를 날짜/시간대 단위로 나눠서 전달 (자정, 정각 기준으로 자름)
+     */
+    static void slice(LocalDateTime start, LocalDateTime end, SliceConsumer consumer) {
+        if (start == null || end == null) {
+            return;
+        }
+        LocalDateTime time = start;
+        while (time.isBefore(end)) {
+            LocalDateTime hourEnd = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            LocalDateTime sliceEnd = hourEnd.isBefore(end) ? hourEnd : end;
+            consumer.accept(time.toLocalDate(), time.getHour(), ChronoUnit.SECONDS.between(time, sliceEnd));
+            time = sliceEnd;
+        }
+    }
+}
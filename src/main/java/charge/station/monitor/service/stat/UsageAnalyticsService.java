@@ -0,0 +1,163 @@
+package charge.station.monitor.service.stat;
+
+import charge.station.monitor.dto.error.CustomException;
+import charge.station.monitor.dto.stat.UsageAnalyticsDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 센터/지역별 점유율, 충전/단순주차 비율, 요일x시간대 히트맵
+ * 미리 집계된 charge_hour_stat 에서 (그룹, 요일, 시간대) 단위로 합계만 읽으므로 이력 건수와 관계없이
+ * 조회 기간 x 충전기 수 만큼만 읽는다. (결과 행은 그룹 수 x 168 이하)
+ * 조회 대상은 사용자의 관리 지역(센터 이름) 충전기만.
+ */
+@Service
+public class UsageAnalyticsService {
+
+    public enum GroupBy {
+        CENTER("ce.center_id", "ce.center_num"),
+        REGION("ce.center_name", "ce.center_name");
+
+        private final String keyColumn;
+        private final String nameColumn;
+
+        GroupBy(String keyColumn, String nameColumn) {
+            this.keyColumn = keyColumn;
+            this.nameColumn = nameColumn;
+        }
+    }
+
+    private static final double HOUR_SECONDS = 3600;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxDays;
+
+
+    public UsageAnalyticsService(JdbcTemplate jdbcTemplate,
+                                 @Value("${analytics.max-days:366}") int maxDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxDays = maxDays;
+    }
+
+
+    /**
+     * from ~ to (날짜 포함) 이용 분석 (regionNames : 관리 지역 이름, 없으면 빈 결과)
+     */
+    public List<UsageAnalyticsDTO> usage(String groupBy, LocalDate from, LocalDate to, Collection<String> regionNames) {
+        GroupBy group = parse(groupBy);
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new CustomException("조회 기간이 올바르지 않습니다.", HttpStatus.BAD_REQUEST, 400);
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new CustomException("조회 기간은 최대 " + maxDays + "일입니다.", HttpStatus.BAD_REQUEST, 400);
+        }
+
+        if (regionNames.isEmpty()) {
+            return List.of();
+        }
+        List<String> regions = List.copyOf(new LinkedHashSet<>(regionNames));
+        String inRegions = "ce.center_name IN (" + String.join(", ", Collections.nCopies(regions.size(), "?")) + ")";
+
+        // 요일별 날짜 수 (히트맵 분모)
+        int[] weekdayCount = new int[7];
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            weekdayCount[day.getDayOfWeek().getValue() - 1]++;
+        }
+
+        // 1. 그룹별 충전기 수
+        Map<String, Group> groups = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT " + group.keyColumn + ", MAX(" + group.nameColumn + "), COUNT(c.charge_id) " +
+                "FROM charge c JOIN center ce ON ce.center_id = c.center_id " +
+                "WHERE " + inRegions + " " +
+                "GROUP BY " + group.keyColumn + " ORDER BY " + group.keyColumn,
+                rs -> {
+                    groups.put(rs.getString(1), new Group(rs.getString(1), rs.getString(2), rs.getLong(3)));
+                },
+                regions.toArray());
+
+        // 2. 그룹, 요일, 시간대별 이용/충전 시간 합계
+        List<Object> args = new ArrayList<>(regions.size() + 2);
+        args.add(from.atStartOfDay());
+        args.add(to.plusDays(1).atStartOfDay());
+        args.addAll(regions);
+
+        jdbcTemplate.query(
+                "SELECT " + group.keyColumn + ", WEEKDAY(h.hour_time), HOUR(h.hour_time), SUM(h.use_seconds), SUM(h.charge_seconds) " +
+                "FROM charge_hour_stat h " +
+                "JOIN charge c ON c.charge_id = h.charge_id " +
+                "JOIN center ce ON ce.center_id = c.center_id " +
+                "WHERE h.hour_time >= ? AND h.hour_time < ? AND " + inRegions + " " +
+                "GROUP BY " + group.keyColumn + ", WEEKDAY(h.hour_time), HOUR(h.hour_time)",
+                rs -> {
+                    Group g = groups.get(rs.getString(1));
+                    if (g != null) {
+                        long use = rs.getLong(4);
+                        g.useSeconds += use;
+                        g.chargeSeconds += rs.getLong(5);
+                        g.hourlyUseSeconds[rs.getInt(2)][rs.getInt(3)] += use;
+                    }
+                },
+                args.toArray());
+
+        List<UsageAnalyticsDTO> result = new ArrayList<>(groups.size());
+        for (Group g : groups.values()) {
+            result.add(g.toDTO(days, weekdayCount));
+        }
+        return result;
+    }
+
+    private static GroupBy parse(String groupBy) {
+        for (GroupBy value : GroupBy.values()) {
+            if (value.name().equalsIgnoreCase(groupBy)) {
+                return value;
+            }
+        }
+        throw new CustomException("groupBy 는 center 또는 region 입니다.", HttpStatus.BAD_REQUEST, 400);
+    }
+
+
+    private static final class Group {
+        private final String key;
+        private final String name;
+        private final long chargeCount;
+        private long useSeconds;
+        private long chargeSeconds;
+        private final long[][] hourlyUseSeconds = new long[7][24];
+
+        Group(String key, String name, long chargeCount) {
+            this.key = key;
+            this.name = name;
+            this.chargeCount = chargeCount;
+        }
+
+        UsageAnalyticsDTO toDTO(long days, int[] weekdayCount) {
+            double occupancy = ratio(useSeconds, chargeCount * days * 24 * HOUR_SECONDS);
+            double charging = Math.min(1, ratio(chargeSeconds, useSeconds));
+            double[][] heatmap = new double[7][24];
+            for (int weekday = 0; weekday < 7; weekday++) {
+                for (int hour = 0; hour < 24; hour++) {
+                    heatmap[weekday][hour] = ratio(hourlyUseSeconds[weekday][hour], chargeCount * weekdayCount[weekday] * HOUR_SECONDS);
+                }
+            }
+            return new UsageAnalyticsDTO(key, name, chargeCount, occupancy, charging, useSeconds > 0 ? 1 - charging : 0, heatmap);
+        }
+
+        private static double ratio(double value, double total) {
+            return total > 0 ? value / total : 0;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- 충전소 현황에 출차 전 차량 이력 ID 컬럼 추가 (MariaDB)
+-- ddl-auto 로 스키마를 만들지 않는 운영 DB 용으로 시작할때 spring.sql.init 이 실행 (여러번 실행해도 됨). 기존 입차중 충전소는 OpenCarHistoryReconcileJob 이 채운다.
+
+ALTER TABLE charge_sttus ADD COLUMN IF NOT EXISTS open_car_history_id BIGINT NULL;
@@ -0,0 +1,24 @@
+-- 조회용 인덱스 (MariaDB)
+-- 엔티티의 @Table(indexes) 와 같은 내용. ddl-auto 로 스키마를 만들지 않는 운영 DB 용으로 시작할때 spring.sql.init 이 실행 (여러번 실행해도 됨)
+
+-- 차량 이력
+CREATE INDEX IF NOT EXISTS idx_car_history_charge_time ON car_history (charge_id, in_time);
+CREATE INDEX IF NOT EXISTS idx_car_history_open ON car_history (charge_id, out_time, in_time);
+CREATE INDEX IF NOT EXISTS idx_car_history_time ON car_history (in_time);
+CREATE INDEX IF NOT EXISTS idx_car_history_out_time ON car_history (out_time);
+
+-- 고장 이력
+CREATE INDEX IF NOT EXISTS idx_fault_history_charge_time ON fault_history (charge_id, record_time);
+CREATE INDEX IF NOT EXISTS idx_fault_history_time ON fault_history (record_time);
+
+-- 화재위험 이력
+CREATE INDEX IF NOT EXISTS idx_fire_alert_history_charge_time ON fire_alert_history (charge_id, record_time);
+CREATE INDEX IF NOT EXISTS idx_fire_alert_history_time ON fire_alert_history (record_time);
+
+-- 불법 주정차 이력
+CREATE INDEX IF NOT EXISTS idx_illegal_parking_history_charge_time ON illegal_parking_history (charge_id, record_time);
+CREATE INDEX IF NOT EXISTS idx_illegal_parking_history_time ON illegal_parking_history (record_time);
+
+-- 전력 원본
+CREATE INDEX IF NOT EXISTS idx_raw_data_power_charge_time ON raw_data_power (charge_id, record_time);
+CREATE INDEX IF NOT EXISTS idx_raw_data_power_time ON raw_data_power (record_time);
@@ -0,0 +1,45 @@
+-- IDENTITY -> SEQUENCE 전환 전에 쌓인 데이터와 id 가 겹치지 않도록 시퀀스 위치 보정 (MariaDB 10.3+)
+-- pooled(allocationSize=50) 는 nextval 값 기준 (값 - 50, 값] 구간을 쓰므로 max(id) + 50 으로 맞춘다.
+-- SETVAL 은 현재 위치보다 작은 값이면 무시되므로 여러번 실행해도 됨. (SETVAL 값은 상수만 가능해서 prepared statement 사용)
+
+-- raw_data_power
+SET @next = (SELECT COALESCE(MAX(raw_data_id), 0) + 50 FROM raw_data_power);
+SET @sql = CONCAT('SELECT SETVAL(raw_data_power_seq, ', @next, ')');
+PREPARE align_seq FROM @sql;
+EXECUTE align_seq;
+DEALLOCATE PREPARE align_seq;
+
+-- raw_data_img
+SET @next = (SELECT COALESCE(MAX(raw_data_id), 0) + 50 FROM raw_data_img);
+SET @sql = CONCAT('SELECT SETVAL(raw_data_img_seq, ', @next, ')');
+PREPARE align_seq FROM @sql;
+EXECUTE align_seq;
+DEALLOCATE PREPARE align_seq;
+
+-- car_history
+SET @next = (SELECT COALESCE(MAX(car_history_id), 0) + 50 FROM car_history);
+SET @sql = CONCAT('SELECT SETVAL(car_history_seq, ', @next, ')');
+PREPARE align_seq FROM @sql;
+EXECUTE align_seq;
+DEALLOCATE PREPARE align_seq;
+
+-- fault_history
+SET @next = (SELECT COALESCE(MAX(fault_history_id), 0) + 50 FROM fault_history);
+SET @sql = CONCAT('SELECT SETVAL(fault_history_seq, ', @next, ')');
+PREPARE align_seq FROM @sql;
+EXECUTE align_seq;
+DEALLOCATE PREPARE align_seq;
+
+-- fire_alert_history
+SET @next = (SELECT COALESCE(MAX(fire_alert_history_id), 0) + 50 FROM fire_alert_history);
+SET @sql = CONCAT('SELECT SETVAL(fire_alert_history_seq, ', @next, ')');
+PREPARE align_seq FROM @sql;
+EXECUTE align_seq;
+DEALLOCATE PREPARE align_seq;
+
+-- illegal_parking_history
+SET @next = (SELECT COALESCE(MAX(illegal_parking_history_id), 0) + 50 FROM illegal_parking_history);
+SET @sql = CONCAT('SELECT SETVAL(illegal_parking_history_seq, ', @next, ')');
+PREPARE align_seq FROM @sql;
+EXECUTE align_seq;
+DEALLOCATE PREPARE align_seq;
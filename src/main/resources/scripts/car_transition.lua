@@ -0,0 +1,64 @@
+-- 충전소 차량 상태 비교 + 전환을 한번에 처리 (manageCarHistory)
+-- KEYS[1] : 충전소 상태 hash (carExists, carNum, power, 모두 문자열)
+-- KEYS[2] : 번호판 변경 확인 카운터
+-- ARGV[1] : 현재 차량 존재 여부 ("true"/"false")
+-- ARGV[2] : 현재 차량 번호
+-- ARGV[3] : 차량 번호 유무 ("1" 이면 번호 있음, null 과 "" 구분용)
+-- ARGV[4] : 확인 카운터 TTL (초)
+-- 반환 : "전환종류:이전차량번호" (enter / exit / swap / none)
+
+local nowExists = ARGV[1]
+local nowNum = ARGV[2]
+local hasNum = ARGV[3] == '1'
+
+local function save()
+    redis.call('HSET', KEYS[1], 'carExists', nowExists)
+    if hasNum then
+        redis.call('HSET', KEYS[1], 'carNum', nowNum)
+    else
+        redis.call('HDEL', KEYS[1], 'carNum')
+    end
+end
+
+-- 캐시가 없으면 현재 정보로 등록
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    save()
+    if nowExists == 'true' then
+        return 'enter:'
+    end
+    return 'none:'
+end
+
+local cached = redis.call('HMGET', KEYS[1], 'carExists', 'carNum', 'power')
+
+-- 이전 형식(JDK 직렬화)으로 저장된 캐시는 필드를 읽을 수 없으므로 지우고 현재 정보로 다시 등록 (전환 없음)
+if not cached[1] and not cached[2] and not cached[3] then
+    redis.call('DEL', KEYS[1])
+    save()
+    return 'none:'
+end
+local prevExists = cached[1] == 'true'
+local prevNum = cached[2] or ''
+
+-- 1. 차량 존재 값 변경 (입차 / 출차)
+if prevExists ~= (nowExists == 'true') then
+    save()
+    if nowExists == 'true' then
+        return 'enter:' .. prevNum
+    end
+    return 'exit:' .. prevNum
+end
+
+-- 2. 차량 존재는 그대로인데 번호판만 바뀐 경우 : 2회 이상 인식되면 교체
+if hasNum and prevNum ~= nowNum then
+    local count = redis.call('INCR', KEYS[2])
+    if count == 1 then
+        redis.call('EXPIRE', KEYS[2], ARGV[4])
+        return 'none:' .. prevNum
+    end
+    redis.call('DEL', KEYS[2])
+    save()
+    return 'swap:' .. prevNum
+end
+
+return 'none:' .. prevNum
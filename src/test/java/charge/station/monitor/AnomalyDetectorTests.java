@@ -0,0 +1,112 @@
+package charge.station.monitor;
+
+import charge.station.monitor.service.power.AnomalyDetector;
+import charge.station.monitor.service.power.PowerRuleEngine;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AnomalyDetectorTests {
+
+    private static final long SECOND = 1000;
+
+    // 2분 window, 기본 규칙(3회 이상 감지, fluctuation 8/10 구간), snapshot 미사용
+    private final AnomalyDetector detector = new AnomalyDetector(null, new PowerRuleEngine(null, 10, 8), 120 * SECOND, 64, false);
+
+
+    @Test
+    public void 이상감지_구간경계_테스트() {
+        // 고정 2분 TTL 방식이면 0초에 시작한 카운터가 120초에 만료되어 놓치던 경우
+        Assertions.assertTrue(detector.detect(1L, null, 0, 45, 45).isEmpty());
+        Assertions.assertTrue(detector.detect(1L, null, 110 * SECOND, 45, 45).isEmpty());
+        Assertions.assertTrue(detector.detect(1L, null, 125 * SECOND, 45, 45).isEmpty());
+
+        // 110 ~ 130초 사이 3회 → 감지
+        Assertions.assertEquals(List.of("overcurrent"), detector.detect(1L, null, 130 * SECOND, 45, 45));
+
+        // 감지 후 초기화 → 바로 다음 건은 감지 안됨
+        Assertions.assertTrue(detector.detect(1L, null, 131 * SECOND, 45, 45).isEmpty());
+    }
+
+
+    @Test
+    public void 이상감지_구간밖_제외_테스트() {
+        // window 밖의 기록은 세지 않음
+        detector.detect(2L, null, 0, 5, 15);
+        detector.detect(2L, null, 60 * SECOND, 15, 5);
+        List<String> detected = detector.detect(2L, null, 200 * SECOND, 5, 15);
+
+        Assertions.assertFalse(detected.contains("fluctuation"));
+
+        // 충전소별로 따로 계산
+        Assertions.assertTrue(detector.detect(3L, null, 200 * SECOND, 5, 15).isEmpty());
+    }
+
+
+    @Test
+    public void 이상감지_규칙없는_모델_공통규칙_테스트() {
+        // 모델 전용 규칙이 없으면 공통(기본) 규칙 사용
+        detector.detect(4L, "M-100", 0, 45, 45);
+        detector.detect(4L, "M-100", SECOND, 45, 45);
+        Assertions.assertEquals(List.of("overcurrent"), detector.detect(4L, "M-100", 2 * SECOND, 45, 45));
+    }
+
+
+    @Test
+    public void 이상감지_기본규칙_충전기준전력_테스트() {
+        // 기본 fluctuation 규칙은 충전 상태 판단과 같은 8/10 구간 : 10 부근에서 흔들리는 값은 감지 안됨
+        detector.detect(5L, null, 0, 9, 10);
+        detector.detect(5L, null, SECOND, 10, 9.5);
+        Assertions.assertTrue(detector.detect(5L, null, 2 * SECOND, 9.5, 10).isEmpty());
+
+        // 8 아래 ↔ 10 이상을 반복하면 감지
+        Assertions.assertTrue(detector.detect(6L, null, 0, 7, 11).isEmpty());
+        Assertions.assertTrue(detector.detect(6L, null, SECOND, 11, 7).isEmpty());
+        Assertions.assertEquals(List.of("fluctuation"), detector.detect(6L, null, 2 * SECOND, 7, 11));
+    }
+
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void 이상감지_복원_기존window_유지_테스트() {
+        // Redis hash 대신 메모리 map
+        Map<byte[], byte[]> stored = new HashMap<>();
+        RedisHashCommands hashCommands = Mockito.mock(RedisHashCommands.class);
+        Mockito.doAnswer(invocation -> {
+            stored.putAll(invocation.getArgument(1));
+            return null;
+        }).when(hashCommands).hMSet(ArgumentMatchers.any(), ArgumentMatchers.any());
+        Mockito.when(hashCommands.hGetAll(ArgumentMatchers.any())).thenAnswer(invocation -> new HashMap<>(stored));
+        RedisConnection connection = Mockito.mock(RedisConnection.class);
+        Mockito.when(connection.hashCommands()).thenReturn(hashCommands);
+        RedisTemplate<String, Object> redisTemplate = Mockito.mock(RedisTemplate.class);
+        Mockito.when(redisTemplate.execute(ArgumentMatchers.any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+
+        // 이전 서버 : 충전소 1 은 1회, 충전소 2 는 2회 기록 후 저장
+        AnomalyDetector previous = new AnomalyDetector(redisTemplate, new PowerRuleEngine(null, 10, 8), 120 * SECOND, 64, true);
+        previous.detect(1L, null, 0, 45, 45);
+        previous.detect(2L, null, 0, 45, 45);
+        previous.detect(2L, null, SECOND, 45, 45);
+        previous.snapshot();
+
+        // 새 서버 : 복원 전에 충전소 1 전력값 2건 도착
+        AnomalyDetector restarted = new AnomalyDetector(redisTemplate, new PowerRuleEngine(null, 10, 8), 120 * SECOND, 64, true);
+        restarted.detect(1L, null, 10 * SECOND, 45, 45);
+        restarted.detect(1L, null, 11 * SECOND, 45, 45);
+        restarted.restore();
+
+        // 충전소 1 은 복원 전 window 유지 (2 + 1 = 3회), 충전소 2 는 복원한 window 이어서 (2 + 1 = 3회)
+        Assertions.assertEquals(List.of("overcurrent"), restarted.detect(1L, null, 12 * SECOND, 45, 45));
+        Assertions.assertEquals(List.of("overcurrent"), restarted.detect(2L, null, 2 * SECOND, 45, 45));
+    }
+}
@@ -0,0 +1,93 @@
+package charge.station.monitor;
+
+import charge.station.monitor.service.event.ChargeEventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ChargeEventExecutorTests {
+
+    private final ChargeEventExecutor executor = new ChargeEventExecutor(4, 100);
+
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+
+    @Test
+    void 도착순서_유지_테스트() {
+        // 먼저 도착한 이벤트의 결과(인식)가 늦게 나와도 뒤 이벤트가 앞지르지 않음
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        CompletableFuture<Integer> slowResult = new CompletableFuture<>();
+
+        CompletableFuture<Void> first = executor.executeWhenReady(1L, slowResult, handled::add);
+        CompletableFuture<Void> second = executor.executeWhenReady(1L, CompletableFuture.completedFuture(2), handled::add);
+
+        // 기다리는 동안 같은 lane 의 다른 충전소는 막히지 않음
+        long sameLane = 2L;
+        while (executor.laneOf(sameLane) != executor.laneOf(1L)) {
+            sameLane++;
+        }
+        Assertions.assertEquals(3, executor.call(sameLane, () -> 3));
+        Assertions.assertTrue(handled.isEmpty());
+
+        slowResult.complete(1);
+        CompletableFuture.allOf(first, second).join();
+        Assertions.assertEquals(List.of(1, 2), handled);
+    }
+
+    @Test
+    void 결과실패_다음이벤트_처리_테스트() {
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        CompletableFuture<Integer> failed = CompletableFuture.failedFuture(new IllegalStateException("인식 서버 오류"));
+
+        CompletableFuture<Void> first = executor.executeWhenReady(1L, failed, handled::add);
+        CompletableFuture<Void> second = executor.executeWhenReady(1L, CompletableFuture.completedFuture(2), handled::add);
+
+        second.join();
+        Assertions.assertTrue(first.isCompletedExceptionally());
+        Assertions.assertEquals(List.of(2), handled);
+    }
+
+    @Test
+    void 일괄처리_실패묶음_반환_테스트() {
+        // lane 이 다른 충전소 두곳 찾기
+        long other = 2L;
+        while (executor.laneOf(other) == executor.laneOf(1L)) {
+            other++;
+        }
+        long failedChargeId = other;
+
+        ChargeEventExecutor.LaneResults<Long, Integer> results = executor.callByLane(
+                List.of(1L, failedChargeId, 1L), id -> id, group -> {
+                    if (group.contains(failedChargeId)) {
+                        throw new IllegalStateException("db 오류");
+                    }
+                    return group.size();
+                });
+
+        Assertions.assertEquals(List.of(2), results.getResults());
+        Assertions.assertEquals(List.of(failedChargeId), results.getFailed());
+        Assertions.assertTrue(results.getRejected().isEmpty());
+        Assertions.assertFalse(results.isAllRejected());
+    }
+
+    @Test
+    void 일괄처리_전부실패_거절아님_테스트() {
+        // 처리 중 오류로 전부 실패한 경우는 lane 거절(503)과 구분
+        ChargeEventExecutor.LaneResults<Long, Integer> results = executor.callByLane(
+                List.of(1L, 2L), id -> id, group -> {
+                    throw new IllegalStateException("db 오류");
+                });
+
+        Assertions.assertTrue(results.getResults().isEmpty());
+        Assertions.assertEquals(2, results.getFailed().size());
+        Assertions.assertFalse(results.isAllRejected());
+    }
+}
@@ -0,0 +1,58 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.service.registry.ChargeRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Optional;
+
+public class ChargeRegistryTests {
+
+    private final ChargeRepository chargeRepository = Mockito.mock(ChargeRepository.class);
+    private final ChargeRegistry chargeRegistry = new ChargeRegistry(chargeRepository, new SimpleMeterRegistry(), 60_000, 10);
+
+
+    @Test
+    void 없는충전소_반복조회_테스트() {
+        Mockito.when(chargeRepository.findWithCenterByChargeId(99L)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertTrue(chargeRegistry.find(99L).isEmpty());
+        }
+        Mockito.verify(chargeRepository, Mockito.times(1)).findWithCenterByChargeId(99L);
+
+        // 새로 등록되면 refresh 로 바로 보임
+        Mockito.when(chargeRepository.findWithCenterByChargeId(99L)).thenReturn(Optional.of(charge(99L)));
+        chargeRegistry.refresh(99L);
+        Assertions.assertTrue(chargeRegistry.find(99L).isPresent());
+    }
+
+    @Test
+    void 적재중_갱신_유지_테스트() {
+        Mockito.when(chargeRepository.findWithCenterByChargeId(2L)).thenReturn(Optional.of(charge(2L)));
+        // 전체 조회가 끝나기 전에 충전소 2 등록, 충전소 1 삭제
+        Mockito.when(chargeRepository.findAllWithCenter()).thenAnswer(invocation -> {
+            List<Charge> all = List.of(charge(1L));
+            chargeRegistry.refresh(2L);
+            chargeRegistry.evict(1L);
+            return all;
+        });
+
+        chargeRegistry.reload();
+
+        Assertions.assertTrue(chargeRegistry.find(2L).isPresent());
+        Assertions.assertEquals(1, chargeRegistry.size());
+    }
+
+
+    private Charge charge(Long chargeId) {
+        return Charge.builder().chargeId(chargeId).chargeNum("REG-" + chargeId).instlLc("서울시 중구")
+                .center(new Center(1L, "레지스트리센터", "REG")).build();
+    }
+}
@@ -0,0 +1,153 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.domain.ChargeStat;
+import charge.station.monitor.domain.history.CarHistory;
+import charge.station.monitor.dto.stat.UsageAnalyticsDTO;
+import charge.station.monitor.repository.CenterRepository;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.repository.ChargeStatRepository;
+import charge.station.monitor.repository.history.CarHistoryRepository;
+import charge.station.monitor.service.event.CarHistoryCompletedEvent;
+import charge.station.monitor.service.stat.ChargeStatAggregator;
+import charge.station.monitor.service.stat.UsageAnalyticsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest
+@Transactional
+@Rollback
+public class ChargeStatTests {
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Autowired
+    private CarHistoryRepository carHistoryRepository;
+
+    @Autowired
+    private ChargeStatRepository chargeStatRepository;
+
+    @Autowired
+    private ChargeStatAggregator chargeStatAggregator;
+
+    @Autowired
+    private UsageAnalyticsService usageAnalyticsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Charge testCharge;
+    private CarHistory morning;
+    private LocalDate day;
+
+
+    @BeforeEach
+    public void setUp() {
+        Center testCenter = centerRepository.save(new Center(null, "서울센터", "서울_1"));
+        testCharge = chargeRepository.save(Charge.builder()
+                .chargeNum("STAT-001")
+                .instlLc("서울시 강남구")
+                .center(testCenter)
+                .build());
+
+        // 이틀 전 22:30 입차 ~ 다음날 01:00 출차 (23시 충전 시작, 00:30 충전 완료)
+        day = LocalDate.now().minusDays(2);
+        LocalDateTime in = day.atTime(22, 30);
+        carHistoryRepository.save(CarHistory.builder()
+                .carNum("12가3456")
+                .recordTime(in)
+                .releaseTime(in.plusMinutes(150))
+                .chargeStartTime(in.plusMinutes(30))
+                .chargeEndTime(in.plusMinutes(120))
+                .charge(testCharge)
+                .build());
+        // 같은날 10:00 ~ 10:30
+        morning = carHistoryRepository.save(CarHistory.builder()
+                .carNum("34나5678")
+                .recordTime(day.atTime(10, 0))
+                .releaseTime(day.atTime(10, 30))
+                .charge(testCharge)
+                .build());
+        entityManager.flush();
+    }
+
+
+    @Test
+    public void 이용통계_재계산_테스트() {
+        chargeStatAggregator.rebuild(day);
+        chargeStatAggregator.rebuild(day.plusDays(1));
+        entityManager.clear();
+
+        // 입차일 : 2건, 90분 + 30분, 충전 60분
+        ChargeStat first = chargeStatRepository.findByChargeChargeIdAndDate(testCharge.getChargeId(), day.atStartOfDay()).get();
+        Assertions.assertEquals(2, first.getUseCount());
+        Assertions.assertEquals(120 * 60, first.getTotalUseTime());
+        Assertions.assertEquals(60 * 60, first.getTotalChargeTime());
+        Assertions.assertEquals(60f, first.getAvgUseTime(), 0.001);
+        Assertions.assertTrue(first.getUseTimeJson().startsWith("[0,0,0,0,0,0,0,0,0,0,1800,"));
+
+        // 다음날 : 자정 넘어간 60분만, 이용 건수는 입차일에만
+        ChargeStat second = chargeStatRepository.findByChargeChargeIdAndDate(testCharge.getChargeId(), day.plusDays(1).atStartOfDay()).get();
+        Assertions.assertEquals(0, second.getUseCount());
+        Assertions.assertEquals(60 * 60, second.getTotalUseTime());
+        Assertions.assertEquals(30 * 60, second.getTotalChargeTime());
+    }
+
+
+    @Test
+    public void 이용분석_센터별_테스트() {
+        chargeStatAggregator.rebuild(day);
+
+        UsageAnalyticsDTO usage = usageAnalyticsService.usage("center", day, day, List.of("서울센터")).stream()
+                .filter(dto -> dto.getKey().equals(testCharge.getCenter().getCenterId().toString()))
+                .findFirst().get();
+
+        // 하루 중 120분 점유, 그 중 60분 충전
+        Assertions.assertEquals(1, usage.getChargeCount());
+        Assertions.assertEquals(7200.0 / 86400, usage.getOccupancyRate(), 0.0001);
+        Assertions.assertEquals(0.5, usage.getChargingRatio(), 0.0001);
+        Assertions.assertEquals(0.5, usage.getHeatmap()[day.getDayOfWeek().getValue() - 1][10], 0.0001);
+    }
+
+
+    @Test
+    public void 이용통계_재계산_중복없음_테스트() {
+        // 같은 날을 다시 계산해도 누적되지 않고 교체
+        chargeStatAggregator.rebuild(day);
+        chargeStatAggregator.rebuild(day);
+        entityManager.clear();
+
+        ChargeStat stat = chargeStatRepository.findByChargeChargeIdAndDate(testCharge.getChargeId(), day.atStartOfDay()).get();
+        Assertions.assertEquals(2, stat.getUseCount());
+    }
+
+
+    @Test
+    public void 이용통계_재계산_누적값_중복없음_테스트() {
+        // 반영 전 누적값이 있는 날을 재계산하면 (이미 커밋된 이력이므로) 재계산 결과만 남음
+        chargeStatAggregator.onCompleted(new CarHistoryCompletedEvent(morning.getCarHistoryId(), testCharge.getChargeId(),
+                morning.getRecordTime(), morning.getReleaseTime(), null, null));
+        chargeStatAggregator.rebuild(day);
+        chargeStatAggregator.flush();
+        entityManager.clear();
+
+        ChargeStat stat = chargeStatRepository.findByChargeChargeIdAndDate(testCharge.getChargeId(), day.atStartOfDay()).get();
+        Assertions.assertEquals(2, stat.getUseCount());
+        Assertions.assertEquals(120 * 60, stat.getTotalUseTime());
+    }
+}
@@ -0,0 +1,47 @@
+package charge.station.monitor;
+
+import charge.station.monitor.service.power.ChargingStateMachine;
+import charge.station.monitor.service.power.ChargingStateMachine.Transition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ChargingStateMachineTests {
+
+    private static final long SECOND = 1000;
+
+    // 10 이상 충전 시작, 8 미만 충전 종료, 30초 유지시 확정
+    private final ChargingStateMachine machine = new ChargingStateMachine(10, 8, 30 * SECOND);
+
+
+    @Test
+    public void 충전상태_기준값부근_반복_테스트() {
+        // 10 부근에서 오르내리면 상태 변화 없음
+        Assertions.assertEquals(Transition.NONE, machine.update(1L, false, 0, 11));
+        Assertions.assertEquals(Transition.NONE, machine.update(1L, false, 10 * SECOND, 9));
+        Assertions.assertEquals(Transition.NONE, machine.update(1L, false, 20 * SECOND, 11));
+        Assertions.assertEquals(Transition.NONE, machine.update(1L, false, 40 * SECOND, 9));
+    }
+
+
+    @Test
+    public void 충전상태_유지시간_확정_테스트() {
+        Assertions.assertEquals(Transition.NONE, machine.update(2L, false, 0, 15));
+        Assertions.assertEquals(Transition.START, machine.update(2L, false, 30 * SECOND, 15));
+
+        // 종료 기준(8) 이상이면 충전 유지
+        Assertions.assertEquals(Transition.NONE, machine.update(2L, true, 40 * SECOND, 9));
+        Assertions.assertEquals(Transition.NONE, machine.update(2L, true, 80 * SECOND, 9));
+
+        Assertions.assertEquals(Transition.NONE, machine.update(2L, true, 90 * SECOND, 3));
+        Assertions.assertEquals(Transition.STOP, machine.update(2L, true, 120 * SECOND, 3));
+    }
+
+
+    @Test
+    public void 충전상태_db상태_반영_테스트() {
+        // 입/출차 처리에서 db 상태가 바뀌면 그 상태 기준으로 판단
+        machine.update(3L, false, 0, 15);
+        Assertions.assertEquals(Transition.NONE, machine.update(3L, true, 40 * SECOND, 15));
+        Assertions.assertEquals(Transition.NONE, machine.update(3L, true, 50 * SECOND, 3));
+    }
+}
@@ -0,0 +1,298 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.domain.RawDataPower;
+import charge.station.monitor.domain.history.CarHistory;
+import charge.station.monitor.domain.history.FaultHistory;
+import charge.station.monitor.domain.history.FireAlertHistory;
+import charge.station.monitor.domain.history.IllegalParkingHistory;
+import charge.station.monitor.dto.history.HistoryMainRequestDTO;
+import charge.station.monitor.dto.user.JoinRequestDTO;
+import charge.station.monitor.dto.user.LoginRequestDTO;
+import charge.station.monitor.repository.CenterRepository;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.repository.RawDataPowerRepository;
+import charge.station.monitor.repository.history.CarHistoryRepository;
+import charge.station.monitor.repository.history.FaultHistoryRepository;
+import charge.station.monitor.repository.history.FireAlertHistoryRepository;
+import charge.station.monitor.repository.history.IllegalParkingHistoryRepository;
+import charge.station.monitor.service.UserService;
+import charge.station.monitor.service.history.CarHistoryService;
+import charge.station.monitor.service.history.FaultHistoryService;
+import charge.station.monitor.service.history.FireAlertHistoryService;
+import charge.station.monitor.service.history.IllegalParkingHistoryService;
+import charge.station.monitor.service.power.PowerSeriesService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 자주 쓰는 조회가 의도한 인덱스를 타는지 EXPLAIN 으로 확인
+ * 손으로 쓴 SQL 이 아니라 서비스/리포지토리가 실제로 보낸 SQL 과 바인딩 값을 그대로 EXPLAIN 한다.
+ * (인덱스 이름이 바뀌거나, 조회 모양이 바뀌어서 인덱스를 안 타게 되면 실패)
+ * 실행계획이 흔들리지 않도록 조회 대상이 전체의 몇 % 이하가 되게 충전소 20개 x 100일치를 넣는다.
+ * (ANALYZE TABLE 은 암묵적 커밋이라 테스트 롤백이 안되므로 쓰지 않음)
+ */
+@SpringBootTest(properties = "rawdata.rollup.enabled=false")
+@Transactional
+@Rollback
+public class HistoryIndexExplainTests {
+
+    private static final int CHARGES = 20;
+    private static final int DAYS = 100;
+
+    private static final List<CapturedQuery> CAPTURED = new CopyOnWriteArrayList<>();
+    private static volatile boolean capturing;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Autowired
+    private CarHistoryRepository carHistoryRepository;
+
+    @Autowired
+    private FaultHistoryRepository faultHistoryRepository;
+
+    @Autowired
+    private FireAlertHistoryRepository fireAlertHistoryRepository;
+
+    @Autowired
+    private IllegalParkingHistoryRepository illegalParkingHistoryRepository;
+
+    @Autowired
+    private RawDataPowerRepository rawDataPowerRepository;
+
+    @Autowired
+    private CarHistoryService carHistoryService;
+
+    @Autowired
+    private FaultHistoryService faultHistoryService;
+
+    @Autowired
+    private FireAlertHistoryService fireAlertHistoryService;
+
+    @Autowired
+    private IllegalParkingHistoryService illegalParkingHistoryService;
+
+    @Autowired
+    private PowerSeriesService powerSeriesService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Center testCenter;
+    private Charge testCharge;
+    private LocalDateTime base;
+    private String accessToken;
+
+
+    @BeforeEach
+    public void setUp() {
+        testCenter = centerRepository.save(new Center(null, "서울센터", "서울_1"));
+        base = LocalDateTime.now().minusDays(DAYS);
+
+        // 충전소 20개, 충전소마다 하루 1건씩 100일 (마지막 차량은 출차 전)
+        List<CarHistory> cars = new ArrayList<>();
+        List<FaultHistory> faults = new ArrayList<>();
+        List<FireAlertHistory> fires = new ArrayList<>();
+        List<IllegalParkingHistory> illegals = new ArrayList<>();
+        List<RawDataPower> powers = new ArrayList<>();
+        for (int c = 0; c < CHARGES; c++) {
+            Charge charge = chargeRepository.save(Charge.builder()
+                    .chargeNum("IDX-" + c).instlLc("서울시 강남구").center(testCenter).build());
+            if (c == 0) {
+                testCharge = charge;
+            }
+            for (int d = 0; d < DAYS; d++) {
+                LocalDateTime time = base.plusDays(d).plusMinutes(c);
+                cars.add(CarHistory.builder().carNum("11가" + c + d).recordTime(time)
+                        .releaseTime(d == DAYS - 1 ? null : time.plusHours(1)).charge(charge).build());
+                faults.add(FaultHistory.builder().recordTime(time).procSttus(false).faultReason("과전류 감지").charge(charge).build());
+                fires.add(FireAlertHistory.builder().recordTime(time).type("고온 감지").charge(charge).build());
+                illegals.add(IllegalParkingHistory.builder().carNum("77하" + c + d).recordTime(time).type("점유시간 초과").charge(charge).build());
+                powers.add(RawDataPower.builder().charge(charge).power(d).recordTime(time).build());
+            }
+        }
+        carHistoryRepository.saveAll(cars);
+        faultHistoryRepository.saveAll(faults);
+        fireAlertHistoryRepository.saveAll(fires);
+        illegalParkingHistoryRepository.saveAll(illegals);
+        rawDataPowerRepository.saveAll(powers);
+
+        JoinRequestDTO dto = new JoinRequestDTO("indexuser", "Password1!", "홍길동", "테스트회사", "index@example.com");
+        userService.join(dto);
+        accessToken = userService.login(new LoginRequestDTO(dto.getLoginId(), dto.getPassword())).getAccessToken();
+        entityManager.flush();
+    }
+
+
+    @Test
+    void 출차전_차량조회_인덱스_테스트() {
+        assertIndex("car_history", "idx_car_history_open",
+                () -> carHistoryRepository.findLatestEntryByCharge(testCharge));
+    }
+
+    @Test
+    void 충전소별_이력_기간조회_인덱스_테스트() {
+        // 이력 목록 (HistoryQueryEngine : 충전소 + 기간 + recordTime 정렬)
+        HistoryMainRequestDTO request = new HistoryMainRequestDTO(testCenter.getCenterId(), testCharge.getChargeId(),
+                base.plusDays(10), base.plusDays(20), null);
+        assertIndex("car_history", "idx_car_history_charge_time",
+                () -> carHistoryService.carSelect(accessToken, request, 1, "recordTime", "desc"));
+        assertIndex("fault_history", "idx_fault_history_charge_time",
+                () -> faultHistoryService.faultSelect(accessToken, request, 1, "recordTime", "desc"));
+        assertIndex("fire_alert_history", "idx_fire_alert_history_charge_time",
+                () -> fireAlertHistoryService.fireSelect(accessToken, request, 1, "recordTime", "desc"));
+        assertIndex("illegal_parking_history", "idx_illegal_parking_history_charge_time",
+                () -> illegalParkingHistoryService.illegalParkingSelect(accessToken, request, 1, "recordTime", "desc"));
+
+        // 전력 조회 (PowerSeriesService 원본 구간 : 1시간 / 3600점 = 1초 구간)
+        LocalDateTime from = base.plusDays(10);
+        assertIndex("raw_data_power", "idx_raw_data_power_charge_time",
+                () -> powerSeriesService.series(testCharge.getChargeId(), from, from.plusHours(1), 3600));
+    }
+
+    @Test
+    void 출차기준_이용집계_인덱스_테스트() {
+        // ChargeStatAggregator 가 쓰는 최근 하루치 출차 완료 이력
+        LocalDateTime from = base.plusDays(DAYS - 3);
+        assertIndex("car_history", "idx_car_history_out_time",
+                () -> carHistoryRepository.findCompletedUsageBetween(from, from.plusDays(1)));
+    }
+
+
+    /**
+     * query 가 실제로 보낸 SQL 중 table 을 읽는 첫 select 를 같은 바인딩 값으로 EXPLAIN 해서
+     * 그 테이블 행의 key(실제 선택된 인덱스)가 expected 인지 확인
+     */
+    private void assertIndex(String table, String expected, Runnable query) {
+        entityManager.clear(); // 영속성 컨텍스트가 아니라 DB 에서 읽도록
+        CAPTURED.clear();
+        capturing = true;
+        try {
+            query.run();
+        } finally {
+            capturing = false;
+        }
+
+        Pattern from = Pattern.compile("(?i)\\b(?:from|join)\\s+" + table + "\\s+(?:as\\s+)?(\\w+)");
+        CapturedQuery target = null;
+        String alias = null;
+        for (CapturedQuery captured : CAPTURED) {
+            Matcher matcher = from.matcher(captured.sql);
+            if (captured.sql.trim().toLowerCase().startsWith("select") && matcher.find()) {
+                target = captured;
+                alias = matcher.group(1);
+                break;
+            }
+        }
+        Assertions.assertNotNull(target, () -> table + " 조회 SQL 없음 : " + CAPTURED);
+
+        CapturedQuery explained = target;
+        String tableAlias = alias;
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + explained.sql, explained.params.values().toArray());
+        Map<String, Object> row = plan.stream()
+                .filter(r -> tableAlias.equalsIgnoreCase(String.valueOf(r.get("table"))) || table.equalsIgnoreCase(String.valueOf(r.get("table"))))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("실행계획에 " + table + " 없음 : " + plan));
+        Assertions.assertEquals(expected, row.get("key"), () -> "SQL : " + explained.sql + "\n실행계획 : " + plan);
+    }
+
+
+    /**
+     * 실행된 SQL + 바인딩 값 (DataSource 를 감싸서 PreparedStatement 의 setXxx 를 기록)
+     */
+    static final class CapturedQuery {
+        final String sql;
+        final Map<Integer, Object> params = new TreeMap<>();
+
+        CapturedQuery(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public String toString() {
+            return sql + " " + params.values();
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor captureDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? wrap(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T wrap(Class<T> type, T target) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result = invoke(target, method, args);
+                if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                    return wrap(Connection.class, connection);
+                }
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement") && capturing) {
+                    return record(statement, new CapturedQuery((String) args[0]));
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement record(PreparedStatement target, CapturedQuery captured) {
+            CAPTURED.add(captured);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            captured.params.put(index, method.getName().equals("setNull") ? null : args[1]);
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.domain.history.CarHistory;
+import charge.station.monitor.domain.history.FaultHistory;
+import charge.station.monitor.domain.history.FireAlertHistory;
+import charge.station.monitor.domain.history.IllegalParkingHistory;
+import charge.station.monitor.dto.history.*;
+import charge.station.monitor.dto.user.JoinRequestDTO;
+import charge.station.monitor.dto.user.LoginRequestDTO;
+import charge.station.monitor.repository.CenterRepository;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.repository.history.CarHistoryRepository;
+import charge.station.monitor.repository.history.FaultHistoryRepository;
+import charge.station.monitor.repository.history.FireAlertHistoryRepository;
+import charge.station.monitor.repository.history.IllegalParkingHistoryRepository;
+import charge.station.monitor.service.UserService;
+import charge.station.monitor.service.history.CarHistoryService;
+import charge.station.monitor.service.history.FaultHistoryService;
+import charge.station.monitor.service.history.FireAlertHistoryService;
+import charge.station.monitor.service.history.IllegalParkingHistoryService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 이력 목록은 행 수와 상관없이 고정된 SQL 수로 조회되어야 함 (충전소/센터 N+1 확인)
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "rawdata.rule.reload-interval-ms=3600000", // 통계에 섞이지 않게 주기 작업 정지
+        "stat.flush-interval-ms=3600000"
+})
+@Transactional
+@Rollback
+public class HistoryProjectionTests {
+
+    private static final int ROWS = 25; // 10 + 10 + 5
+
+    @Autowired
+    private CarHistoryService carHistoryService;
+
+    @Autowired
+    private FaultHistoryService faultHistoryService;
+
+    @Autowired
+    private FireAlertHistoryService fireAlertHistoryService;
+
+    @Autowired
+    private IllegalParkingHistoryService illegalParkingHistoryService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Autowired
+    private CarHistoryRepository carHistoryRepository;
+
+    @Autowired
+    private FaultHistoryRepository faultHistoryRepository;
+
+    @Autowired
+    private FireAlertHistoryRepository fireAlertHistoryRepository;
+
+    @Autowired
+    private IllegalParkingHistoryRepository illegalParkingHistoryRepository;
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Center testCenter;
+    private String accessToken;
+
+
+    @BeforeEach
+    public void setUp() {
+        redisTemplate.getConnectionFactory().getConnection().flushDb(); // 전체 삭제
+
+        testCenter = centerRepository.save(new Center(null, "서울센터", "서울_1"));
+        List<Charge> charges = chargeRepository.saveAll(List.of(
+                Charge.builder().chargeNum("CHG-01").instlLc("서울 중구").center(testCenter).build(),
+                Charge.builder().chargeNum("CHG-02").instlLc("서울 강남구").center(testCenter).build(),
+                Charge.builder().chargeNum("CHG-03").instlLc("서울 종로구").center(testCenter).build()));
+
+        LocalDateTime base = LocalDateTime.now().minusDays(2);
+        for (int i = 0; i < ROWS; i++) {
+            Charge charge = charges.get(i % charges.size());
+            carHistoryRepository.save(CarHistory.builder()
+                    .carNum("11가" + String.format("%04d", i)).recordTime(base.plusMinutes(i)).charge(charge).build());
+            faultHistoryRepository.save(FaultHistory.builder()
+                    .recordTime(base.plusMinutes(i)).procSttus(false).charge(charge).faultReason("과전류 감지").build());
+            fireAlertHistoryRepository.save(FireAlertHistory.builder()
+                    .recordTime(base.plusMinutes(i)).charge(charge).type("고온 감지").build());
+            illegalParkingHistoryRepository.save(IllegalParkingHistory.builder()
+                    .carNum("77하" + String.format("%04d", i)).recordTime(base.plusMinutes(i)).type("점유시간 초과").charge(charge).build());
+        }
+
+        JoinRequestDTO dto = new JoinRequestDTO("testuser", "Password1!", "홍길동", "테스트회사", "test@example.com");
+        userService.join(dto);
+        accessToken = userService.login(new LoginRequestDTO(dto.getLoginId(), dto.getPassword())).getAccessToken();
+
+        // insert 를 모두 내보내고 영속성 컨텍스트를 비워서 조회가 DB 에서 읽히게
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+
+    @Test
+    void 이력_페이지조회_SQL_수_고정_테스트() {
+        HistoryMainRequestDTO request = new HistoryMainRequestDTO(testCenter.getCenterId(), null, null, null, null);
+
+        // 전체 페이지 : 목록 + count
+        assertStatements(2, () -> carHistoryService.carSelect(accessToken, request, 1, "recordTime", "asc"));
+        assertStatements(2, () -> faultHistoryService.faultSelect(accessToken, request, 1, "recordTime", "asc"));
+        assertStatements(2, () -> fireAlertHistoryService.fireSelect(accessToken, request, 1, "recordTime", "asc"));
+        assertStatements(2, () -> illegalParkingHistoryService.illegalParkingSelect(accessToken, request, 1, "recordTime", "asc"));
+
+        // 마지막 페이지 : 목록만 (count 생략)
+        assertStatements(1, () -> carHistoryService.carSelect(accessToken, request, 3, "recordTime", "asc"));
+        assertStatements(1, () -> faultHistoryService.faultSelect(accessToken, request, 3, "recordTime", "asc"));
+        assertStatements(1, () -> fireAlertHistoryService.fireSelect(accessToken, request, 3, "recordTime", "asc"));
+        assertStatements(1, () -> illegalParkingHistoryService.illegalParkingSelect(accessToken, request, 3, "recordTime", "asc"));
+    }
+
+    @Test
+    void 이력_커서조회_SQL_수_고정_테스트() {
+        HistoryMainRequestDTO request = new HistoryMainRequestDTO(testCenter.getCenterId(), null, null, null, null);
+
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> first =
+                assertStatements(2, () -> carHistoryService.carSelect(accessToken, request, "", false, "recordTime", "desc", true));
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> second =
+                assertStatements(2, () -> carHistoryService.carSelect(accessToken, request, first.getNextCursor(), false, "recordTime", "desc", true));
+
+        Assertions.assertEquals(10, second.getItems().size());
+        Assertions.assertEquals("서울_1-CHG-01", first.getItems().get(first.getItems().size() - 1).getChargeNm()); // recordTime 15분 행
+    }
+
+
+    // 조회 중 실행된 SQL 수 확인
+    private <T> T assertStatements(long expected, Supplier<T> query) {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        T result = query.get();
+
+        Assertions.assertEquals(expected, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount()); // projection 이라 엔티티 로딩 없음
+        return result;
+    }
+}
@@ -0,0 +1,170 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.dto.cache.ChargeInfo;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+import charge.station.monitor.service.image.ImageRetentionJob;
+import charge.station.monitor.service.image.ImageStore;
+import charge.station.monitor.service.image.SegmentImageStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+public class ImageStoreTests {
+
+    @TempDir
+    Path root;
+
+    private final ChargeInfo charge = new ChargeInfo(Charge.builder()
+            .chargeId(1L)
+            .chargeNum("IMG-001")
+            .center(new Center(1L, "서울센터", "서울_1"))
+            .build());
+
+
+    @Test
+    public void 세그먼트_동시저장_읽기_테스트() throws Exception {
+        SegmentImageStore store = new SegmentImageStore(root.toString());
+        LocalDateTime now = LocalDateTime.now();
+
+        // 크기가 다른 이미지 50장을 동시에 저장
+        List<CompletableFuture<StoredImageDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            byte[] image = new byte[1000 + i];
+            Arrays.fill(image, (byte) i);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return store.store(charge, now, image);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }));
+        }
+
+        // 저장 위치로 다시 읽었을때 내용이 그대로인지 확인
+        for (int i = 0; i < 50; i++) {
+            StoredImageDTO stored = futures.get(i).join();
+            byte[] read = store.read(stored.getLocator());
+            Assertions.assertEquals(1000 + i, read.length);
+            for (byte b : read) {
+                Assertions.assertEquals((byte) i, b);
+            }
+        }
+
+        // 하루치 이미지는 segment 파일 1개
+        try (var files = Files.list(root.resolve("segments"))) {
+            Assertions.assertEquals(1, files.filter(f -> f.toString().endsWith(".seg")).count());
+        }
+        store.closeAll();
+    }
+
+
+    @Test
+    public void 세그먼트_보관기간_삭제_테스트() throws Exception {
+        SegmentImageStore store = new SegmentImageStore(root.toString());
+        store.store(charge, LocalDateTime.now().minusDays(100), new byte[10]);
+        StoredImageDTO recent = store.store(charge, LocalDateTime.now(), new byte[10]);
+
+        int deleted = store.purgeBefore(LocalDate.now().minusDays(90));
+
+        Assertions.assertEquals(1, deleted);
+        Assertions.assertEquals(10, store.read(recent.getLocator()).length);
+        store.closeAll();
+    }
+
+
+    @Test
+    public void 세그먼트_저장중_삭제대기_테스트() throws Exception {
+        SegmentImageStore store = new SegmentImageStore(root.toString());
+        CountDownLatch receiving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 요청 본문을 받는 도중에 멈춰있는 업로드
+        ReadableByteChannel slowUpload = new ReadableByteChannel() {
+            private boolean done;
+
+            @Override
+            public int read(ByteBuffer dst) {
+                if (done) {
+                    return -1;
+                }
+                receiving.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done = true;
+                int length = dst.remaining();
+                dst.position(dst.limit());
+                return length;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return !done;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        CompletableFuture<StoredImageDTO> upload = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.store(charge, LocalDateTime.now().minusDays(100), slowUpload, 10);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        receiving.await();
+
+        // 저장이 끝날때까지 segment 를 닫지 않고 기다림
+        CompletableFuture<Integer> purge = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.purgeBefore(LocalDate.now().minusDays(90));
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(200);
+        Assertions.assertFalse(purge.isDone());
+
+        release.countDown();
+        Assertions.assertEquals(10, upload.join().getLength());
+        Assertions.assertEquals(1, purge.join());
+        store.closeAll();
+    }
+
+
+    @Test
+    public void 이미지_보관기간_기록먼저_삭제_테스트() throws Exception {
+        ImageStore store = Mockito.mock(ImageStore.class);
+        JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+
+        // 기본(0)은 삭제하지 않음
+        new ImageRetentionJob(store, jdbcTemplate, 0).purge();
+        Mockito.verifyNoInteractions(store, jdbcTemplate);
+
+        // 기록을 먼저 지운 뒤 파일 삭제
+        new ImageRetentionJob(store, jdbcTemplate, 90).purge();
+        InOrder order = Mockito.inOrder(jdbcTemplate, store);
+        order.verify(jdbcTemplate).update(Mockito.startsWith("DELETE FROM raw_data_img"), Mockito.<Object>any());
+        order.verify(store).purgeBefore(LocalDate.now().minusDays(90));
+    }
+}
@@ -0,0 +1,127 @@
+package charge.station.monitor;
+
+import charge.station.monitor.config.AsyncConfig;
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.dto.cache.ChargeInfo;
+import charge.station.monitor.service.event.DbWriteLimiter;
+import charge.station.monitor.service.image.FileImageStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이미지 처리 스레드 방식 비교 부하 테스트 (./gradlew loadTest)
+ * 이미지 1건 = 파일 저장 + db 저장(동시 10건 제한, 5ms) + 인식 서버 대기(30ms) 로 가정하고
+ * 같은 부하를 platform / virtual 실행기에 넣어 처리량과 p99 지연시간을 로그로 남긴다.
+ */
+@Tag("load")
+public class ImgPipelineLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ImgPipelineLoadTests.class);
+    private static final int IMAGES = 5000;
+    private static final byte[] IMAGE = new byte[50 * 1024];
+
+    @TempDir
+    Path root;
+
+
+    @Test
+    public void 이미지처리_스레드방식_비교_부하테스트() throws Exception {
+        ThreadPoolTaskExecutor platform = AsyncConfig.platformExecutor();
+        Result platformResult = run("platform", platform);
+        platform.shutdown();
+
+        Result virtualResult = run("virtual", AsyncConfig.virtualExecutor(2000, new AtomicInteger()));
+
+        log.info("{}", platformResult);
+        log.info("{}", virtualResult);
+        Assertions.assertEquals(IMAGES, platformResult.completed);
+        Assertions.assertEquals(IMAGES, virtualResult.completed);
+    }
+
+
+    private Result run(String mode, Executor executor) throws Exception {
+        FileImageStore imageStore = new FileImageStore(root.resolve(mode).toString());
+        DbWriteLimiter dbWriteLimiter = new DbWriteLimiter(new SimpleMeterRegistry(), 10, 30000);
+        long[] latencies = new long[IMAGES];
+        CountDownLatch done = new CountDownLatch(IMAGES);
+        AtomicInteger completed = new AtomicInteger();
+        int rejected = 0;
+
+        long start = System.nanoTime();
+        for (int i = 0; i < IMAGES; i++) {
+            int index = i;
+            ChargeInfo charge = charge(i % 500);
+            long submitted = System.nanoTime();
+            Runnable task = () -> {
+                try {
+                    imageStore.store(charge, LocalDateTime.now().plusSeconds(index), IMAGE);
+                    dbWriteLimiter.run(() -> sleep(5));
+                    sleep(30);
+                    completed.incrementAndGet();
+                } catch (Exception e) {
+                    // 실패 건은 completed 에서 빠짐
+                } finally {
+                    latencies[index] = System.nanoTime() - submitted;
+                    done.countDown();
+                }
+            };
+            // 큐가 가득 차면 잠깐 쉬고 재시도 (현장 장비 재전송 가정)
+            while (true) {
+                try {
+                    executor.execute(task);
+                    break;
+                } catch (TaskRejectedException e) {
+                    rejected++;
+                    sleep(1);
+                }
+            }
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        return new Result(mode, completed.get(), rejected,
+                IMAGES / (elapsed / 1_000_000_000.0),
+                latencies[(int) (IMAGES * 0.99) - 1] / 1_000_000.0);
+    }
+
+    private ChargeInfo charge(long chargeId) {
+        return new ChargeInfo(Charge.builder()
+                .chargeId(chargeId)
+                .chargeNum("LOAD-" + chargeId)
+                .center(new Center(1L, "서울센터", "서울_1"))
+                .build());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    private record Result(String mode, int completed, int rejected, double throughput, double p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("[%s] 완료 %d건, 재전송 %d회, 처리량 %.1f건/s, p99 %.1fms",
+                    mode, completed, rejected, throughput, p99Millis);
+        }
+    }
+}
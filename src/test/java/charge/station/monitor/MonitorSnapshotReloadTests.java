@@ -0,0 +1,118 @@
+package charge.station.monitor;
+
+import charge.station.monitor.dto.ChargeMonitorDTO;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.service.event.ChargeSttusChangedEvent;
+import charge.station.monitor.service.monitor.MonitorSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class MonitorSnapshotReloadTests {
+
+    private static final String REGION = "스냅샷센터";
+
+    private final ChargeRepository chargeRepository = Mockito.mock(ChargeRepository.class);
+    private final MonitorSnapshot monitorSnapshot = new MonitorSnapshot(chargeRepository, new SimpleMeterRegistry());
+
+
+    @Test
+    void 적재중_변경_유지_테스트() {
+        Mockito.when(chargeRepository.findAllMonitor()).thenReturn(List.of(charge(1L, false), charge(2L, false)));
+        monitorSnapshot.reload();
+
+        // 전체 조회가 끝나기 전에 충전소 1 입차, 충전소 2 삭제 (조회 결과는 변경 전 값)
+        Mockito.when(chargeRepository.findMonitorByChargeId(2L)).thenReturn(Optional.empty());
+        Mockito.when(chargeRepository.findAllMonitor()).thenAnswer(invocation -> {
+            List<ChargeMonitorDTO> all = List.of(charge(1L, false), charge(2L, false));
+            monitorSnapshot.onChanged(new ChargeSttusChangedEvent(1L, true, false, false));
+            monitorSnapshot.refresh(2L);
+            return all;
+        });
+        monitorSnapshot.reload();
+
+        List<ChargeMonitorDTO> result = monitorSnapshot.find(List.of(REGION));
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertTrue(result.get(0).getSeatSttus());
+    }
+
+    @Test
+    void 첫적재_동시조회_한번만_테스트() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(chargeRepository.findAllMonitor()).thenAnswer(invocation -> {
+            querying.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(charge(1L, false));
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<ChargeMonitorDTO>>> results = new ArrayList<>();
+            results.add(executor.submit(() -> monitorSnapshot.find(List.of(REGION))));
+            Assertions.assertTrue(querying.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> monitorSnapshot.find(List.of(REGION))));
+            }
+            release.countDown();
+
+            for (Future<List<ChargeMonitorDTO>> result : results) {
+                Assertions.assertEquals(1, result.get(5, TimeUnit.SECONDS).size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Mockito.verify(chargeRepository, Mockito.times(1)).findAllMonitor();
+    }
+
+    @Test
+    void 첫적재중_변경_다시읽기_테스트() {
+        Mockito.when(chargeRepository.findMonitorByChargeId(1L)).thenReturn(Optional.of(charge(1L, true)));
+        Mockito.when(chargeRepository.findAllMonitor()).thenAnswer(invocation -> {
+            List<ChargeMonitorDTO> all = List.of(charge(1L, false));
+            monitorSnapshot.onChanged(new ChargeSttusChangedEvent(1L, true, false, false)); // 아직 적재 전
+            return all;
+        });
+
+        monitorSnapshot.reload();
+
+        Assertions.assertTrue(monitorSnapshot.find(List.of(REGION)).get(0).getSeatSttus());
+    }
+
+    @Test
+    void 한건조회중_변경_유지_테스트() {
+        Mockito.when(chargeRepository.findAllMonitor()).thenReturn(List.of(charge(1L, false)));
+        monitorSnapshot.reload();
+
+        // 충전소 수정 후 다시 읽는 중에 입차 이벤트 반영 (조회 결과는 변경 전 값)
+        Mockito.when(chargeRepository.findMonitorByChargeId(1L)).thenAnswer(invocation -> {
+            monitorSnapshot.onChanged(new ChargeSttusChangedEvent(1L, true, false, false));
+            return Optional.of(new ChargeMonitorDTO(1L, "SNAP-1-수정", "서울시 중구", "제조사", "모델", REGION, false, false));
+        });
+        monitorSnapshot.refresh(1L);
+
+        ChargeMonitorDTO result = monitorSnapshot.find(List.of(REGION)).get(0);
+        Assertions.assertTrue(result.getSeatSttus());
+        Assertions.assertEquals("SNAP-1-수정", result.getChargeNum());
+
+        // 변경 없이 다시 읽으면 조회 값 그대로
+        Mockito.when(chargeRepository.findMonitorByChargeId(1L)).thenReturn(Optional.of(charge(1L, false)));
+        monitorSnapshot.refresh(1L);
+        Assertions.assertFalse(monitorSnapshot.find(List.of(REGION)).get(0).getSeatSttus());
+    }
+
+
+    private ChargeMonitorDTO charge(Long chargeId, boolean seatSttus) {
+        return new ChargeMonitorDTO(chargeId, "SNAP-" + chargeId, "서울시 중구", "제조사", "모델", REGION, false, seatSttus);
+    }
+}
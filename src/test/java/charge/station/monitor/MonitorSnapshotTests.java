@@ -0,0 +1,92 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.dto.ChargeMonitorDTO;
+import charge.station.monitor.repository.CenterRepository;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.service.event.ChargeSttusChangedEvent;
+import charge.station.monitor.service.monitor.MonitorSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@SpringBootTest
+@Transactional
+@Rollback
+public class MonitorSnapshotTests {
+
+    private static final String REGION = "스냅샷센터";
+
+    @Autowired
+    private MonitorSnapshot monitorSnapshot;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    private Charge first;
+    private Charge second;
+
+
+    @BeforeEach
+    public void setUp() {
+        Center center = centerRepository.save(new Center(null, REGION, "스냅샷_1"));
+        first = chargeRepository.save(Charge.builder().chargeNum("SNAP-01").instlLc("서울시 중구").center(center).build());
+        second = chargeRepository.save(Charge.builder().chargeNum("SNAP-02").instlLc("서울시 중구").center(center).build());
+
+        // 새 충전소 등록 (ChargeController.createCharge 와 같은 흐름)
+        monitorSnapshot.refresh(first.getChargeId());
+        monitorSnapshot.refresh(second.getChargeId());
+    }
+
+
+    @Test
+    void 지역별_현황_조회_테스트() {
+        List<ChargeMonitorDTO> result = monitorSnapshot.find(List.of(REGION, REGION, "없는지역"));
+
+        Assertions.assertEquals(2, result.size()); // 중복 지역은 한번만
+        Assertions.assertEquals(first.getChargeId(), result.get(0).getChargeId());
+        Assertions.assertEquals(second.getChargeId(), result.get(1).getChargeId());
+        Assertions.assertEquals(REGION, result.get(0).getCenterName());
+        Assertions.assertFalse(result.get(0).getSeatSttus());
+        Assertions.assertFalse(result.get(0).getFaultSttus());
+    }
+
+    @Test
+    void 현황_변경_반영_테스트() {
+        List<ChargeMonitorDTO> before = monitorSnapshot.find(List.of(REGION));
+
+        // 입차, 고장
+        monitorSnapshot.onChanged(new ChargeSttusChangedEvent(first.getChargeId(), true, false, false));
+        monitorSnapshot.onChanged(new ChargeSttusChangedEvent(second.getChargeId(), false, false, true));
+
+        List<ChargeMonitorDTO> after = monitorSnapshot.find(List.of(REGION));
+        Assertions.assertTrue(after.get(0).getSeatSttus());
+        Assertions.assertTrue(after.get(1).getFaultSttus());
+        Assertions.assertEquals("SNAP-01", after.get(0).getChargeNum());
+
+        // 이미 읽어간 목록은 바뀌지 않음
+        Assertions.assertFalse(before.get(0).getSeatSttus());
+        Assertions.assertFalse(before.get(1).getFaultSttus());
+    }
+
+    @Test
+    void 충전소_삭제_반영_테스트() {
+        chargeRepository.delete(second);
+        chargeRepository.flush();
+        monitorSnapshot.refresh(second.getChargeId());
+
+        List<ChargeMonitorDTO> result = monitorSnapshot.find(List.of(REGION));
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(first.getChargeId(), result.get(0).getChargeId());
+    }
+}
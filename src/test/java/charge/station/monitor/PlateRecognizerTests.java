@@ -0,0 +1,74 @@
+package charge.station.monitor;
+
+import charge.station.monitor.dto.rawdata.LicensePlateResponseDTO;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+import charge.station.monitor.service.plate.BatchingPlateRecognizer;
+import charge.station.monitor.service.plate.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class PlateRecognizerTests {
+
+    @Test
+    public void 번호판인식_일괄요청_분배_테스트() {
+        StubPlateRecognizer stub = new StubPlateRecognizer();
+        BatchingPlateRecognizer recognizer = new BatchingPlateRecognizer(stub, 4, 500, new SimpleMeterRegistry());
+        recognizer.start();
+
+        // 10건 요청 → 4, 4, 2 건으로 묶여서 인식
+        List<CompletableFuture<LicensePlateResponseDTO>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(recognizer.recognize(new StoredImageDTO("img-" + i, "12가" + i, 0, -1)));
+        }
+
+        // 각 요청에는 자기 결과가 돌아와야 함
+        for (int i = 0; i < 10; i++) {
+            LicensePlateResponseDTO result = futures.get(i).join();
+            Assertions.assertTrue(result.isCarExists());
+            Assertions.assertEquals("12가" + i, result.getCarNum());
+        }
+        Assertions.assertEquals(List.of(4, 4, 2), stub.getCalls());
+
+        recognizer.stop();
+    }
+
+
+    @Test
+    public void 번호판인식_단건모드_테스트() {
+        StubPlateRecognizer stub = new StubPlateRecognizer();
+        BatchingPlateRecognizer recognizer = new BatchingPlateRecognizer(stub, 1, 500, new SimpleMeterRegistry());
+        recognizer.start();
+
+        LicensePlateResponseDTO result = recognizer.recognize(new StoredImageDTO("img", "34나5678", 0, -1)).join();
+
+        Assertions.assertEquals("34나5678", result.getCarNum());
+        Assertions.assertEquals(List.of(1), stub.getCalls());
+    }
+
+
+    @Test
+    public void 인식서버_차단_복구_테스트() throws Exception {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(2, 50);
+
+        // 연속 2회 실패 → 차단
+        circuitBreaker.onFailure();
+        Assertions.assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure();
+        Assertions.assertFalse(circuitBreaker.tryAcquire());
+
+        // 차단시간 지나면 시험 요청 1건만 허용
+        Thread.sleep(60);
+        Assertions.assertTrue(circuitBreaker.tryAcquire());
+        Assertions.assertFalse(circuitBreaker.tryAcquire());
+
+        // 시험 요청 성공 → 정상
+        circuitBreaker.onSuccess();
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        Assertions.assertTrue(circuitBreaker.tryAcquire());
+    }
+}
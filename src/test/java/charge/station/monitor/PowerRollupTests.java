@@ -0,0 +1,184 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.domain.PowerRollup;
+import charge.station.monitor.domain.PowerRollupResolution;
+import charge.station.monitor.domain.RawDataPower;
+import charge.station.monitor.dto.power.PowerSeriesResponseDTO;
+import charge.station.monitor.repository.CenterRepository;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.repository.PowerRollupRepository;
+import charge.station.monitor.repository.RawDataPowerRepository;
+import charge.station.monitor.service.power.PowerRollupJob;
+import charge.station.monitor.service.power.PowerSeriesService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 주기 집계는 돌지 않도록 비활성, 테스트에서 구간 지정해서 직접 호출
+@SpringBootTest(properties = "rawdata.rollup.enabled=false")
+@Transactional
+@Rollback
+public class PowerRollupTests {
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Autowired
+    private RawDataPowerRepository rawDataPowerRepository;
+
+    @Autowired
+    private PowerRollupRepository powerRollupRepository;
+
+    @Autowired
+    private PowerRollupJob powerRollupJob;
+
+    @Autowired
+    private PowerSeriesService powerSeriesService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Charge testCharge;
+    private LocalDateTime base;
+
+
+    @BeforeEach
+    public void setUp() {
+        Center testCenter = centerRepository.save(new Center(null, "서울센터", "서울_1"));
+        testCharge = chargeRepository.save(Charge.builder()
+                .chargeNum("ROLLUP-001")
+                .instlLc("서울시 강남구")
+                .center(testCenter)
+                .build());
+
+        // 1시간 구간 시작 기준으로 10초마다 30분간 (1분당 6건), 전력값 = 분
+        base = PowerRollupResolution.HOUR.floor(LocalDateTime.now().minusDays(1));
+        List<RawDataPower> rows = new ArrayList<>();
+        for (int i = 0; i < 180; i++) {
+            rows.add(RawDataPower.builder().charge(testCharge).power(i / 6).recordTime(base.plusSeconds(i * 10L)).build());
+        }
+        rawDataPowerRepository.saveAll(rows);
+        entityManager.flush();
+    }
+
+
+    @Test
+    public void 전력집계_단위별_테스트() {
+        powerRollupJob.rollup(base, base.plusHours(1));
+        entityManager.clear();
+
+        List<PowerRollup> minutes = find(PowerRollupResolution.MINUTE);
+        Assertions.assertEquals(30, minutes.size());
+        Assertions.assertEquals(6, minutes.get(0).getSampleCount());
+        Assertions.assertEquals(29, minutes.get(29).getLastPower());
+
+        List<PowerRollup> quarters = find(PowerRollupResolution.QUARTER);
+        Assertions.assertEquals(2, quarters.size());
+        Assertions.assertEquals(0, quarters.get(0).getMinPower());
+        Assertions.assertEquals(14, quarters.get(0).getMaxPower());
+        Assertions.assertEquals(7, quarters.get(0).getAvgPower(), 0.0001);
+
+        List<PowerRollup> hours = find(PowerRollupResolution.HOUR);
+        Assertions.assertEquals(1, hours.size());
+        Assertions.assertEquals(180, hours.get(0).getSampleCount());
+        Assertions.assertEquals(29, hours.get(0).getLastPower());
+        Assertions.assertEquals(base.plusSeconds(179 * 10L), hours.get(0).getLastTime());
+    }
+
+
+    @Test
+    public void 전력집계_재실행_테스트() {
+        // 같은 구간을 다시 집계해도 결과는 같고, 늦게 들어온 값은 반영
+        powerRollupJob.rollup(base, base.plusHours(1));
+        rawDataPowerRepository.save(RawDataPower.builder().charge(testCharge).power(100).recordTime(base.plusSeconds(5)).build());
+        entityManager.flush();
+        powerRollupJob.rollup(base, base.plusHours(1));
+        entityManager.clear();
+
+        List<PowerRollup> minutes = find(PowerRollupResolution.MINUTE);
+        Assertions.assertEquals(30, minutes.size());
+        Assertions.assertEquals(7, minutes.get(0).getSampleCount());
+        Assertions.assertEquals(100, find(PowerRollupResolution.HOUR).get(0).getMaxPower());
+    }
+
+
+    @Test
+    public void 전력집계_늦은저장_재집계_테스트() {
+        // 주기 집계 범위(최근 1시간 + late-ms) 밖의 측정시간으로 늦게 저장된 값은 구간을 기록해뒀다가 다시 집계
+        PowerRollupJob job = new PowerRollupJob(jdbcTemplate, true, 600000, 1, 0, 0);
+        job.markWritten(base.plusSeconds(5));
+        job.rollup();
+        entityManager.clear();
+
+        List<PowerRollup> minutes = find(PowerRollupResolution.MINUTE);
+        Assertions.assertEquals(30, minutes.size());
+        Assertions.assertEquals(6, minutes.get(0).getSampleCount());
+        Assertions.assertEquals(180, find(PowerRollupResolution.HOUR).get(0).getSampleCount());
+    }
+
+
+    @Test
+    public void 전력그래프_원시데이터_테스트() {
+        // 30분 / 90점 = 20초 구간 → 원시 데이터에서 2건씩 합침
+        PowerSeriesResponseDTO series = powerSeriesService.series(testCharge.getChargeId(), base, base.plusMinutes(30), 90);
+
+        Assertions.assertEquals("RAW", series.getSource());
+        Assertions.assertEquals(20, series.getBucketSeconds());
+        Assertions.assertEquals(90, series.getPoints().size());
+        Assertions.assertEquals(base, series.getPoints().get(0).getTime());
+        Assertions.assertEquals(29, series.getPoints().get(89).getMax());
+    }
+
+
+    @Test
+    public void 전력그래프_집계선택_테스트() {
+        // 30분 / 2점 = 15분 구간 → 15분 집계 사용
+        powerRollupJob.rollup(base, base.plusHours(1));
+        PowerSeriesResponseDTO series = powerSeriesService.series(testCharge.getChargeId(), base, base.plusMinutes(30), 2);
+
+        Assertions.assertEquals(PowerRollupResolution.QUARTER.name(), series.getSource());
+        Assertions.assertEquals(2, series.getPoints().size());
+        Assertions.assertEquals(0, series.getPoints().get(0).getMin());
+        Assertions.assertEquals(14, series.getPoints().get(0).getMax());
+        Assertions.assertEquals(7, series.getPoints().get(0).getAvg(), 0.0001);
+    }
+
+    @Test
+    public void 전력그래프_집계경계_정렬_테스트() {
+        // 5분 ~ 35분 / 2점 = 15분 구간 → 점 시각은 집계 경계 (0분, 15분)
+        powerRollupJob.rollup(base, base.plusHours(1));
+        PowerSeriesResponseDTO series = powerSeriesService.series(testCharge.getChargeId(), base.plusMinutes(5), base.plusMinutes(35), 2);
+
+        Assertions.assertEquals(PowerRollupResolution.QUARTER.name(), series.getSource());
+        Assertions.assertEquals(2, series.getPoints().size());
+        Assertions.assertEquals(base, series.getPoints().get(0).getTime());
+        Assertions.assertEquals(14, series.getPoints().get(0).getMax());
+        Assertions.assertEquals(base.plusMinutes(15), series.getPoints().get(1).getTime());
+        Assertions.assertEquals(15, series.getPoints().get(1).getMin());
+        Assertions.assertEquals(29, series.getPoints().get(1).getMax());
+    }
+
+
+    private List<PowerRollup> find(PowerRollupResolution resolution) {
+        return powerRollupRepository.findByChargeChargeIdAndResolutionAndBucketTimeGreaterThanEqualAndBucketTimeLessThanOrderByBucketTime(
+                testCharge.getChargeId(), resolution, base, base.plusHours(1));
+    }
+}
@@ -0,0 +1,144 @@
+package charge.station.monitor;
+
+import charge.station.monitor.dto.error.CustomException;
+import charge.station.monitor.dto.rawdata.RawDataPowerRequestDTO;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.repository.RawDataPowerRepository;
+import charge.station.monitor.service.power.PowerRollupJob;
+import charge.station.monitor.service.power.PowerWriteBehindQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PowerWriteBehindQueueTests {
+
+    private final RawDataPowerRepository rawDataPowerRepository = Mockito.mock(RawDataPowerRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+
+    @Test
+    void 저장실패_재시도_테스트() {
+        Mockito.when(rawDataPowerRepository.saveAll(Mockito.any()))
+                .thenThrow(new RuntimeException("db 연결 끊김"))
+                .thenThrow(new RuntimeException("db 연결 끊김"))
+                .thenReturn(List.of());
+        PowerWriteBehindQueue queue = queue(100, 3);
+
+        queue.start();
+        queue.submitAll(readings(3));
+        queue.stop(); // 남은 데이터 저장 후 종료
+
+        Mockito.verify(rawDataPowerRepository, Mockito.times(3)).saveAll(Mockito.any());
+        Assertions.assertEquals(0, meterRegistry.counter("rawdata.power.dropped").count());
+    }
+
+    @Test
+    void 재시도초과_버림_테스트() {
+        Mockito.when(rawDataPowerRepository.saveAll(Mockito.any())).thenThrow(new RuntimeException("db 연결 끊김"));
+        PowerWriteBehindQueue queue = queue(100, 2);
+
+        queue.start();
+        queue.submitAll(readings(3));
+        queue.stop();
+
+        Mockito.verify(rawDataPowerRepository, Mockito.times(3)).saveAll(Mockito.any()); // 1회 + 재시도 2회
+        Assertions.assertEquals(3, meterRegistry.counter("rawdata.power.dropped").count());
+    }
+
+    @Test
+    void 커밋후_적재_테스트() {
+        PowerWriteBehindQueue queue = queue(2, 0);
+        queue.start();
+
+        // 롤백 : 큐에 안 들어가고 예약한 자리는 반환
+        completeTransaction(() -> queue.submitAll(readings(2)), TransactionSynchronization.STATUS_ROLLED_BACK);
+        Assertions.assertEquals(0, queue.size());
+
+        // 커밋 : 커밋 전에는 큐에 없음, 자리가 없으면 503
+        completeTransaction(() -> {
+            queue.submitAll(readings(2));
+            Assertions.assertEquals(0, queue.size());
+            Assertions.assertThrows(CustomException.class, () -> queue.submit(readings(1).get(0)));
+        }, TransactionSynchronization.STATUS_COMMITTED);
+        queue.stop();
+
+        Mockito.verify(rawDataPowerRepository, Mockito.times(1)).saveAll(Mockito.any());
+    }
+
+    @Test
+    void 종료후_거절_테스트() {
+        PowerWriteBehindQueue queue = queue(100, 0);
+
+        // 시작 전, 종료 후에는 받지 않음
+        Assertions.assertThrows(CustomException.class, () -> queue.submitAll(readings(1)));
+        queue.start();
+        queue.stop();
+        Assertions.assertThrows(CustomException.class, () -> queue.submitAll(readings(1)));
+        Mockito.verify(rawDataPowerRepository, Mockito.never()).saveAll(Mockito.any());
+    }
+
+    @Test
+    void 종료중_커밋_바로저장_테스트() {
+        PowerWriteBehindQueue queue = queue(100, 0);
+        queue.start();
+
+        // 받은 뒤 커밋 전에 writer 가 멈추면 커밋할때 바로 저장
+        completeTransaction(() -> {
+            queue.submitAll(readings(2));
+            queue.stop();
+        }, TransactionSynchronization.STATUS_COMMITTED);
+
+        Mockito.verify(rawDataPowerRepository, Mockito.times(1)).saveAll(Mockito.any());
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    void 재집계표시_실패_중복저장없음_테스트() {
+        PowerRollupJob powerRollupJob = Mockito.mock(PowerRollupJob.class);
+        Mockito.doThrow(new RuntimeException("재집계 표시 오류")).when(powerRollupJob).markWritten(Mockito.any());
+        PowerWriteBehindQueue queue = new PowerWriteBehindQueue(rawDataPowerRepository, Mockito.mock(ChargeRepository.class),
+                powerRollupJob, Mockito.mock(PlatformTransactionManager.class), meterRegistry,
+                true, 100, 10, 10, 10, 3, 1);
+
+        queue.start();
+        queue.submitAll(readings(3));
+        queue.stop();
+
+        Mockito.verify(rawDataPowerRepository, Mockito.times(1)).saveAll(Mockito.any());
+        Assertions.assertEquals(0, meterRegistry.counter("rawdata.power.dropped").count());
+    }
+
+
+    private PowerWriteBehindQueue queue(int capacity, int maxRetries) {
+        return new PowerWriteBehindQueue(rawDataPowerRepository, Mockito.mock(ChargeRepository.class),
+                Mockito.mock(PowerRollupJob.class), Mockito.mock(PlatformTransactionManager.class), meterRegistry,
+                true, capacity, 10, 10, 10, maxRetries, 1);
+    }
+
+    private List<RawDataPowerRequestDTO> readings(int count) {
+        List<RawDataPowerRequestDTO> readings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            readings.add(new RawDataPowerRequestDTO(15.0, 1L, LocalDateTime.now().plusSeconds(i)));
+        }
+        return readings;
+    }
+
+    // 트랜잭션 안에서 실행한 것처럼 동기화 등록 후 완료 처리
+    private void completeTransaction(Runnable body, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            body.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
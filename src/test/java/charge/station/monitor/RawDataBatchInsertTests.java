@@ -0,0 +1,92 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.domain.RawDataPower;
+import charge.station.monitor.repository.CenterRepository;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.repository.RawDataPowerRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest(properties = "rawdata.jdbc.batch-size=" + RawDataBatchInsertTests.BATCH_SIZE)
+@Transactional
+@Rollback
+public class RawDataBatchInsertTests {
+
+    static final int BATCH_SIZE = 50;
+
+    // batch 1회당 insert 문은 한번만 prepare 되므로 prepare 횟수 = batch 횟수
+    private static final AtomicInteger powerInserts = new AtomicInteger();
+
+    @TestConfiguration
+    static class InsertCounterConfig {
+        @Bean
+        public HibernatePropertiesCustomizer insertCounter() {
+            StatementInspector inspector = sql -> {
+                if (sql.toLowerCase().startsWith("insert into raw_data_power")) {
+                    powerInserts.incrementAndGet();
+                }
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Autowired
+    private RawDataPowerRepository rawDataPowerRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Charge testCharge;
+
+
+    @BeforeEach
+    public void setUp() {
+        Center testCenter = centerRepository.save(new Center(null, "서울센터", "서울_1"));
+        testCharge = chargeRepository.save(Charge.builder()
+                .chargeNum("BATCH-001")
+                .instlLc("서울시 강남구")
+                .center(testCenter)
+                .build());
+        entityManager.flush();
+    }
+
+    @Test
+    public void 현장_정상_전력배치저장_테스트() {
+        int n = 120;
+        List<RawDataPower> rows = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            rows.add(RawDataPower.builder().charge(testCharge).power(i).build());
+        }
+
+        powerInserts.set(0);
+        rawDataPowerRepository.saveAll(rows);
+        entityManager.flush();
+
+        // 120건 / batch 50 -> insert 3회
+        Assertions.assertEquals((n + BATCH_SIZE - 1) / BATCH_SIZE, powerInserts.get());
+    }
+}
@@ -12,17 +12,22 @@ import charge.station.monitor.repository.CenterRepository;
 import charge.station.monitor.repository.ChargeRepository;
 import charge.station.monitor.repository.ChargeSttusRepository;
 import charge.station.monitor.repository.RawDataImgRepository;
+import charge.station.monitor.repository.RawDataPowerRepository;
 import charge.station.monitor.repository.history.CarHistoryRepository;
 import charge.station.monitor.repository.history.FireAlertHistoryRepository;
 import charge.station.monitor.repository.history.IllegalParkingHistoryRepository;
 import charge.station.monitor.service.RawDataService;
+import charge.station.monitor.service.OpenCarHistoryReconcileJob;
 import charge.station.monitor.service.RawDataTransaction;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,7 +35,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
-@SpringBootTest
+// 원시 데이터는 테스트 트랜잭션 안에서 바로 저장 (write-behind 비활성)
+@SpringBootTest(properties = "rawdata.power.write-behind.enabled=false")
 @Transactional
 @Rollback
 public class RawDataTests {
@@ -44,6 +50,9 @@ public class RawDataTests {
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Autowired
+    private StringRedisTemplate chargeRedisTemplate;
+
     @Autowired
     private RawDataTransaction rawDataTransaction;
 
@@ -65,6 +74,14 @@ public class RawDataTests {
     private ChargeSttusRepository chargeSttusRepository;
     @Autowired
     private FireAlertHistoryRepository fireAlertHistoryRepository;
+    @Autowired
+    private RawDataPowerRepository rawDataPowerRepository;
+    @Autowired
+    private OpenCarHistoryReconcileJob openCarHistoryReconcileJob;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
 
 
     @BeforeEach
@@ -129,10 +146,14 @@ public class RawDataTests {
 
         // 🔁 Redis에 입차 상태로 캐시됨
         // 캐시 확인 (선택적으로 확인해도 됨)
-        Map<Object, Object> cached = redisTemplate.opsForHash().entries(chargeId.toString());
+        Map<Object, Object> cached = chargeRedisTemplate.opsForHash().entries(chargeId.toString());
         Assertions.assertEquals("true", cached.get("carExists").toString());
         Assertions.assertEquals(carNum, cached.get("carNum"));
 
+        // 현황에 출차 전 차량 이력 ID 기록
+        Long openId = chargeSttusRepository.findById(chargeId).get().getOpenCarHistoryId();
+        Assertions.assertEquals(carHistoryRepository.findAll().get(0).getCarHistoryId(), openId);
+
         // 📦 출차 처리 DTO
         ChargeCacheDTO outDTO = new ChargeCacheDTO(
                 chargeId,
@@ -152,6 +173,7 @@ public class RawDataTests {
         Assertions.assertNotNull(carHistory.getRecordTime());
         Assertions.assertNotNull(carHistory.getReleaseTime(), "출차 시간이 있어야 함");
         Assertions.assertNotNull(carHistory.getChargeEndTime(), "충전 종료 시간이 있어야 함");
+        Assertions.assertNull(chargeSttusRepository.findById(chargeId).get().getOpenCarHistoryId(), "출차 후 이력 ID 해제");
 
     }
 
@@ -247,7 +269,7 @@ public class RawDataTests {
         Assertions.assertNull(carHistory.getReleaseTime());
 
         // 캐시 검증
-        Map<Object, Object> redisMap = redisTemplate.opsForHash().entries(testCharge.getChargeId().toString());
+        Map<Object, Object> redisMap = chargeRedisTemplate.opsForHash().entries(testCharge.getChargeId().toString());
         Assertions.assertEquals("true", redisMap.get("carExists").toString());
         Assertions.assertEquals(carNum, redisMap.get("carNum"));
 
@@ -265,7 +287,7 @@ public class RawDataTests {
         Assertions.assertNotNull(updated.getReleaseTime());
 
         // 캐시 검증
-        Map<Object, Object> redisMapAfter = redisTemplate.opsForHash().entries(testCharge.getChargeId().toString());
+        Map<Object, Object> redisMapAfter = chargeRedisTemplate.opsForHash().entries(testCharge.getChargeId().toString());
         Assertions.assertEquals("false", redisMapAfter.get("carExists").toString());
         Assertions.assertNull(redisMapAfter.get("carNum"));
 
@@ -289,8 +311,8 @@ public class RawDataTests {
         carHistoryRepository.save(carHistory);
 
         // 캐시 정보 업데이트
-        redisTemplate.opsForHash().put(testCharge.getChargeId().toString(), "carExists", true);
-        redisTemplate.opsForHash().put(testCharge.getChargeId().toString(), "carNum", carNum);
+        chargeRedisTemplate.opsForHash().put(testCharge.getChargeId().toString(), "carExists", "true");
+        chargeRedisTemplate.opsForHash().put(testCharge.getChargeId().toString(), "carNum", carNum);
 
         // 출차 정보 DTO
         ChargeCacheDTO outDto = new ChargeCacheDTO(
@@ -318,16 +340,28 @@ public class RawDataTests {
 
     @Test
     public void 현장_정상_충전상태변화_테스트() {
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+
         // 1. 전력값 낮음 → 충전 시작 안함
-        rawDataService.savePower(new RawDataPowerRequestDTO(5.0, testCharge.getChargeId()));
+        rawDataService.savePower(new RawDataPowerRequestDTO(5.0, testCharge.getChargeId(), base));
+        Assertions.assertFalse(chargeSttusRepository.findById(testCharge.getChargeId()).get().getPowerSttus());
+
+        // 2. 전력값 상승 → 유지시간 전이면 아직 충전 아님
+        rawDataService.savePower(new RawDataPowerRequestDTO(15.0, testCharge.getChargeId(), base.plusMinutes(1)));
         Assertions.assertFalse(chargeSttusRepository.findById(testCharge.getChargeId()).get().getPowerSttus());
 
-        // 2. 전력값 상승 → 충전 시작
-        rawDataService.savePower(new RawDataPowerRequestDTO(15.0, testCharge.getChargeId()));
+        // 3. 유지시간 이상 높은 전력 유지 → 충전 시작
+        rawDataService.savePower(new RawDataPowerRequestDTO(16.0, testCharge.getChargeId(), base.plusMinutes(2)));
+        Assertions.assertTrue(chargeSttusRepository.findById(testCharge.getChargeId()).get().getPowerSttus());
+
+        // 4. 기준값 부근(종료 기준 이상)으로 내려와도 충전 유지
+        rawDataService.savePower(new RawDataPowerRequestDTO(9.0, testCharge.getChargeId(), base.plusMinutes(3)));
+        rawDataService.savePower(new RawDataPowerRequestDTO(11.0, testCharge.getChargeId(), base.plusMinutes(4)));
         Assertions.assertTrue(chargeSttusRepository.findById(testCharge.getChargeId()).get().getPowerSttus());
 
-        // 3. 전력값 하락 → 충전 종료
-        rawDataService.savePower(new RawDataPowerRequestDTO(3.0, testCharge.getChargeId()));
+        // 5. 전력값 하락 유지 → 충전 종료
+        rawDataService.savePower(new RawDataPowerRequestDTO(3.0, testCharge.getChargeId(), base.plusMinutes(5)));
+        rawDataService.savePower(new RawDataPowerRequestDTO(2.0, testCharge.getChargeId(), base.plusMinutes(6)));
         Assertions.assertFalse(chargeSttusRepository.findById(testCharge.getChargeId()).get().getPowerSttus());
     }
 
@@ -345,4 +379,61 @@ public class RawDataTests {
         Assertions.assertEquals("overcurrent", fire.getType());
         Assertions.assertEquals(testCharge.getChargeId(), fire.getCharge().getChargeId());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void 현장_정상_전력일괄처리_테스트() {
+        // 측정시간 역순으로 전송해도 충전소별 시간순으로 처리되어야 함
+        LocalDateTime base = LocalDateTime.now().minusMinutes(10);
+        long before = rawDataPowerRepository.count();
+
+        rawDataService.savePowerBatch(List.of(
+                new RawDataPowerRequestDTO(15.0, testCharge.getChargeId(), base.plusMinutes(2)),
+                new RawDataPowerRequestDTO(5.0, testCharge.getChargeId(), base),
+                new RawDataPowerRequestDTO(16.0, testCharge.getChargeId(), base.plusMinutes(3))
+        ));
+
+        Assertions.assertEquals(before + 3, rawDataPowerRepository.count());
+        Assertions.assertTrue(chargeSttusRepository.findById(testCharge.getChargeId()).get().getPowerSttus());
+        Assertions.assertEquals("16.0", chargeRedisTemplate.opsForHash().get(testCharge.getChargeId().toString(), "power").toString());
+    }
+
+    @Test
+    public void 출차전_이력ID_보정_테스트() {
+        Long chargeId = testCharge.getChargeId();
+        rawDataService.manageCarHistory(new ChargeCacheDTO(chargeId, true, 0.0, "12가3456"));
+        Long openId = carHistoryRepository.findAll().get(0).getCarHistoryId();
+        entityManager.flush();
+
+        // 기록이 빠진 경우 → 최근 입차 이력으로 연결
+        jdbcTemplate.update("UPDATE charge_sttus SET open_car_history_id = NULL WHERE charge_id = ?", chargeId);
+        Assertions.assertEquals(1, openCarHistoryReconcileJob.reconcile());
+        Assertions.assertEquals(openId, jdbcTemplate.queryForObject(
+                "SELECT open_car_history_id FROM charge_sttus WHERE charge_id = ?", Long.class, chargeId));
+
+        // 없는 이력을 가리키는 경우 → 해제 후 다시 연결
+        jdbcTemplate.update("UPDATE charge_sttus SET open_car_history_id = ? WHERE charge_id = ?", openId + 100000, chargeId);
+        Assertions.assertEquals(2, openCarHistoryReconcileJob.reconcile());
+        Assertions.assertEquals(openId, jdbcTemplate.queryForObject(
+                "SELECT open_car_history_id FROM charge_sttus WHERE charge_id = ?", Long.class, chargeId));
+
+        // 어긋난 기록이 없으면 변경 없음
+        Assertions.assertEquals(0, openCarHistoryReconcileJob.reconcile());
+    }
+
+    @Test
+    public void 이전형식_충전소캐시_재등록_테스트() {
+        // 공용 redisTemplate(JDK 직렬화)으로 저장된 기존 충전소 캐시
+        String key = testCharge.getChargeId().toString();
+        redisTemplate.opsForHash().put(key, "carExists", true);
+        redisTemplate.opsForHash().put(key, "power", 15.0);
+
+        // 읽을 수 없는 캐시는 전환 없이 현재 정보로 다시 등록
+        rawDataService.manageCarHistory(new ChargeCacheDTO(testCharge.getChargeId(), true, 0.0, "12가3456"));
+        Assertions.assertTrue(carHistoryRepository.findAll().isEmpty());
+        Assertions.assertEquals("true", chargeRedisTemplate.opsForHash().get(key, "carExists"));
+
+        // 기존 필드는 지워졌으므로 전력값도 새로 저장
+        rawDataService.savePower(new RawDataPowerRequestDTO(16.0, testCharge.getChargeId(), LocalDateTime.now()));
+        Assertions.assertEquals("16.0", chargeRedisTemplate.opsForHash().get(key, "power"));
+    }
+}
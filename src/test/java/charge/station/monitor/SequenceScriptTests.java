@@ -0,0 +1,74 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.repository.CenterRepository;
+import charge.station.monitor.repository.ChargeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+
+/**
+ * db/sequences.sql : 기존 id 보다 뒤로 시퀀스를 옮기고, 여러번 실행해도 결과가 같아야 함
+ */
+@SpringBootTest
+@Transactional
+@Rollback
+public class SequenceScriptTests {
+
+    private static final long LEGACY_ID = 9_000_000L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+
+    @Test
+    void 시퀀스_보정_반복실행_테스트() {
+        Center center = centerRepository.save(new Center(null, "서울센터", "서울_1"));
+        Charge charge = chargeRepository.save(Charge.builder().chargeNum("SEQ-01").instlLc("서울시 중구").center(center).build());
+        entityManager.flush();
+
+        // IDENTITY 시절에 쌓인 큰 id
+        jdbcTemplate.update("INSERT INTO car_history (car_history_id, car_num, in_time, charge_id) VALUES (?, ?, ?, ?)",
+                LEGACY_ID, "12가3456", LocalDateTime.now(), charge.getChargeId());
+
+        runScript();
+        Long first = jdbcTemplate.queryForObject("SELECT NEXTVAL(car_history_seq)", Long.class);
+        Assertions.assertTrue(first - 50 >= LEGACY_ID, "pooled 구간이 기존 id 뒤에서 시작해야 함 : " + first);
+
+        // 다시 실행해도 뒤로 돌아가지 않음
+        runScript();
+        Long second = jdbcTemplate.queryForObject("SELECT NEXTVAL(car_history_seq)", Long.class);
+        Assertions.assertEquals(first + 50, second);
+    }
+
+
+    private void runScript() {
+        Connection connection = DataSourceUtils.getConnection(dataSource); // 테스트 트랜잭션 커넥션
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/sequences.sql"));
+    }
+}
@@ -0,0 +1,40 @@
+package charge.station.monitor;
+
+import charge.station.monitor.dto.rawdata.LicensePlateResponseDTO;
+import charge.station.monitor.dto.rawdata.StoredImageDTO;
+import charge.station.monitor.service.plate.PlateRecognizer;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 테스트용 번호판 인식기 (Flask 서버 없이 이미지 경로를 그대로 차량번호로 반환)
+ * 호출별 요청 건수를 기록한다.
+ */
+public class StubPlateRecognizer implements PlateRecognizer {
+
+    private final List<Integer> calls = new CopyOnWriteArrayList<>();
+
+
+    @Override
+    public CompletableFuture<LicensePlateResponseDTO> recognize(StoredImageDTO image) {
+        calls.add(1);
+        return CompletableFuture.completedFuture(toResult(image));
+    }
+
+    @Override
+    public CompletableFuture<List<LicensePlateResponseDTO>> recognizeAll(List<StoredImageDTO> images) {
+        calls.add(images.size());
+        return CompletableFuture.completedFuture(images.stream().map(this::toResult).toList());
+    }
+
+    public List<Integer> getCalls() {
+        return calls;
+    }
+
+
+    private LicensePlateResponseDTO toResult(StoredImageDTO image) {
+        return new LicensePlateResponseDTO(true, image.getPath());
+    }
+}
@@ -0,0 +1,121 @@
+package charge.station.monitor;
+
+import charge.station.monitor.domain.Center;
+import charge.station.monitor.domain.Charge;
+import charge.station.monitor.dto.stat.UsageAnalyticsDTO;
+import charge.station.monitor.repository.CenterRepository;
+import charge.station.monitor.repository.ChargeRepository;
+import charge.station.monitor.service.stat.UsageAnalyticsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 이용 분석 조회 부하 테스트 (./gradlew loadTest)
+ * 충전기 120대 x 1년치 시간대별 통계(약 105만건)를 넣고 조회 기간별 응답시간(p50/p99)을 로그로 남긴다.
+ * 조회 비용은 이력 건수가 아니라 조회 기간 x 충전기 수에 비례해야 한다.
+ */
+@Tag("load")
+@SpringBootTest(properties = "stat.flush-interval-ms=3600000")
+@Transactional
+@Rollback
+public class UsageAnalyticsLoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(UsageAnalyticsLoadTests.class);
+    private static final int CHARGES = 120;
+    private static final int DAYS = 365;
+    private static final int ITERATIONS = 30;
+    private static final List<String> REGIONS = List.of("부하0", "부하1", "부하2", "부하3");
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private ChargeRepository chargeRepository;
+
+    @Autowired
+    private UsageAnalyticsService usageAnalyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+
+    @Test
+    public void 이용분석_백만건_조회_부하테스트() {
+        LocalDate end = LocalDate.now().minusDays(1);
+        LocalDate start = end.minusDays(DAYS - 1);
+        insert(start);
+
+        long[] month = measure(end.minusDays(29), end);
+        long[] year = measure(start, end);
+
+        log.info("이용분석 30일 : p50 {}ms, p99 {}ms", month[0], month[1]);
+        log.info("이용분석 365일 : p50 {}ms, p99 {}ms", year[0], year[1]);
+
+        List<UsageAnalyticsDTO> result = usageAnalyticsService.usage("region", start, end, REGIONS);
+        Assertions.assertEquals(REGIONS.size(), result.size());
+        Assertions.assertTrue(usageAnalyticsService.usage("region", start, end, List.of("없는지역")).isEmpty());
+        Assertions.assertTrue(month[0] < 100, "30일 조회 p50 100ms 초과 : " + month[0]);
+    }
+
+
+    private void insert(LocalDate start) {
+        List<Long> chargeIds = new ArrayList<>();
+        for (int c = 0; c < CHARGES; c++) {
+            Center center = centerRepository.save(new Center(null, "부하" + (c % 4), "부하_" + (c % 12)));
+            chargeIds.add(chargeRepository.save(Charge.builder()
+                    .chargeNum("LOAD-" + c)
+                    .instlLc("서울시")
+                    .center(center)
+                    .build()).getChargeId());
+        }
+        entityManager.flush();
+
+        Random random = new Random(42);
+        List<Object[]> rows = new ArrayList<>(10000);
+        for (Long chargeId : chargeIds) {
+            LocalDateTime hour = start.atStartOfDay();
+            for (int h = 0; h < DAYS * 24; h++, hour = hour.plusHours(1)) {
+                long use = random.nextInt(3601);
+                rows.add(new Object[]{chargeId, hour, use, use / 2});
+                if (rows.size() == 10000) {
+                    jdbcTemplate.batchUpdate("INSERT INTO charge_hour_stat (charge_id, hour_time, use_seconds, charge_seconds) VALUES (?, ?, ?, ?)", rows);
+                    rows.clear();
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO charge_hour_stat (charge_id, hour_time, use_seconds, charge_seconds) VALUES (?, ?, ?, ?)", rows);
+    }
+
+    private long[] measure(LocalDate from, LocalDate to) {
+        for (int i = 0; i < 5; i++) {
+            usageAnalyticsService.usage("center", from, to, REGIONS); // warm up
+        }
+        long[] millis = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long begin = System.nanoTime();
+            usageAnalyticsService.usage("center", from, to, REGIONS);
+            millis[i] = (System.nanoTime() - begin) / 1_000_000;
+        }
+        Arrays.sort(millis);
+        return new long[]{millis[ITERATIONS / 2], millis[(int) Math.ceil(ITERATIONS * 0.99) - 1]};
+    }
+}
@@ -6,6 +6,7 @@ import charge.station.monitor.domain.history.CarHistory;
 import charge.station.monitor.domain.history.FaultHistory;
 import charge.station.monitor.domain.history.FireAlertHistory;
 import charge.station.monitor.domain.history.IllegalParkingHistory;
+import charge.station.monitor.dto.error.CustomException;
 import charge.station.monitor.dto.history.*;
 import charge.station.monitor.dto.user.JoinRequestDTO;
 import charge.station.monitor.dto.user.LoginRequestDTO;
@@ -282,6 +283,94 @@ public class functionTests {
         Assertions.assertNotEquals(firstCarAsc, firstCarDesc);
     }
 
+    @Test
+    void 기능_정상_차량이력_커서조회_테스트() {
+        // given
+        HistoryMainRequestDTO request = new HistoryMainRequestDTO(
+                testCenter.getCenterId(), null, null, null, null);
+
+        JoinRequestDTO dto = createTestUser();
+        LoginRequestDTO loginDTO = new LoginRequestDTO(dto.getLoginId(), dto.getPassword());
+
+        // when
+        UserTokenResponseDTO userTokenResponseDTO = userService.login(loginDTO);
+        String token = userTokenResponseDTO.getAccessToken();
+
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> first =
+                carHistoryService.carSelect(token, request, "", false, "recordTime", "desc", true);
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> second =
+                carHistoryService.carSelect(token, request, first.getNextCursor(), false, "recordTime", "desc", true);
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> back =
+                carHistoryService.carSelect(token, request, second.getPrevCursor(), true, "recordTime", "desc", true);
+
+        // then
+        Assertions.assertEquals(10, first.getItems().size());
+        Assertions.assertNull(first.getPrevCursor());
+        Assertions.assertEquals(1, second.getItems().size());
+        Assertions.assertEquals("11가0001", second.getItems().get(0).getCarNum()); // 가장 오래된 이력
+        Assertions.assertNull(second.getNextCursor());
+        Assertions.assertEquals(11, second.getTotal());
+
+        Assertions.assertEquals(10, back.getItems().size());
+        Assertions.assertEquals(first.getItems().get(0).getCarNum(), back.getItems().get(0).getCarNum());
+    }
+
+    @Test
+    void 기능_정상_차량이력_전체건수_캐시_테스트() {
+        // given
+        HistoryMainRequestDTO request = new HistoryMainRequestDTO(
+                testCenter.getCenterId(), null, null, null, null);
+
+        JoinRequestDTO dto = createTestUser();
+        LoginRequestDTO loginDTO = new LoginRequestDTO(dto.getLoginId(), dto.getPassword());
+
+        // when
+        UserTokenResponseDTO userTokenResponseDTO = userService.login(loginDTO);
+        String token = userTokenResponseDTO.getAccessToken();
+
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> before =
+                carHistoryService.carSelect(token, request, 1, "recordTime", "asc", false);
+
+        carHistoryRepository.save(CarHistory.builder()
+                .carNum("11가0012")
+                .recordTime(LocalDateTime.now())
+                .charge(testCharge1)
+                .build());
+
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> cached =
+                carHistoryService.carSelect(token, request, 1, "recordTime", "asc", false);
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> exact =
+                carHistoryService.carSelect(token, request, 1, "recordTime", "asc", true);
+        HistoryMainResponseDTO<HistoryReadCarResponseDTO> lastPage =
+                carHistoryService.carSelect(token, request, 2, "recordTime", "asc", false);
+
+        // then
+        Assertions.assertEquals(11, before.getTotal());
+        Assertions.assertEquals(11, cached.getTotal()); // ttl 동안은 같은 조건의 건수 재사용
+        Assertions.assertEquals(12, exact.getTotal());
+        Assertions.assertEquals(12, lastPage.getTotal()); // 마지막 페이지는 count 없이 계산
+    }
+
+    @Test
+    void 기능_오류_차량이력_허용되지않은_정렬필드_테스트() {
+        // given
+        HistoryMainRequestDTO request = new HistoryMainRequestDTO(
+                testCenter.getCenterId(), null, null, null, null);
+
+        JoinRequestDTO dto = createTestUser();
+        LoginRequestDTO loginDTO = new LoginRequestDTO(dto.getLoginId(), dto.getPassword());
+
+        // when
+        UserTokenResponseDTO userTokenResponseDTO = userService.login(loginDTO);
+        String token = userTokenResponseDTO.getAccessToken();
+
+        // then
+        Assertions.assertThrows(CustomException.class,
+                () -> carHistoryService.carSelect(token, request, 1, "charge.center.centerName", "asc"));
+        Assertions.assertThrows(CustomException.class,
+                () -> carHistoryService.carSelect(token, request, "", false, "carNum", "asc", true)); // 커서는 recordTime, id 만
+    }
+
 
     /**
      * 고장이력 조회 테스트